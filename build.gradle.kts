@@ -2,13 +2,15 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.2.2"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
+    id("org.graalvm.buildtools.native") version "0.9.28"
 }
 
 group = "io.news"
 version = "1.0-SNAPSHOT"
 
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 repositories {
@@ -19,6 +21,7 @@ dependencies {
     // Spring Boot
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
 
     // Thymeleaf Layout Dialect (레이아웃 기능)
     implementation("nz.net.ultraq.thymeleaf:thymeleaf-layout-dialect:3.3.0")
@@ -35,6 +38,10 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-databind")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
 
+    // Lucene (내장 검색 저장소, 한국어 형태소 분석기 nori)
+    implementation("org.apache.lucene:lucene-core:9.9.2")
+    implementation("org.apache.lucene:lucene-analysis-nori:9.9.2")
+
     // Lombok
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -49,3 +56,71 @@ dependencies {
 tasks.test {
     useJUnitPlatform()
 }
+
+// Spring AOT: @Conditional 평가 결과가 빌드 시점에 고정되므로 조건에 쓰이는 설정을 운영 조합으로 넘긴다.
+// (-Paot.elasticsearch=false 처럼 바꿔서 빌드, 런타임에 바꿔도 빈 구성은 변하지 않음)
+tasks.named<JavaExec>("processAot") {
+    systemProperty("spring.profiles.active", "prod")
+    systemProperty("elasticsearch.enabled", findProperty("aot.elasticsearch") ?: "true")
+    systemProperty("news.lucene.enabled", findProperty("aot.lucene") ?: "false")
+    systemProperty("spring.threads.virtual.enabled", findProperty("aot.virtual-threads") ?: "false")
+}
+
+graalvmNative {
+    binaries.named("main") {
+        imageName.set("news-service")
+        buildArgs.add("-H:+AddAllCharsets")
+    }
+}
+
+// 마이크로벤치마크 (src/jmh): ./gradlew jmh [-Pjmh.includes=InMemory]
+// 결과는 build/reports/jmh/<커밋>.json 으로 남고, jmhCompare로 두 결과를 비교한다
+jmh {
+    warmupIterations.set(2)
+    iterations.set(3)
+    fork.set(1)
+    findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file(providers.provider { "reports/jmh/${gitRevision()}.json" }))
+}
+
+fun gitRevision(): String = try {
+    val process = ProcessBuilder("git", "rev-parse", "--short", "HEAD").directory(projectDir).start()
+    val revision = process.inputStream.bufferedReader().readText().trim()
+    if (process.waitFor() == 0 && revision.isNotEmpty()) revision else "results"
+} catch (e: Exception) {
+    "results"
+}
+
+// ./gradlew jmhCompare -Pbaseline=build/reports/jmh/abc1234.json -Pcandidate=build/reports/jmh/def5678.json
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "두 JMH JSON 결과의 점수 변화를 벤치마크/파라미터별로 출력"
+    doLast {
+        fun load(path: String): Map<String, Pair<Double, String>> {
+            @Suppress("UNCHECKED_CAST")
+            val results = groovy.json.JsonSlurper().parse(file(path)) as List<Map<String, Any>>
+            return results.associate { result ->
+                @Suppress("UNCHECKED_CAST")
+                val params = (result["params"] as Map<String, Any>?)
+                    ?.entries?.joinToString(",", " [", "]") { "${it.key}=${it.value}" } ?: ""
+                @Suppress("UNCHECKED_CAST")
+                val metric = result["primaryMetric"] as Map<String, Any>
+                val name = (result["benchmark"] as String).substringAfterLast("io.news.") + params + " " + result["mode"]
+                name to ((metric["score"] as Number).toDouble() to metric["scoreUnit"] as String)
+            }
+        }
+        val baseline = load(findProperty("baseline")?.toString() ?: error("-Pbaseline=<json> 필요"))
+        val candidate = load(findProperty("candidate")?.toString() ?: error("-Pcandidate=<json> 필요"))
+        (baseline.keys + candidate.keys).sorted().forEach { name ->
+            val before = baseline[name]
+            val after = candidate[name]
+            val delta = if (before != null && after != null && before.first != 0.0)
+                String.format("%+.1f%%", (after.first - before.first) / before.first * 100) else "-"
+            println(String.format("%-90s %14s %14s %8s %s", name,
+                before?.first?.let { String.format("%.3f", it) } ?: "-",
+                after?.first?.let { String.format("%.3f", it) } ?: "-",
+                delta, (after ?: before)!!.second))
+        }
+    }
+}
@@ -0,0 +1,40 @@
+plugins {
+    id("java")
+    id("application")
+}
+
+group = "io.news"
+version = "1.0-SNAPSHOT"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_21
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // 지연 분포 기록
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+
+    // ES 대역 요청/응답, 결과 JSON
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.15.3")
+}
+
+application {
+    mainClass.set("io.news.loadtest.LoadTestMain")
+}
+
+// ./gradlew :loadtest:loadTest -Pscenario="mode=open rate=200 duration=60s mix=home:70,search:25,fetch:5"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "스텁 RSS/ES 대역으로 앱을 띄우고 부하를 걸어 처리량과 지연 분포를 기록"
+    dependsOn(":bootJar")
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("io.news.loadtest.LoadTestMain")
+    workingDir = rootProject.projectDir
+    args("app.jar=" + rootProject.layout.buildDirectory.file("libs/${rootProject.name}-${rootProject.version}.jar").get().asFile)
+    args("results.dir=" + layout.buildDirectory.dir("results").get().asFile)
+    findProperty("scenario")?.let { args(it.toString().trim().split(Regex("\\s+"))) }
+}
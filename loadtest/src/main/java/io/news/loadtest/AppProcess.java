@@ -0,0 +1,100 @@
+package io.news.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 부하 대상 앱을 별도 JVM으로 띄운다. 피드/ES는 스텁을 바라보고, 디스크 저장과 썸네일은 끈다.
+public class AppProcess implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+    private final Path logFile;
+
+    private AppProcess(Process process, String baseUrl, Path logFile) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.logFile = logFile;
+    }
+
+    public static AppProcess start(LoadTestConfig config, StubFeedServer feeds, EsStandIn es) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(config.appJvmArgs()));
+        if (config.appClasspath() != null) {
+            command.add("-cp");
+            command.add(config.appClasspath());
+            command.add("io.news.NewsServiceApplication");
+        } else {
+            command.add("-jar");
+            command.add(config.appJar().toAbsolutePath().toString());
+        }
+        command.add("--server.port=" + config.appPort());
+        for (int i = 0; i < config.feeds(); i++) {
+            command.add("--news.rss.feeds[" + i + "].name=loadtest-" + i);
+            command.add("--news.rss.feeds[" + i + "].url=" + feeds.feedUrl(i));
+        }
+        if (es != null) {
+            command.add("--elasticsearch.enabled=true");
+            command.add("--elasticsearch.url=" + es.url());
+        } else {
+            command.add("--elasticsearch.enabled=false");
+        }
+        command.add("--news.storage.enabled=false");
+        command.add("--news.thumbnail.enabled=false");
+        command.addAll(split(config.appArgs()));
+
+        Path logFile = config.resultsDir().resolve(config.scenario() + "-app.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        return new AppProcess(process, "http://127.0.0.1:" + config.appPort(), logFile);
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    // readiness 프로브가 200이 될 때까지 (초기 수집 + 캐시 워밍업 완료) 기다린다
+    public void awaitReady(HttpClient client, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("앱 프로세스가 종료됨 (exit " + process.exitValue() + "), 로그: " + logFile);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않음
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("앱 준비 대기 시간 초과 (" + timeout + "), 로그: " + logFile);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+}
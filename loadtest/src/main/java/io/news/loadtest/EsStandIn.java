@@ -0,0 +1,466 @@
+package io.news.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 앱이 쓰는 만큼만 흉내 내는 ES 호환 HTTP 대역 (인메모리 단일 인덱스).
+// 지원: ping, 인덱스 exists/create, _bulk, _doc,
+// _search(multi_match/prefix/search_after, bool의 must 하나 + must_not exists, terms/date_histogram 집계),
+// _count, _delete_by_query(match_all, publishedAt range).
+// 모든 요청에 지연(latency + 0~jitter)과 오류율(503)을 주입할 수 있고, 실행 중에는
+// POST /_standin/faults?latencyMs=..&jitterMs=..&errorRate=.. 로 바꿀 수 있다.
+public class EsStandIn implements AutoCloseable {
+
+    private static final Comparator<JsonNode> LATEST_FIRST = Comparator
+            .comparingLong(EsStandIn::publishedAtMillis).reversed()
+            .thenComparing(Comparator.comparing((JsonNode doc) -> doc.path("id").asText()).reversed());
+
+    private final HttpServer server;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, JsonNode> documents = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private volatile boolean indexExists = false;
+    private volatile List<JsonNode> sorted = List.of();
+    private volatile boolean dirty = false;
+    private volatile long latencyMs;
+    private volatile long jitterMs;
+    private volatile double errorRate;
+
+    public EsStandIn(int port, Duration latency, Duration jitter, double errorRate) throws IOException {
+        this.latencyMs = latency.toMillis();
+        this.jitterMs = jitter.toMillis();
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    public int getDocumentCount() {
+        return documents.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/_standin/faults")) {
+                updateFaults(exchange);
+                return;
+            }
+
+            requests.incrementAndGet();
+            injectLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                sendJson(exchange, 503, objectMapper.createObjectNode()
+                        .put("status", 503)
+                        .set("error", objectMapper.createObjectNode().put("type", "unavailable_shards_exception")));
+                return;
+            }
+
+            String[] parts = path.replaceAll("^/+", "").split("/");
+            if (path.equals("/")) {
+                if (method.equals("HEAD")) {
+                    sendEmpty(exchange, 200);
+                } else {
+                    sendJson(exchange, 200, info());
+                }
+            } else if (parts.length == 1 && parts[0].equals("_bulk")) {
+                sendJson(exchange, 200, bulk(exchange));
+            } else if (parts.length == 1) {
+                if (method.equals("HEAD")) {
+                    sendEmpty(exchange, indexExists ? 200 : 404);
+                } else {
+                    indexExists = true;
+                    sendJson(exchange, 200, objectMapper.createObjectNode()
+                            .put("acknowledged", true).put("shards_acknowledged", true).put("index", parts[0]));
+                }
+            } else if (parts[1].equals("_bulk")) {
+                sendJson(exchange, 200, bulk(exchange));
+            } else if (parts[1].equals("_doc") && parts.length == 3) {
+                sendJson(exchange, 200, indexDocument(parts[0], parts[2], readJson(exchange)));
+            } else if (parts[1].equals("_search")) {
+                sendJson(exchange, 200, search(parts[0], readJson(exchange)));
+            } else if (parts[1].equals("_count")) {
+                sendJson(exchange, 200, count(readJson(exchange)));
+            } else if (parts[1].equals("_delete_by_query")) {
+                int deleted = deleteByQuery(readJson(exchange));
+                sendJson(exchange, 200, objectMapper.createObjectNode()
+                        .put("took", 1).put("timed_out", false).put("total", deleted).put("deleted", deleted)
+                        .put("batches", 1).put("version_conflicts", 0).put("noops", 0)
+                        .put("throttled_millis", 0).put("requests_per_second", -1.0)
+                        .put("throttled_until_millis", 0)
+                        .<ObjectNode>set("retries", objectMapper.createObjectNode().put("bulk", 0).put("search", 0))
+                        .set("failures", objectMapper.createArrayNode()));
+            } else {
+                sendJson(exchange, 404, objectMapper.createObjectNode().put("status", 404).put("path", path));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void updateFaults(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                String[] kv = pair.split("=", 2);
+                String value = kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "";
+                switch (kv[0]) {
+                    case "latencyMs" -> latencyMs = Long.parseLong(value);
+                    case "jitterMs" -> jitterMs = Long.parseLong(value);
+                    case "errorRate" -> errorRate = Double.parseDouble(value);
+                    default -> {
+                    }
+                }
+            }
+        }
+        sendJson(exchange, 200, objectMapper.createObjectNode()
+                .put("latencyMs", latencyMs).put("jitterMs", jitterMs).put("errorRate", errorRate));
+    }
+
+    private void injectLatency() throws InterruptedException {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private ObjectNode info() {
+        ObjectNode info = objectMapper.createObjectNode()
+                .put("name", "es-stand-in")
+                .put("cluster_name", "loadtest")
+                .put("cluster_uuid", "loadtest")
+                .put("tagline", "You Know, for Search");
+        info.putObject("version")
+                .put("number", "8.12.0")
+                .put("build_flavor", "default")
+                .put("build_type", "docker")
+                .put("build_hash", "loadtest")
+                .put("build_date", "2024-01-01T00:00:00.000Z")
+                .put("build_snapshot", false)
+                .put("lucene_version", "9.9.2")
+                .put("minimum_wire_compatibility_version", "7.17.0")
+                .put("minimum_index_compatibility_version", "7.0.0");
+        return info;
+    }
+
+    // NDJSON: 액션 줄 + 문서 줄 쌍
+    private ObjectNode bulk(HttpExchange exchange) throws IOException {
+        ArrayNode items = objectMapper.createArrayNode();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JsonNode action = objectMapper.readTree(line);
+                String type = action.fieldNames().next();
+                JsonNode meta = action.get(type);
+                String index = meta.path("_index").asText("news");
+                String id = meta.path("_id").asText();
+                if (type.equals("delete")) {
+                    documents.remove(id);
+                } else {
+                    JsonNode source = objectMapper.readTree(reader.readLine());
+                    documents.put(id, source);
+                }
+                items.addObject().set(type, writeResult(index, id));
+            }
+        }
+        indexExists = true;
+        dirty = true;
+        return objectMapper.createObjectNode().put("took", 1).put("errors", false).set("items", items);
+    }
+
+    private ObjectNode indexDocument(String index, String id, JsonNode source) {
+        documents.put(id, source);
+        indexExists = true;
+        dirty = true;
+        return writeResult(index, id);
+    }
+
+    private ObjectNode writeResult(String index, String id) {
+        ObjectNode result = objectMapper.createObjectNode()
+                .put("_index", index)
+                .put("_id", id)
+                .put("_version", 1)
+                .put("result", "created")
+                .put("_seq_no", 0)
+                .put("_primary_term", 1)
+                .put("status", 201);
+        result.set("_shards", shards());
+        return result;
+    }
+
+    private ObjectNode search(String index, JsonNode request) {
+        List<ScoredDocument> matched = match(request.path("query"));
+        int from = request.path("from").asInt(0);
+        int size = request.path("size").asInt(10);
+        JsonNode searchAfter = request.path("search_after");
+        if (searchAfter.isArray() && searchAfter.size() == 2) {
+            long afterMillis = searchAfter.get(0).asLong();
+            String afterId = searchAfter.get(1).asText();
+            matched = matched.stream()
+                    .filter(scored -> {
+                        long millis = publishedAtMillis(scored.source());
+                        return millis < afterMillis
+                                || (millis == afterMillis && scored.source().path("id").asText().compareTo(afterId) < 0);
+                    })
+                    .toList();
+        }
+
+        ObjectNode response = objectMapper.createObjectNode().put("took", 1).put("timed_out", false);
+        response.set("_shards", shards());
+        ObjectNode hits = response.putObject("hits");
+        hits.putObject("total").put("value", matched.size()).put("relation", "eq");
+        hits.putNull("max_score");
+        ArrayNode hitArray = hits.putArray("hits");
+        for (ScoredDocument scored : matched.subList(Math.min(from, matched.size()),
+                Math.min(from + size, matched.size()))) {
+            ObjectNode hit = hitArray.addObject()
+                    .put("_index", index)
+                    .put("_id", scored.source().path("id").asText())
+                    .put("_score", scored.score());
+            hit.set("_source", scored.source());
+        }
+        JsonNode aggregations = request.path("aggregations");
+        if (aggregations.isObject()) {
+            response.set("aggregations", aggregate(aggregations, matched));
+        }
+        return response;
+    }
+
+    // 클라이언트가 typed_keys로 요청하므로 응답 키에 집계 종류를 붙인다 (sterms#이름, date_histogram#이름)
+    private ObjectNode aggregate(JsonNode aggregations, List<ScoredDocument> matched) {
+        ObjectNode result = objectMapper.createObjectNode();
+        aggregations.fields().forEachRemaining(entry -> {
+            JsonNode terms = entry.getValue().path("terms");
+            JsonNode histogram = entry.getValue().path("date_histogram");
+            if (terms.isObject()) {
+                result.set("sterms#" + entry.getKey(), termsAggregation(terms, matched));
+            } else if (histogram.isObject()) {
+                result.set("date_histogram#" + entry.getKey(), hourHistogram(histogram, matched));
+            }
+        });
+        return result;
+    }
+
+    private ObjectNode termsAggregation(JsonNode terms, List<ScoredDocument> matched) {
+        String field = terms.path("field").asText();
+        Map<String, Long> counts = new HashMap<>();
+        for (ScoredDocument scored : matched) {
+            JsonNode value = scored.source().path(field);
+            if (!value.isMissingNode() && !value.isNull()) counts.merge(value.asText(), 1L, Long::sum);
+        }
+        ObjectNode aggregation = objectMapper.createObjectNode()
+                .put("doc_count_error_upper_bound", 0)
+                .put("sum_other_doc_count", 0);
+        ArrayNode buckets = aggregation.putArray("buckets");
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(terms.path("size").asInt(10))
+                .forEach(entry -> buckets.addObject().put("key", entry.getKey()).put("doc_count", entry.getValue()));
+        return aggregation;
+    }
+
+    // 앱은 calendar_interval=hour만 쓰므로 한 시간 단위로만 나눈다. hard_bounds 밖 문서는 뺀다
+    private ObjectNode hourHistogram(JsonNode histogram, List<ScoredDocument> matched) {
+        String field = histogram.path("field").asText();
+        long min = histogram.path("hard_bounds").path("min").asLong(Long.MIN_VALUE);
+        long max = histogram.path("hard_bounds").path("max").asLong(Long.MAX_VALUE);
+        TreeMap<Long, Long> counts = new TreeMap<>();
+        for (ScoredDocument scored : matched) {
+            long millis = field.equals("publishedAt") ? publishedAtMillis(scored.source()) : Long.MIN_VALUE;
+            if (millis == Long.MIN_VALUE || millis < min || millis > max) continue;
+            counts.merge(Math.floorDiv(millis, 3_600_000L) * 3_600_000L, 1L, Long::sum);
+        }
+        ObjectNode aggregation = objectMapper.createObjectNode();
+        ArrayNode buckets = aggregation.putArray("buckets");
+        counts.forEach((key, count) -> buckets.addObject()
+                .put("key_as_string", LocalDateTime.ofEpochSecond(key / 1000, 0, ZoneOffset.UTC).toString())
+                .put("key", key)
+                .put("doc_count", count));
+        return aggregation;
+    }
+
+    private ObjectNode count(JsonNode request) {
+        int count = request == null || request.path("query").isMissingNode()
+                ? documents.size()
+                : match(request.path("query")).size();
+        ObjectNode response = objectMapper.createObjectNode().put("count", count);
+        response.set("_shards", shards());
+        return response;
+    }
+
+    // 보존 기간 만료(publishedAt range)가 인덱스 전체를 지우지 않도록 조건에 맞는 문서만 지운다
+    private int deleteByQuery(JsonNode request) {
+        Set<JsonNode> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        match(request.path("query"))
+                .forEach(scored -> matched.add(scored.source()));
+        int before = documents.size();
+        documents.values().removeIf(matched::contains);
+        dirty = true;
+        return before - documents.size();
+    }
+
+    // multi_match는 제목(가중치 2)/요약 부분 일치로 점수를 매겨 점수순, 나머지는 최신순
+    private List<ScoredDocument> match(JsonNode query) {
+        JsonNode bool = query.path("bool");
+        if (bool.isObject()) {
+            JsonNode must = bool.path("must");
+            List<ScoredDocument> result = match(must.isArray() ? must.path(0) : must);
+            for (JsonNode clause : bool.path("must_not")) {
+                String field = clause.path("exists").path("field").asText(null);
+                if (field != null) {
+                    result = result.stream()
+                            .filter(scored -> scored.source().path(field).isMissingNode()
+                                    || scored.source().path(field).isNull())
+                            .toList();
+                }
+            }
+            return result;
+        }
+        List<JsonNode> latest = sortedDocuments();
+        JsonNode multiMatch = query.path("multi_match");
+        if (!multiMatch.isMissingNode()) {
+            String keyword = multiMatch.path("query").asText().toLowerCase(Locale.ROOT);
+            List<ScoredDocument> result = new ArrayList<>();
+            for (JsonNode doc : latest) {
+                double score = (doc.path("title").asText().toLowerCase(Locale.ROOT).contains(keyword) ? 2 : 0)
+                        + (doc.path("summary").asText().toLowerCase(Locale.ROOT).contains(keyword) ? 1 : 0);
+                if (score > 0) result.add(new ScoredDocument(doc, score));
+            }
+            result.sort(Comparator.comparingDouble(ScoredDocument::score).reversed());
+            return result;
+        }
+        JsonNode prefix = query.path("prefix").path("id");
+        if (!prefix.isMissingNode()) {
+            String value = prefix.isObject() ? prefix.path("value").asText() : prefix.asText();
+            return latest.stream()
+                    .filter(doc -> doc.path("id").asText().startsWith(value))
+                    .map(doc -> new ScoredDocument(doc, 1.0))
+                    .toList();
+        }
+        JsonNode range = query.path("range").path("publishedAt");
+        if (range.isObject()) {
+            return latest.stream()
+                    .filter(doc -> inRange(publishedAtMillis(doc), range))
+                    .map(doc -> new ScoredDocument(doc, 1.0))
+                    .toList();
+        }
+        return latest.stream().map(doc -> new ScoredDocument(doc, 1.0)).toList();
+    }
+
+    private static boolean inRange(long millis, JsonNode range) {
+        if (millis == Long.MIN_VALUE) return false;
+        if (range.has("lt") && millis >= boundMillis(range.get("lt"))) return false;
+        if (range.has("lte") && millis > boundMillis(range.get("lte"))) return false;
+        if (range.has("gt") && millis <= boundMillis(range.get("gt"))) return false;
+        return !range.has("gte") || millis >= boundMillis(range.get("gte"));
+    }
+
+    private static long boundMillis(JsonNode bound) {
+        return bound.isNumber() ? bound.asLong() : LocalDateTime.parse(bound.asText()).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // 쓰기가 있을 때만 다시 정렬한 스냅샷을 만든다
+    private List<JsonNode> sortedDocuments() {
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    dirty = false;
+                    List<JsonNode> snapshot = new ArrayList<>(documents.values());
+                    snapshot.sort(LATEST_FIRST);
+                    sorted = snapshot;
+                }
+            }
+        }
+        return sorted;
+    }
+
+    private ObjectNode shards() {
+        return objectMapper.createObjectNode().put("total", 1).put("successful", 1).put("skipped", 0).put("failed", 0);
+    }
+
+    private JsonNode readJson(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        // ES 8 클라이언트는 이 헤더가 없으면 응답을 거부한다
+        exchange.getResponseHeaders().set("X-Elastic-Product", "Elasticsearch");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.getResponseHeaders().set("X-Elastic-Product", "Elasticsearch");
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static long publishedAtMillis(JsonNode doc) {
+        String value = doc.path("publishedAt").asText(null);
+        if (value == null) return Long.MIN_VALUE;
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (RuntimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private record ScoredDocument(JsonNode source, double score) {
+    }
+}
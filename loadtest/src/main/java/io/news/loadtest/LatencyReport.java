@@ -0,0 +1,120 @@
+package io.news.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 엔드포인트별 지연 히스토그램(마이크로초)과 오류 수. 워밍업이 끝나면 reset()으로 비운다.
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+    private volatile long stoppedAt = 0;
+
+    public LatencyReport(List<String> names) {
+        for (String name : names) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint e = endpoints.get(endpoint);
+        e.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (!success) {
+            e.errors.incrementAndGet();
+        }
+    }
+
+    public void reset() {
+        for (Endpoint e : endpoints.values()) {
+            e.histogram.reset();
+            e.errors.set(0);
+        }
+        startedAt = System.nanoTime();
+    }
+
+    public void stop() {
+        stoppedAt = System.nanoTime();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedSeconds();
+        out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram h = entry.getValue().histogram;
+            if (h.getTotalCount() == 0) continue;
+            out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), h.getTotalCount(), entry.getValue().errors.get(), h.getTotalCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()));
+        }
+    }
+
+    // <scenario>.json: 회귀 비교용 요약, <scenario>-<endpoint>.hgrm: HdrHistogram 백분위 분포 (plotter 호환)
+    public void write(Path dir, String scenario, Map<String, String> settings) throws IOException {
+        Files.createDirectories(dir);
+        double seconds = elapsedSeconds();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", scenario);
+        summary.put("finishedAt", Instant.now().toString());
+        summary.put("durationSeconds", seconds);
+        summary.put("settings", settings);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram h = entry.getValue().histogram;
+            if (h.getTotalCount() == 0) continue;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", h.getTotalCount());
+            result.put("errors", entry.getValue().errors.get());
+            result.put("throughput", h.getTotalCount() / seconds);
+            Map<String, Double> latency = new LinkedHashMap<>();
+            for (double p : PERCENTILES) {
+                latency.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)),
+                        millis(h.getValueAtPercentile(p)));
+            }
+            latency.put("max", millis(h.getMaxValue()));
+            latency.put("mean", h.getMean() / 1000.0);
+            result.put("latencyMs", latency);
+            results.put(entry.getKey(), result);
+
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(dir.resolve(scenario + "-" + entry.getKey() + ".hgrm")))) {
+                h.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        summary.put("endpoints", results);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(dir.resolve(scenario + ".json").toFile(), summary);
+    }
+
+    private double elapsedSeconds() {
+        long end = stoppedAt > 0 ? stoppedAt : System.nanoTime();
+        return Math.max(1e-9, (end - startedAt) / 1e9);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class Endpoint {
+        final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+    }
+}
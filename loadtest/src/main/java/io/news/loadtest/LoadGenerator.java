@@ -0,0 +1,128 @@
+package io.news.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// 요청 생성기.
+// closed: users개의 가상 스레드가 응답을 받은 뒤 think만큼 쉬고 다음 요청을 보낸다 (처리량은 서버 속도에 묶인다).
+// open: 응답과 무관하게 rate req/s 일정 간격으로 요청을 보낸다. 지연은 "보냈어야 할 시각"부터 재서
+// 서버가 밀릴 때 대기 시간이 빠지는 coordinated omission을 보정한다.
+public class LoadGenerator {
+
+    static final List<String> ENDPOINTS = List.of("home", "search", "fetch");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String[] weightedEndpoints;
+
+    public LoadGenerator(HttpClient client, String baseUrl, String mix) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.weightedEndpoints = parseMix(mix);
+    }
+
+    public void runClosed(int users, Duration thinkTime, Duration total, LatencyReport report) throws InterruptedException {
+        long deadline = System.nanoTime() + total.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String endpoint = nextEndpoint();
+                        long start = System.nanoTime();
+                        boolean success = send(endpoint);
+                        report.record(endpoint, System.nanoTime() - start, success);
+                        if (!thinkTime.isZero()) {
+                            LockSupport.parkNanos(thinkTime.toNanos());
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(total.toMillis() + 60_000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void runOpen(double rate, Duration total, LatencyReport report) throws InterruptedException {
+        long intervalNanos = (long) (1e9 / rate);
+        long start = System.nanoTime();
+        long count = total.toNanos() / intervalNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String endpoint = nextEndpoint();
+                executor.submit(() -> {
+                    boolean success = send(endpoint);
+                    report.record(endpoint, System.nanoTime() - intended, success);
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean send(String endpoint) {
+        HttpRequest request = switch (endpoint) {
+            case "home" -> HttpRequest.newBuilder(URI.create(baseUrl + "/")).GET().build();
+            case "search" -> {
+                String[] keywords = StubFeedServer.KEYWORDS;
+                String keyword = keywords[ThreadLocalRandom.current().nextInt(keywords.length)];
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/search?q="
+                        + URLEncoder.encode(keyword, StandardCharsets.UTF_8))).GET().build();
+            }
+            case "fetch" -> HttpRequest.newBuilder(URI.create(baseUrl + "/admin/fetch"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            default -> throw new IllegalArgumentException("알 수 없는 엔드포인트: " + endpoint);
+        };
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String nextEndpoint() {
+        return weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+    }
+
+    // "home:70,search:25,fetch:5" -> 가중치만큼 반복한 배열
+    private static String[] parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (!ENDPOINTS.contains(kv[0])) {
+                throw new IllegalArgumentException("알 수 없는 엔드포인트: " + kv[0]);
+            }
+            weights.put(kv[0], kv.length > 1 ? Integer.parseInt(kv[1]) : 1);
+        }
+        List<String> weighted = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            for (int i = 0; i < weight; i++) weighted.add(name);
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("mix가 비어 있음: " + mix);
+        }
+        return weighted.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,145 @@
+package io.news.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// key=value 인자로 받는 시나리오 설정. 지정하지 않은 값은 기본값을 쓴다.
+public class LoadTestConfig {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("key=value 형식이 아님: " + arg);
+            }
+            config.values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return config;
+    }
+
+    // 시나리오 이름 (결과 파일 이름에 사용)
+    public String scenario() {
+        return get("scenario", mode() + "-" + mix().replace(':', '-').replace(',', '_'));
+    }
+
+    // closed: users명이 응답을 받고 다음 요청, open: 응답과 무관하게 rate req/s로 도착
+    public String mode() {
+        return get("mode", "closed");
+    }
+
+    public int users() {
+        return Integer.parseInt(get("users", "32"));
+    }
+
+    public double rate() {
+        return Double.parseDouble(get("rate", "100"));
+    }
+
+    public Duration thinkTime() {
+        return duration(get("think", "0ms"));
+    }
+
+    public Duration warmup() {
+        return duration(get("warmup", "10s"));
+    }
+
+    public Duration duration() {
+        return duration(get("duration", "60s"));
+    }
+
+    public String mix() {
+        return get("mix", "home:70,search:25,fetch:5");
+    }
+
+    public int feeds() {
+        return Integer.parseInt(get("feeds", "4"));
+    }
+
+    public int itemsPerFeed() {
+        return Integer.parseInt(get("feed.items", "50"));
+    }
+
+    // 피드마다 분당 새로 올라오는 기사 수
+    public double publishPerMinute() {
+        return Double.parseDouble(get("feed.publish-per-minute", "6"));
+    }
+
+    public Duration feedDelay() {
+        return duration(get("feed.delay", "0ms"));
+    }
+
+    public boolean esEnabled() {
+        return Boolean.parseBoolean(get("es", "true"));
+    }
+
+    public Duration esLatency() {
+        return duration(get("es.latency", "5ms"));
+    }
+
+    public Duration esJitter() {
+        return duration(get("es.jitter", "5ms"));
+    }
+
+    public double esErrorRate() {
+        return Double.parseDouble(get("es.error-rate", "0"));
+    }
+
+    public int feedPort() {
+        return Integer.parseInt(get("feed.port", "18190"));
+    }
+
+    public int esPort() {
+        return Integer.parseInt(get("es.port", "18192"));
+    }
+
+    public int appPort() {
+        return Integer.parseInt(get("app.port", "18180"));
+    }
+
+    // 이미 떠 있는 앱을 대상으로 할 때 (지정하면 앱을 직접 띄우지 않는다)
+    public String appUrl() {
+        return values.get("app.url");
+    }
+
+    public Path appJar() {
+        return Path.of(get("app.jar", "build/libs/news-service-1.0-SNAPSHOT.jar"));
+    }
+
+    // app.jar 대신 클래스패스로 띄울 때
+    public String appClasspath() {
+        return values.get("app.classpath");
+    }
+
+    public String appJvmArgs() {
+        return get("app.jvm-args", "-Xmx512m");
+    }
+
+    public String appArgs() {
+        return get("app.args", "");
+    }
+
+    public Path resultsDir() {
+        return Path.of(get("results.dir", "loadtest/build/results"));
+    }
+
+    public Map<String, String> values() {
+        return values;
+    }
+
+    private String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    static Duration duration(String value) {
+        String v = value.trim();
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofMillis((long) (Double.parseDouble(v.substring(0, v.length() - 1)) * 1000));
+        if (v.endsWith("m")) return Duration.ofMillis((long) (Double.parseDouble(v.substring(0, v.length() - 1)) * 60000));
+        return Duration.ofMillis(Long.parseLong(v));
+    }
+}
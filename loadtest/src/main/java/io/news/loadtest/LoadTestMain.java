@@ -0,0 +1,78 @@
+package io.news.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 스텁 피드 서버와 ES 대역을 띄우고, 앱을 그 위에 올린 뒤 시나리오대로 부하를 건다.
+// 예) gradle :loadtest:loadTest -Pscenario="mode=open rate=200 duration=2m es.latency=20ms"
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Files.createDirectories(config.resultsDir());
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        try (StubFeedServer feeds = new StubFeedServer(config.feedPort(), config.itemsPerFeed(),
+                     config.publishPerMinute(), config.feedDelay());
+             EsStandIn es = config.esEnabled()
+                     ? new EsStandIn(config.esPort(), config.esLatency(), config.esJitter(), config.esErrorRate())
+                     : null) {
+
+            String baseUrl = config.appUrl();
+            if (baseUrl == null) {
+                System.out.println("앱 기동 중...");
+            }
+            // 준비 대기가 실패해도 띄운 앱이 남아 포트를 잡고 있지 않도록 기동부터 자원 블록 안에서 한다
+            try (AppProcess app = baseUrl == null ? AppProcess.start(config, feeds, es) : null) {
+                if (app != null) {
+                    app.awaitReady(client, Duration.ofMinutes(3));
+                    baseUrl = app.baseUrl();
+                }
+
+                LatencyReport report = new LatencyReport(LoadGenerator.ENDPOINTS);
+                LoadGenerator generator = new LoadGenerator(client, baseUrl, config.mix());
+                Duration total = config.warmup().plus(config.duration());
+
+                // 워밍업 구간이 지나면 그동안의 기록을 버린다
+                Thread resetter = Thread.ofVirtual().start(() -> {
+                    try {
+                        Thread.sleep(config.warmup().toMillis());
+                        report.reset();
+                        System.out.println("워밍업 종료, 측정 시작");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+                System.out.printf("시나리오 %s: mode=%s, warmup=%s, duration=%s, mix=%s%n",
+                        config.scenario(), config.mode(), config.warmup(), config.duration(), config.mix());
+                if (config.mode().equals("open")) {
+                    generator.runOpen(config.rate(), total, report);
+                } else {
+                    generator.runClosed(config.users(), config.thinkTime(), total, report);
+                }
+                report.stop();
+                resetter.interrupt();
+
+                report.print(System.out);
+                Map<String, String> settings = new LinkedHashMap<>(config.values());
+                settings.remove("app.classpath");
+                settings.put("feedRequests", String.valueOf(feeds.getRequestCount()));
+                if (es != null) {
+                    settings.put("esRequests", String.valueOf(es.getRequestCount()));
+                    settings.put("esInjectedErrors", String.valueOf(es.getInjectedErrorCount()));
+                    settings.put("esDocuments", String.valueOf(es.getDocumentCount()));
+                }
+                report.write(config.resultsDir(), config.scenario(), settings);
+                System.out.println("결과: " + config.resultsDir().resolve(config.scenario() + ".json").toAbsolutePath());
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.news.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 합성 한국어 RSS 피드 서버. /feeds/{n}.xml 은 가장 최근 itemsPerFeed개 기사를 돌려주고,
+// 시간이 지나면 publishPerMinute 속도로 새 기사가 앞에 붙는다. 같은 순번의 기사는 항상 같은 내용/URL이다.
+public class StubFeedServer implements AutoCloseable {
+
+    static final String[] KEYWORDS = {
+            "반도체", "금리", "부동산", "AI", "전기차", "수출", "날씨", "선거", "야구", "환율", "배터리", "바이오"
+    };
+    private static final String[] ORGS = {"정부", "한국은행", "삼성전자", "현대차", "서울시", "국회", "기상청", "통계청"};
+    private static final String[] VERBS = {"발표", "급등", "하락", "확대", "논의", "전망", "돌파", "회복"};
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.US);
+
+    private final HttpServer server;
+    private final int itemsPerFeed;
+    private final double publishPerMinute;
+    private final Duration delay;
+    private final long startedAt = System.currentTimeMillis();
+    private final ZonedDateTime epoch = ZonedDateTime.now(ZoneOffset.UTC).minusDays(1);
+    private final AtomicLong requests = new AtomicLong();
+
+    public StubFeedServer(int port, int itemsPerFeed, double publishPerMinute, Duration delay) throws IOException {
+        this.itemsPerFeed = itemsPerFeed;
+        this.publishPerMinute = publishPerMinute;
+        this.delay = delay;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/feeds/", this::handle);
+        this.server.start();
+    }
+
+    public String feedUrl(int feed) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/feeds/" + feed + ".xml";
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            int feed;
+            try {
+                feed = Integer.parseInt(path.substring("/feeds/".length(), path.length() - ".xml".length()));
+            } catch (RuntimeException e) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (!delay.isZero()) {
+                Thread.sleep(delay.toMillis());
+            }
+            byte[] body = render(feed).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/rss+xml; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String render(int feed) {
+        // 처음부터 itemsPerFeed개가 있고, 이후 경과 시간만큼 새 기사가 쌓인다
+        double elapsedSeconds = (System.currentTimeMillis() - startedAt) / 1000.0;
+        long head = itemsPerFeed + (long) (elapsedSeconds * publishPerMinute / 60);
+        StringBuilder xml = new StringBuilder(itemsPerFeed * 700);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:media=\"http://search.yahoo.com/mrss/\"><channel>\n")
+                .append("<title>부하테스트 피드 ").append(feed).append("</title>\n")
+                .append("<link>http://stub.local/").append(feed).append("</link>\n")
+                .append("<description>합성 피드</description>\n");
+        for (long seq = head - 1; seq >= Math.max(0, head - itemsPerFeed); seq--) {
+            appendItem(xml, feed, seq);
+        }
+        xml.append("</channel></rss>\n");
+        return xml.toString();
+    }
+
+    private void appendItem(StringBuilder xml, int feed, long seq) {
+        Random random = new Random(feed * 1_000_003L + seq);
+        String keyword = pick(random, KEYWORDS);
+        String title = pick(random, ORGS) + ", " + keyword + " " + pick(random, VERBS) + "… "
+                + pick(random, KEYWORDS) + " 시장 영향 주목";
+        StringBuilder summary = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            summary.append(pick(random, ORGS)).append("는 ").append(pick(random, KEYWORDS)).append(" 관련 ")
+                    .append(pick(random, VERBS)).append(" 방침을 밝혔다. ");
+        }
+        // 순번이 클수록 최근 기사 (약 1분 간격)
+        String pubDate = RFC_1123.format(epoch.plusMinutes(seq));
+        xml.append("<item>")
+                .append("<title><![CDATA[").append(title).append("]]></title>")
+                .append("<link>http://stub.local/").append(feed).append("/article/").append(seq).append("</link>")
+                .append("<description><![CDATA[<p>").append(summary).append("</p>]]></description>")
+                .append("<pubDate>").append(pubDate).append("</pubDate>");
+        if (seq % 3 != 0) {
+            xml.append("<media:content url=\"http://stub.local/img/").append(feed).append('/').append(seq)
+                    .append(".jpg\" medium=\"image\"/>");
+        }
+        xml.append("</item>\n");
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Dockerfile 타깃별 기동 시간(컨테이너 시작 → /actuator/health UP)과 기동 직후 메모리 사용량 비교
+#   ./scripts/startup-metrics.sh [타깃...]   (기본: run aot cds native)
+set -euo pipefail
+
+TARGETS=("$@")
+[ ${#TARGETS[@]} -eq 0 ] && TARGETS=(run aot cds native)
+PORT=${PORT:-18080}
+
+printf "%-8s %12s %16s\n" "target" "startup(ms)" "memory"
+for target in "${TARGETS[@]}"; do
+    docker build -q --target "$target" -t "news-service:$target" . > /dev/null
+
+    # 수집 대상이 없어야 네트워크 상태와 무관하게 기동 자체만 측정된다
+    start=$(date +%s%N)
+    container=$(docker run -d -p "$PORT:8080" -e NEWS_RSS_FEEDS= "news-service:$target")
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if [ $(( ($(date +%s%N) - start) / 1000000 )) -gt 120000 ]; then
+            echo "$target: 120초 안에 기동하지 않음" >&2
+            docker logs "$container" | tail -20 >&2
+            break
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    memory=$(docker stats --no-stream --format '{{.MemUsage}}' "$container" | cut -d/ -f1)
+
+    printf "%-8s %12s %16s\n" "$target" "$elapsed" "$memory"
+    docker rm -f "$container" > /dev/null
+done
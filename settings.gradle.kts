@@ -1 +1,6 @@
-rootProject.name = "news-service"
\ No newline at end of file
+rootProject.name = "news-service"
+
+// 부하 테스트 모듈 (Docker 이미지 빌드에는 복사하지 않으므로 있을 때만 포함)
+if (file("loadtest").isDirectory) {
+    include("loadtest")
+}
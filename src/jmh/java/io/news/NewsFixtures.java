@@ -0,0 +1,51 @@
+package io.news;
+
+import io.news.dto.NewsItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// 벤치마크용 합성 뉴스 (같은 seed면 항상 같은 데이터)
+public final class NewsFixtures {
+
+    private static final String[] TOPICS = {
+            "반도체", "금리", "부동산", "AI", "전기차", "수출", "날씨", "선거", "야구", "환율", "배터리", "바이오"
+    };
+    private static final String[] ORGS = {"정부", "한국은행", "삼성전자", "현대차", "서울시", "국회", "기상청", "통계청"};
+    private static final String[] VERBS = {"발표", "급등", "하락", "확대", "논의", "전망", "돌파", "회복"};
+    private static final String[] PUBLISHERS = {"연합뉴스", "구글뉴스", "조선일보", "매일경제"};
+
+    private NewsFixtures() {
+    }
+
+    public static List<NewsItem> newsItems(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime base = LocalDateTime.of(2026, 10, 19, 9, 0);
+        List<NewsItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = pick(random, ORGS) + ", " + pick(random, TOPICS) + " " + pick(random, VERBS)
+                    + "… " + pick(random, TOPICS) + " 시장 영향 주목";
+            StringBuilder summary = new StringBuilder();
+            for (int s = 0; s < 4; s++) {
+                summary.append(pick(random, ORGS)).append("는 ").append(pick(random, TOPICS)).append(" 관련 ")
+                        .append(pick(random, VERBS)).append(" 방침을 밝혔다. ");
+            }
+            items.add(new NewsItem(
+                    null,
+                    title,
+                    summary.toString().trim(),
+                    pick(random, PUBLISHERS),
+                    base.minusMinutes(random.nextInt(60 * 24 * 30)),
+                    "https://news.example.com/article/" + seed + "/" + i,
+                    i % 3 == 0 ? null : "https://img.example.com/" + i + ".jpg"
+            ));
+        }
+        return items;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
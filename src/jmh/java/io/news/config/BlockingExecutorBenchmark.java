@@ -0,0 +1,60 @@
+package io.news.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 느린 백엔드(ES 응답 지연)를 흉내 낸 요청 처리: Tomcat 기본 최대 스레드(200)의 플랫폼 풀 vs 가상 스레드.
+// 동시 클라이언트(512)가 풀 크기를 넘으므로 플랫폼 모드는 대기열에서 지연이 쌓인다.
+// Throughput은 초당 처리 요청 수, SampleTime 결과의 p0.99가 요청 지연 p99.
+@State(Scope.Benchmark)
+@Threads(512)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingExecutorBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"50"})
+    public long backendLatencyMs;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("bench",
+                Map.of("spring.threads.virtual.enabled", String.valueOf("virtual".equals(threads)))));
+        executor = new BlockingExecutors(environment).newExecutor("bench", TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String request() throws Exception {
+        return executor.submit(() -> {
+            Thread.sleep(backendLatencyMs);
+            return "ok";
+        }).get();
+    }
+}
@@ -0,0 +1,53 @@
+package io.news.document;
+
+import io.news.NewsFixtures;
+import io.news.dto.NewsItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ES 색인/조회 시 문서 변환 (generateId의 SHA-256 + hex 포함)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NewsDocumentBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private List<NewsItem> items;
+    private List<NewsDocument> documents;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        items = NewsFixtures.newsItems(SIZE, 11);
+        documents = items.stream().map(NewsDocument::from).toList();
+    }
+
+    @Benchmark
+    public NewsDocument from() {
+        return NewsDocument.from(items.get(next()));
+    }
+
+    @Benchmark
+    public NewsItem toNewsItem() {
+        return documents.get(next()).toNewsItem();
+    }
+
+    @Benchmark
+    public String generateId() {
+        return NewsDocument.generateId(items.get(next()).getUrl());
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+}
@@ -0,0 +1,41 @@
+package io.news.dto;
+
+import io.news.NewsFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Page 생성과 템플릿이 페이지네이션을 그릴 때 읽는 값 계산
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageBenchmark {
+
+    @Param({"100", "100000"})
+    public int totalElements;
+
+    private List<NewsItem> content;
+
+    @Setup
+    public void setUp() {
+        content = NewsFixtures.newsItems(20, 7);
+    }
+
+    @Benchmark
+    public void constructAndPaginate(Blackhole blackhole) {
+        Page<NewsItem> page = new Page<>(content, 7, 20, totalElements);
+        blackhole.consume(page.getPageNumbers());
+        blackhole.consume(page.hasNext());
+        blackhole.consume(page.hasPrevious());
+        blackhole.consume(page.getLastPage());
+    }
+}
@@ -0,0 +1,40 @@
+package io.news.dto;
+
+import io.news.NewsFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 검색 결과 한 페이지(20건)의 제목/요약 하이라이팅
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchResultBenchmark {
+
+    // 한글 키워드, 대소문자 무시 영문 키워드, 정규식 특수문자 포함 키워드
+    @Param({"반도체", "ai", "K-팝(속보)"})
+    public String keyword;
+
+    private List<NewsItem> page;
+
+    @Setup
+    public void setUp() {
+        page = NewsFixtures.newsItems(20, 7);
+    }
+
+    @Benchmark
+    public void highlightPage(Blackhole blackhole) {
+        for (NewsItem news : page) {
+            blackhole.consume(new SearchResult(news, keyword));
+        }
+    }
+}
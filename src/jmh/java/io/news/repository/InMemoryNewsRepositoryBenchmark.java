@@ -0,0 +1,79 @@
+package io.news.repository;
+
+import io.news.NewsFixtures;
+import io.news.cluster.FeedCoordinator;
+import io.news.config.ClusterProperties;
+import io.news.config.DedupProperties;
+import io.news.config.LuceneProperties;
+import io.news.config.ReplicationProperties;
+import io.news.config.RssProperties;
+import io.news.config.StorageProperties;
+import io.news.dto.NewsItem;
+import io.news.replication.ChangeLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 홈/검색 첫 페이지와 깊은 페이지 조회 비용 (저장소 크기별)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryNewsRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int corpusSize;
+
+    @Param({"object", "compact"})
+    public String layout;
+
+    private InMemoryNewsRepository repository;
+    private int deepPage;
+
+    @Setup
+    public void setUp() {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.setEnabled(false);
+        storageProperties.setLayout(layout);
+        ChangeLog changeLog = new ChangeLog(new ReplicationProperties(),
+                new FeedCoordinator(new ClusterProperties(), new RssProperties(), null));
+        repository = new InMemoryNewsRepository(storageProperties, new LuceneProperties(), new DedupProperties(),
+                changeLog);
+        repository.saveAll(NewsFixtures.newsItems(corpusSize, 42));
+        deepPage = corpusSize / PAGE_SIZE / 2;
+    }
+
+    @Benchmark
+    public List<NewsItem> findAllFirstPage() {
+        return repository.findAll(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<NewsItem> findAllDeepPage() {
+        return repository.findAll(deepPage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<NewsItem> findByKeywordFirstPage() {
+        return repository.findByKeyword("반도체", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<NewsItem> findByKeywordNoMatch() {
+        return repository.findByKeyword("존재하지않는키워드", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int countByKeyword() {
+        return repository.countByKeyword("반도체");
+    }
+}
@@ -0,0 +1,48 @@
+package io.news.service;
+
+import com.rometools.rome.io.XmlReader;
+import io.news.config.RssProperties;
+import io.news.dto.NewsItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 녹화된 피드(100건) 한 번을 파싱하고 NewsItem으로 정규화하는 비용 (네트워크 제외)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RssParsingBenchmark {
+
+    // yonhap: 텍스트 요약 + enclosure, google-news: HTML 요약 + 제목 출처 + media:content
+    @Param({"yonhap", "google-news"})
+    public String feed;
+
+    private RssFetchService rssFetchService;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws Exception {
+        // 파싱 경로만 쓰므로 저장소/이벤트/실행기는 필요 없다
+        rssFetchService = new RssFetchService(new RssProperties(), null, null, null, null, null, null);
+        try (InputStream in = getClass().getResourceAsStream("/feeds/" + feed + ".xml")) {
+            xml = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public List<NewsItem> parseFeed() throws Exception {
+        try (XmlReader reader = new XmlReader(new ByteArrayInputStream(xml))) {
+            return rssFetchService.parseFeed(reader, feed);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package io.news;
 
+import io.news.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 @SpringBootApplication
 public class NewsServiceApplication {
 
@@ -0,0 +1,175 @@
+package io.news.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// 같은 머신(또는 공유 볼륨)의 디렉터리로 조율한다.
+//   members/<node>      : 하트비트 만료 시각
+//   leases/<feed>       : 피드 이름, 소유자, 만료 시각
+//   leases.lock         : 리스 읽기-수정-쓰기를 프로세스 간에 직렬화하는 파일 락
+@Slf4j
+public class DirectoryLeaseStore implements LeaseStore {
+
+    private final Path membersDir;
+    private final Path leasesDir;
+    private final Path lockFile;
+    // FileLock은 같은 JVM 안의 중복 획득을 막아주지 않으므로 프로세스 내부는 별도 락으로 직렬화
+    private final ReentrantLock localLock = new ReentrantLock();
+
+    public DirectoryLeaseStore(Path directory) {
+        this.membersDir = directory.resolve("members");
+        this.leasesDir = directory.resolve("leases");
+        this.lockFile = directory.resolve("leases.lock");
+        try {
+            Files.createDirectories(membersDir);
+            Files.createDirectories(leasesDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("클러스터 디렉터리 생성 실패: " + directory, e);
+        }
+    }
+
+    @Override
+    public void heartbeat(String nodeId, long expiresAt) {
+        writeAtomically(membersDir.resolve(fileName(nodeId)), nodeId + "\n" + expiresAt);
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        delete(membersDir.resolve(fileName(nodeId)));
+    }
+
+    @Override
+    public List<String> liveMembers(long now) {
+        List<String> members = new ArrayList<>();
+        for (String[] entry : readAll(membersDir)) {
+            if (Long.parseLong(entry[1]) > now) {
+                members.add(entry[0]);
+            }
+        }
+        return members;
+    }
+
+    @Override
+    public boolean tryAcquire(String feed, String nodeId, long expiresAt, long now) {
+        return withLock(() -> {
+            Path file = leasesDir.resolve(fileName(feed));
+            String[] lease = read(file);
+            if (lease != null && !lease[1].equals(nodeId) && Long.parseLong(lease[2]) > now) {
+                return false;
+            }
+            writeAtomically(file, feed + "\n" + nodeId + "\n" + expiresAt);
+            return true;
+        });
+    }
+
+    @Override
+    public void release(String feed, String nodeId) {
+        withLock(() -> {
+            Path file = leasesDir.resolve(fileName(feed));
+            String[] lease = read(file);
+            if (lease != null && lease[1].equals(nodeId)) {
+                delete(file);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Map<String, String> owners(long now) {
+        Map<String, String> owners = new LinkedHashMap<>();
+        for (String[] lease : readAll(leasesDir)) {
+            if (Long.parseLong(lease[2]) > now) {
+                owners.put(lease[0], lease[1]);
+            }
+        }
+        return owners;
+    }
+
+    @Override
+    public String name() {
+        return "directory";
+    }
+
+    private <T> T withLock(LockedOperation<T> operation) {
+        localLock.lock();
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            return operation.execute();
+        } catch (IOException e) {
+            throw new UncheckedIOException("리스 파일 락 실패", e);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private List<String[]> readAll(Path dir) {
+        List<String[]> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> !f.getFileName().toString().endsWith(".tmp")).toList()) {
+                String[] entry = read(file);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("클러스터 디렉터리 읽기 실패: " + dir, e);
+        }
+        return entries;
+    }
+
+    private String[] read(Path file) {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8).split("\n");
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("클러스터 파일 읽기 실패: " + file, e);
+        }
+    }
+
+    // 읽는 쪽이 반쯤 쓰인 파일을 보지 않도록 임시 파일에 쓰고 rename
+    private void writeAtomically(Path file, String content) {
+        Path tmp = file.resolveSibling(file.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try {
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("클러스터 파일 쓰기 실패: " + file, e);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("클러스터 파일 삭제 실패: {} - {}", file, e.getMessage());
+        }
+    }
+
+    // 피드 이름은 한글/기호가 섞이므로 UTF-8 바이트를 hex로
+    private static String fileName(String key) {
+        return HexFormat.of().formatHex(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface LockedOperation<T> {
+        T execute();
+    }
+}
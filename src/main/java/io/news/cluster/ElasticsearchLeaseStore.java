@@ -0,0 +1,168 @@
+package io.news.cluster;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.OpType;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ES 인덱스 하나로 조율한다. 리스 문서는 if_seq_no/if_primary_term 조건부 쓰기로 갱신해서
+// 두 인스턴스가 동시에 만료된 리스를 가져가려 하면 한쪽만 성공한다 (나머지는 409).
+@Slf4j
+public class ElasticsearchLeaseStore implements LeaseStore {
+
+    private final ElasticsearchClient client;
+    private final String indexName;
+
+    public ElasticsearchLeaseStore(ElasticsearchClient client, String indexName) {
+        this.client = client;
+        this.indexName = indexName;
+        createIndexIfNotExists();
+    }
+
+    private void createIndexIfNotExists() {
+        try {
+            if (!client.indices().exists(e -> e.index(indexName)).value()) {
+                client.indices().create(c -> c
+                        .index(indexName)
+                        .mappings(m -> m
+                                .properties("type", p -> p.keyword(k -> k))
+                                .properties("feed", p -> p.keyword(k -> k))
+                                .properties("node", p -> p.keyword(k -> k))
+                                .properties("expiresAt", p -> p.long_(l -> l))
+                        )
+                );
+                log.info("클러스터 인덱스 생성 완료: {}", indexName);
+            }
+        } catch (Exception e) {
+            log.error("클러스터 인덱스 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void heartbeat(String nodeId, long expiresAt) {
+        try {
+            client.index(i -> i
+                    .index(indexName)
+                    .id("member:" + nodeId)
+                    .document(Map.of("type", "member", "node", nodeId, "expiresAt", expiresAt)));
+        } catch (Exception e) {
+            throw new RuntimeException("ES 하트비트 실패", e);
+        }
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        try {
+            client.delete(d -> d.index(indexName).id("member:" + nodeId));
+        } catch (Exception e) {
+            log.warn("ES 클러스터 탈퇴 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> liveMembers(long now) {
+        List<String> members = new ArrayList<>();
+        for (Map<String, Object> doc : findByType("member")) {
+            if (expiresAt(doc) > now) {
+                members.add((String) doc.get("node"));
+            }
+        }
+        return members;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean tryAcquire(String feed, String nodeId, long expiresAt, long now) {
+        String id = "lease:" + feed;
+        Map<String, Object> lease = Map.of("type", "lease", "feed", feed, "node", nodeId, "expiresAt", expiresAt);
+        try {
+            GetResponse<Map> current = client.get(g -> g.index(indexName).id(id), Map.class);
+            if (!current.found()) {
+                client.index(i -> i.index(indexName).id(id).opType(OpType.Create).document(lease));
+                return true;
+            }
+            Map<?, ?> source = current.source();
+            if (!nodeId.equals(source.get("node")) && expiresAt(source) > now) {
+                return false;
+            }
+            client.index(i -> i
+                    .index(indexName)
+                    .id(id)
+                    .ifSeqNo(current.seqNo())
+                    .ifPrimaryTerm(current.primaryTerm())
+                    .document(lease));
+            return true;
+        } catch (ElasticsearchException e) {
+            if (e.status() == 409) {
+                return false;
+            }
+            throw new RuntimeException("ES 리스 획득 실패", e);
+        } catch (Exception e) {
+            throw new RuntimeException("ES 리스 획득 실패", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void release(String feed, String nodeId) {
+        String id = "lease:" + feed;
+        try {
+            GetResponse<Map> current = client.get(g -> g.index(indexName).id(id), Map.class);
+            if (current.found() && nodeId.equals(current.source().get("node"))) {
+                client.delete(d -> d
+                        .index(indexName)
+                        .id(id)
+                        .ifSeqNo(current.seqNo())
+                        .ifPrimaryTerm(current.primaryTerm()));
+            }
+        } catch (Exception e) {
+            // 반납에 실패해도 TTL이 지나면 다른 인스턴스가 가져간다
+            log.warn("ES 리스 반납 실패: {} - {}", feed, e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, String> owners(long now) {
+        Map<String, String> owners = new LinkedHashMap<>();
+        for (Map<String, Object> doc : findByType("lease")) {
+            if (expiresAt(doc) > now) {
+                owners.put((String) doc.get("feed"), (String) doc.get("node"));
+            }
+        }
+        return owners;
+    }
+
+    @Override
+    public String name() {
+        return "elasticsearch";
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<Map<String, Object>> findByType(String type) {
+        try {
+            return client.search(s -> s
+                            .index(indexName)
+                            .query(q -> q.term(t -> t.field("type").value(type)))
+                            .size(1000),
+                    Map.class
+            ).hits().hits().stream()
+                    .map(Hit::source)
+                    .map(source -> (Map<String, Object>) source)
+                    .toList();
+        } catch (Exception e) {
+            throw new RuntimeException("ES 클러스터 조회 실패", e);
+        }
+    }
+
+    private static long expiresAt(Map<?, ?> doc) {
+        Object value = doc.get("expiresAt");
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
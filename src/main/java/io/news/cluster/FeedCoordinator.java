@@ -0,0 +1,212 @@
+package io.news.cluster;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import io.news.config.ClusterProperties;
+import io.news.config.RssProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 여러 인스턴스가 피드를 나눠 수집하도록 조율한다.
+// 살아 있는 인스턴스 목록으로 일관 해싱 링을 만들고, 링에서 자기 몫인 피드의 리스를 잡은 경우에만 수집한다.
+// 인스턴스가 사라지면 하트비트와 리스가 leaseTtl 후 만료되고, 남은 인스턴스가 링을 다시 계산해 넘겨받는다.
+@Slf4j
+@Component
+public class FeedCoordinator {
+
+    private final ClusterProperties properties;
+    private final RssProperties rssProperties;
+    private final LeaseStore store;
+    private final String nodeId;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // 리스 갱신이 긴 수집(@Scheduled 단일 스레드)에 막혀 만료되지 않도록 전용 스레드에서 돌린다
+    private ScheduledExecutorService heartbeatExecutor;
+    private volatile List<String> members = List.of();
+    private volatile Set<String> ownedFeeds = Set.of();
+    private volatile long leasesValidUntil = 0;
+    private long joinedAt;
+
+    public FeedCoordinator(ClusterProperties properties, RssProperties rssProperties,
+                           @Autowired(required = false) ElasticsearchClient elasticsearchClient) {
+        this.properties = properties;
+        this.rssProperties = rssProperties;
+        this.nodeId = properties.getNodeId() != null && !properties.getNodeId().isBlank()
+                ? properties.getNodeId()
+                : defaultNodeId();
+
+        if (!properties.isEnabled()) {
+            this.store = null;
+        } else if ("elasticsearch".equals(properties.getBackend())) {
+            if (elasticsearchClient == null) {
+                throw new IllegalStateException("news.cluster.backend=elasticsearch 이지만 Elasticsearch가 비활성화되어 있음");
+            }
+            this.store = new ElasticsearchLeaseStore(elasticsearchClient, properties.getIndexName());
+        } else {
+            this.store = new DirectoryLeaseStore(Path.of(properties.getDirectory()));
+        }
+    }
+
+    @PostConstruct
+    public void join() {
+        if (store == null) {
+            return;
+        }
+        // 동시에 뜬 인스턴스끼리 서로를 볼 때까지 한 하트비트 동안은 피드를 잡지 않는다
+        joinedAt = System.currentTimeMillis();
+        store.heartbeat(nodeId, joinedAt + properties.getLeaseTtlMs());
+        log.info("클러스터 참여: {} (저장소: {})", nodeId, store.name());
+
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat,
+                properties.getHeartbeatIntervalMs(), properties.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (store == null) {
+            return;
+        }
+        heartbeatExecutor.shutdownNow();
+        // 정상 종료 시에는 TTL을 기다리지 않고 바로 넘겨준다
+        try {
+            for (String feed : ownedFeeds) {
+                store.release(feed, nodeId);
+            }
+            store.leave(nodeId);
+            log.info("클러스터 탈퇴: {} - 피드 {}개 반납", nodeId, ownedFeeds.size());
+        } catch (Exception e) {
+            log.warn("클러스터 탈퇴 실패: {}", e.getMessage());
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("클러스터 하트비트 실패: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 이번 수집에서 이 인스턴스가 맡을 피드. 클러스터 모드가 아니면 전체.
+    public List<RssProperties.FeedConfig> assignedFeeds(List<RssProperties.FeedConfig> feeds) {
+        if (store == null) {
+            return feeds;
+        }
+        long settleAt = joinedAt + properties.getHeartbeatIntervalMs();
+        long now = System.currentTimeMillis();
+        if (now < settleAt) {
+            try {
+                Thread.sleep(settleAt - now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+        }
+        refresh();
+        // 리스를 갱신하지 못한 채 TTL이 지났으면 이미 다른 인스턴스가 가져갔을 수 있다
+        if (System.currentTimeMillis() >= leasesValidUntil) {
+            log.warn("클러스터 리스가 유효하지 않아 수집 건너뜀: {}", nodeId);
+            return List.of();
+        }
+        Set<String> owned = ownedFeeds;
+        return feeds.stream().filter(feed -> owned.contains(feed.getName())).toList();
+    }
+
+    private void refresh() {
+        refreshLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long expiresAt = now + properties.getLeaseTtlMs();
+            store.heartbeat(nodeId, expiresAt);
+
+            List<String> live = new ArrayList<>(store.liveMembers(now));
+            if (!live.contains(nodeId)) {
+                live.add(nodeId);
+            }
+            live.sort(null);
+
+            if (now < joinedAt + properties.getHeartbeatIntervalMs()) {
+                members = live;
+                return;
+            }
+
+            ConsistentHashRing ring = new ConsistentHashRing(live, properties.getVirtualNodes());
+            Set<String> owned = new LinkedHashSet<>();
+            for (RssProperties.FeedConfig feed : rssProperties.getFeeds()) {
+                String name = feed.getName();
+                if (nodeId.equals(ring.ownerOf(name))) {
+                    // 이전 소유자의 리스가 아직 유효하면 만료될 때까지 기다린다
+                    if (store.tryAcquire(name, nodeId, expiresAt, now)) {
+                        owned.add(name);
+                    }
+                } else if (ownedFeeds.contains(name)) {
+                    store.release(name, nodeId);
+                }
+            }
+
+            if (!live.equals(members) || !owned.equals(ownedFeeds)) {
+                log.info("클러스터 구성: 인스턴스 {}개 {} - {} 담당 피드 {}", live.size(), live, nodeId, owned);
+            }
+            members = live;
+            ownedFeeds = owned;
+            leasesValidUntil = expiresAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", store != null);
+        status.put("nodeId", nodeId);
+        if (store != null) {
+            status.put("backend", store.name());
+            status.put("members", members);
+            status.put("ownedFeeds", ownedFeeds);
+            try {
+                status.put("leases", store.owners(System.currentTimeMillis()));
+            } catch (Exception e) {
+                status.put("leases", "조회 실패: " + e.getMessage());
+            }
+        }
+        return status;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "localhost";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
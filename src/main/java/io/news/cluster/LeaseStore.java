@@ -0,0 +1,25 @@
+package io.news.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+// 인스턴스 목록(하트비트)과 피드 리스를 여러 인스턴스가 공유하는 저장소.
+// 시각은 모두 epoch millis이며, 만료 시각이 지난 항목은 없는 것으로 본다.
+public interface LeaseStore {
+
+    void heartbeat(String nodeId, long expiresAt);
+
+    void leave(String nodeId);
+
+    List<String> liveMembers(long now);
+
+    // 리스가 비었거나 만료됐거나 이미 nodeId 소유면 만료 시각을 갱신하고 true
+    boolean tryAcquire(String feed, String nodeId, long expiresAt, long now);
+
+    void release(String feed, String nodeId);
+
+    // 피드 -> 유효한 리스 소유자
+    Map<String, String> owners(long now);
+
+    String name();
+}
@@ -0,0 +1,38 @@
+package io.news.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// ES/피드 HTTP처럼 블로킹 I/O를 하는 작업용 실행기.
+// spring.threads.virtual.enabled=true(Java 21+)면 작업마다 가상 스레드를, 아니면 기존처럼 데몬 플랫폼 스레드 풀을 쓴다.
+@Slf4j
+@Component
+public class BlockingExecutors {
+
+    private final boolean virtual;
+
+    public BlockingExecutors(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        log.info("블로킹 작업 실행 모드: {}", virtual ? "가상 스레드" : "플랫폼 스레드");
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // platformThreads가 0 이하면 플랫폼 모드에서 필요한 만큼 늘어나는 cached 풀
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+        Thread.Builder builder = Thread.ofPlatform().name(name + "-", 0).daemon(true);
+        return platformThreads > 0
+                ? Executors.newFixedThreadPool(platformThreads, builder.factory())
+                : Executors.newCachedThreadPool(builder.factory());
+    }
+}
@@ -0,0 +1,25 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.cluster")
+public class ClusterProperties {
+    // 끄면 모든 피드를 이 인스턴스가 수집한다 (단일 인스턴스 동작)
+    private boolean enabled = false;
+    // 비우면 호스트명-pid
+    private String nodeId;
+    // directory: 공유 디렉터리의 파일 락, elasticsearch: ES 문서의 낙관적 동시성 제어
+    private String backend = "directory";
+    private String directory = "data/cluster";
+    private String indexName = "news-cluster";
+    private long heartbeatIntervalMs = 5000;
+    // 하트비트/리스가 이 시간 동안 갱신되지 않으면 다른 인스턴스가 피드를 넘겨받는다
+    private long leaseTtlMs = 15000;
+    private int virtualNodes = 64;
+}
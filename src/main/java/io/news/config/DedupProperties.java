@@ -0,0 +1,27 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.dedup")
+public class DedupProperties {
+    // 묶인 중복도 클러스터 ID와 함께 저장하고 조회에서만 접는다. 끄면 다시 모든 사본이 보인다
+    // (어느 매체 기사가 대표가 될지는 수집 순서에 달렸다)
+    private boolean enabled = true;
+    // 제목+요약을 공백/기호 제거 후 이 길이의 문자 n-gram으로 나눈다
+    private int shingleSize = 3;
+    // MinHash 서명 길이 = bands * rows. 추정 Jaccard가 대략 (1/bands)^(1/rows) 이상이면 후보가 된다
+    private int bands = 16;
+    private int rows = 4;
+    // 후보 중 추정 Jaccard가 이 값 이상이면 같은 기사로 본다
+    private double threshold = 0.6;
+    // 색인에 남겨 두는 최근 기사 수 (오래된 것부터 밀려난다)
+    private int maxEntries = 50000;
+    // 기동 후 첫 수집 전에 저장소의 최근 기사로 색인을 채운다
+    private int seedSize = 5000;
+}
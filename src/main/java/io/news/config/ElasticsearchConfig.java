@@ -1,5 +1,6 @@
 package io.news.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
@@ -28,7 +29,7 @@ public class ElasticsearchConfig {
 
     @Bean
     @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
-    public ElasticsearchClient elasticsearchClient() {
+    public RestClientTransport elasticsearchTransport() {
         try {
             URI uri = URI.create(properties.getUrl());
 
@@ -48,13 +49,31 @@ public class ElasticsearchConfig {
             objectMapper.registerModule(new JavaTimeModule());
             objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-            RestClientTransport transport = new RestClientTransport(restClient, new JacksonJsonpMapper(objectMapper));
-
-            log.info("Elasticsearch 클라이언트 초기화 완료: {}", properties.getUrl());
-            return new ElasticsearchClient(transport);
+            return new RestClientTransport(restClient, new JacksonJsonpMapper(objectMapper));
         } catch (Exception e) {
             log.error("Elasticsearch 클라이언트 초기화 실패: {}", e.getMessage());
             return null;
         }
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+    public ElasticsearchClient elasticsearchClient(RestClientTransport elasticsearchTransport) {
+        if (elasticsearchTransport == null) {
+            return null;
+        }
+        log.info("Elasticsearch 클라이언트 초기화 완료: {}", properties.getUrl());
+        return new ElasticsearchClient(elasticsearchTransport);
+    }
+
+    // 동기 클라이언트와 같은 transport(커넥션 풀)를 공유
+    @Bean
+    @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(RestClientTransport elasticsearchTransport) {
+        if (elasticsearchTransport == null) {
+            return null;
+        }
+        log.info("Elasticsearch 비동기 클라이언트 초기화 완료: {}", properties.getUrl());
+        return new ElasticsearchAsyncClient(elasticsearchTransport);
+    }
 }
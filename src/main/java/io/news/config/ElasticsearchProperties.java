@@ -15,4 +15,29 @@ public class ElasticsearchProperties {
     private String username;
     private String password;
     private String indexName = "news";
+    private Failback failback = new Failback();
+    private Hedge hedge = new Hedge();
+
+    @Getter
+    @Setter
+    public static class Failback {
+        private long probeIntervalMs = 10000;
+        private int replayBatchSize = 500;
+        // fallback 중 쓰기 저널(세그먼트 로그) 위치. 비우면 메모리에만 두어 재시작하면 잃는다
+        private String journalPath = "data/es-journal";
+        // 저널에 남겨 둘 최대 URL 수. 넘으면 가장 오래된 쓰기부터 버린다
+        private int journalMaxEntries = 100000;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        private boolean enabled = true;
+        private double percentile = 0.95;
+        private long initialBudgetMs = 300;
+        private long minBudgetMs = 20;
+        private long maxBudgetMs = 1000;
+        private long minSamples = 20;
+        private int mirrorMaxItems = 10000;
+    }
 }
@@ -0,0 +1,18 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.facets")
+public class FacetProperties {
+    private boolean enabled = true;
+    // 기사 수가 많은 매체 몇 곳까지 보여줄지
+    private int publishers = 10;
+    // 최근 몇 시간을 시간대별로 보여줄지
+    private int hours = 24;
+}
@@ -0,0 +1,43 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.limit")
+public class LimitProperties {
+    private boolean enabled = true;
+    // 거절한 요청의 Retry-After (초)
+    private int retryAfterSeconds = 2;
+    private Read read = new Read();
+    private Admin admin = new Admin();
+
+    // 조회(/, /search, /api/news, /api/search) 동시 처리 한도. 응답 지연을 보고 자동으로 조정한다
+    @Getter
+    @Setter
+    public static class Read {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        // 기준 지연(대기 없이 처리될 때) 대비 이 배수까지 느려지는 것은 허용
+        private double tolerance = 1.5;
+        // 새 한도를 반영하는 비율 (클수록 빨리 따라감)
+        private double smoothing = 0.2;
+        // 기준 지연이 올라갈 때 따라가는 구간 수
+        private int longWindow = 600;
+        // 한도는 이 시간과 표본 수를 모두 채운 구간마다 다시 계산
+        private long windowMs = 250;
+        private int minWindowSamples = 10;
+    }
+
+    // 관리(/admin) 요청은 조회와 별도의 고정 한도를 쓴다
+    @Getter
+    @Setter
+    public static class Admin {
+        private int maxConcurrent = 8;
+    }
+}
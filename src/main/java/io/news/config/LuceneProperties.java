@@ -0,0 +1,17 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.lucene")
+public class LuceneProperties {
+    private boolean enabled = false;
+    private String path = "data/lucene";
+    // 저장은 NRT searcher 갱신으로 바로 검색되고, 디스크 커밋(fsync)은 이 주기로 모아서 한다
+    private long commitIntervalMs = 5000;
+}
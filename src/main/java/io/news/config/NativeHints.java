@@ -0,0 +1,83 @@
+package io.news.config;
+
+import io.news.document.NewsDocument;
+import io.news.dto.FetchResult;
+import io.news.dto.NewsItem;
+import io.news.dto.Page;
+import io.news.dto.SearchResult;
+import io.news.replication.ChangeBatch;
+import io.news.replication.ChangeEntry;
+import io.news.replication.Snapshot;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Properties;
+
+// 네이티브 이미지에서 리플렉션/리소스로만 접근하는 타입 등록 (processAot 시점에 평가된다)
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson(ES 문서, /admin JSON)과 Thymeleaf SpEL이 getter로 읽는 타입
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                NewsDocument.class, NewsItem.class, FetchResult.class, FetchResult.FeedResult.class,
+                Page.class, SearchResult.class);
+        // 복제 피어 응답 역직렬화
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ChangeBatch.class, ChangeEntry.class, Snapshot.class);
+
+        registerRomeHints(hints, classLoader);
+
+        // ES 클라이언트: 버전 정보 리소스와 jakarta.json 구현체(ServiceLoader 실패 시 클래스 이름으로 로드)
+        hints.resources()
+                .registerPattern("co/elastic/clients/version.properties")
+                .registerPattern("org/elasticsearch/client/version.properties");
+        hints.reflection().registerType(TypeReference.of("org.eclipse.parsson.JsonProviderImpl"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Jsoup 1.17은 엔티티 표를 클래스 상수로 갖고 있어 리소스/리플렉션 등록이 필요 없다
+    }
+
+    // Rome 본체는 자체 메타데이터를 포함하지만 rome-modules의 파서/생성기는 rome.properties에서 이름으로만 로드된다
+    private void registerRomeHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("rome.properties");
+        try {
+            for (URL url : Collections.list(classLoader.getResources("rome.properties"))) {
+                Properties properties = new Properties();
+                try (InputStream in = url.openStream()) {
+                    properties.load(in);
+                }
+                for (String value : properties.stringPropertyNames().stream().map(properties::getProperty).toList()) {
+                    for (String className : value.trim().split("\\s+")) {
+                        if (!className.isEmpty()) {
+                            hints.reflection().registerType(TypeReference.of(className),
+                                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("rome.properties 읽기 실패", e);
+        }
+
+        // 모듈 복제(CloneableBean)와 equals/toString이 getter/setter를 리플렉션으로 호출
+        for (String moduleClass : new String[]{
+                "com.rometools.modules.mediarss.MediaEntryModuleImpl",
+                "com.rometools.modules.mediarss.MediaModuleImpl",
+                "com.rometools.modules.mediarss.types.Metadata",
+                "com.rometools.modules.mediarss.types.MediaContent",
+                "com.rometools.modules.mediarss.types.MediaGroup",
+                "com.rometools.modules.mediarss.types.Thumbnail"}) {
+            hints.reflection().registerType(TypeReference.of(moduleClass),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
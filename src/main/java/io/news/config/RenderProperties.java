@@ -0,0 +1,15 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.render")
+public class RenderProperties {
+    private boolean fragmentCacheEnabled = false;
+    private int fragmentCacheMaxEntries = 5000;
+}
@@ -0,0 +1,26 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.replication")
+public class ReplicationProperties {
+    private boolean enabled = false;
+    // 다른 인스턴스의 base URL (자기 자신이 섞여 있으면 epoch로 알아보고 건너뛴다)
+    private List<String> peers = new ArrayList<>();
+    // 변경 로그에 보관하는 최근 변경 수. 이보다 뒤처진 피어는 스냅샷으로 따라잡는다
+    private int logCapacity = 20000;
+    private int batchSize = 500;
+    // 새 변경이 없을 때 피어 요청을 붙잡아 두는 시간 (long polling)
+    private long pollWaitMs = 5000;
+    private long retryIntervalMs = 2000;
+    private long requestTimeoutMs = 30000;
+}
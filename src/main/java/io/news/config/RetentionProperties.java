@@ -0,0 +1,20 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.retention")
+public class RetentionProperties {
+    private boolean enabled = true;
+    // 발행 후 이 시간이 지난 기사는 지운다 (0이면 제한 없음). InMemory는 bucket 단위라 bucket 폭만큼 더 남을 수 있다
+    private long maxAgeHours = 720;
+    // InMemory 저장소 한도 (0이면 제한 없음). 넘으면 오래된 bucket부터 버린다
+    private int maxItems = 0;
+    private long maxMemoryBytes = 0;
+    private long expireIntervalMs = 60000;
+}
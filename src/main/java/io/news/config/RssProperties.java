@@ -15,6 +15,8 @@ import java.util.List;
 public class RssProperties {
 
     private List<FeedConfig> feeds = new ArrayList<>();
+    // 플랫폼 스레드 모드에서 피드를 동시에 받는 스레드 수 (가상 스레드 모드는 피드마다 한 스레드)
+    private int fetchThreads = 4;
 
     @Getter
     @Setter
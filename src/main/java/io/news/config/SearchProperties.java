@@ -0,0 +1,41 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.search")
+public class SearchProperties {
+    private Coalesce coalesce = new Coalesce();
+    private Popular popular = new Popular();
+
+    @Getter
+    @Setter
+    public static class Coalesce {
+        private boolean enabled = true;
+        // 조회가 끝난 뒤에도 이 시간 동안은 같은 요청에 결과를 그대로 돌려준다 (0이면 진행 중인 요청끼리만 묶음)
+        private long graceMs = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Popular {
+        private boolean enabled = true;
+        // 빈도를 세는 검색어 수 상한 (메모리는 이 수에 비례)
+        private int capacity = 1000;
+        // 수집 후 첫 페이지를 미리 조회해 둘 상위 검색어 수
+        private int prewarmTopK = 20;
+        // 이보다 적게 검색된 검색어는 미리 조회하지 않는다
+        private long minCount = 3;
+        // 수집 이벤트가 몰려도 예열은 이 시간 뒤 한 번만
+        private long prewarmDelayMs = 500;
+        // 수집 직후 예열이 끝날 때까지 이전 세대의 예열 결과를 계속 쓰는 시간 (0이면 바로 버림)
+        private long maxStaleMs = 3000;
+        // 이 주기마다 빈도를 절반으로 줄여 최근 검색어가 위로 오게 한다
+        private long decayIntervalMs = 3600000;
+    }
+}
@@ -0,0 +1,31 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.storage")
+public class StorageProperties {
+    private boolean enabled = true;
+    private String path = "data/segments";
+    private long segmentSizeBytes = 64L * 1024 * 1024;
+    private long compactionIntervalMs = 600000;
+    private double compactionRatio = 2.0;
+    // InMemory 저장소 메모리 배치: object(NewsItem 객체 그대로) 또는 compact(원시 배열 + UTF-8 바이트 아레나)
+    private String layout = "object";
+    // 기사를 발행 시각 기준 이 폭의 bucket으로 묶는다 (보존 기간 만료 단위)
+    private int bucketMinutes = 60;
+    private Compact compact = new Compact();
+
+    @Getter
+    @Setter
+    public static class Compact {
+        // true면 텍스트 아레나를 힙 밖(direct buffer)에 둔다. 크기는 -XX:MaxDirectMemorySize로 제한
+        private boolean offHeap = false;
+        private int chunkSizeBytes = 4 * 1024 * 1024;
+    }
+}
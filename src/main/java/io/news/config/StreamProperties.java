@@ -0,0 +1,19 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.stream")
+public class StreamProperties {
+    private int bufferSize = 1000;
+    private int clientQueueSize = 256;
+    private int maxClients = 10000;
+    private long timeoutMs = 1800000;
+    private long heartbeatIntervalMs = 30000;
+    private int seenUrlCapacity = 20000;
+}
@@ -0,0 +1,28 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.thumbnail")
+public class ThumbnailProperties {
+    private boolean enabled = true;
+    private String cacheDir = "data/thumbs";
+    private long maxCacheBytes = 256L * 1024 * 1024;
+    private int width = 480;
+    private int height = 240;
+    private long fetchTimeoutMs = 5000;
+    // 원본 응답 크기 상한. Content-Length가 이보다 크거나 읽은 바이트가 넘치면 받지 않는다
+    private long maxSourceBytes = 10L * 1024 * 1024;
+    // 원본 이미지 픽셀 수 상한. 헤더의 가로x세로로 디코딩 전에 확인한다 (작은 파일이 거대한 비트맵으로 풀리는 경우)
+    private long maxSourcePixels = 40_000_000;
+    private long failureTtlMs = 600000;
+    private boolean prefetchOnIngest = true;
+    private int prefetchThreads = 4;
+    // /thumb/{id} 요청마다 저장소를 조회하지 않도록 기억해 두는 기사 ID → 원본 이미지 URL 수
+    private int sourceCapacity = 50000;
+}
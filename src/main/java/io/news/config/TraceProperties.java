@@ -0,0 +1,22 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.trace")
+public class TraceProperties {
+    private boolean enabled = true;
+    // 이 시간 이상 걸린 요청은 구간(span)별 소요 시간을 WARN으로 남긴다
+    private long slowThresholdMs = 1000;
+    // 느린 요청 중 로그로 남길 비율
+    private double slowSampleRate = 1.0;
+    // 느리지 않은 요청 중 INFO로 남길 비율 (0이면 남기지 않음)
+    private double sampleRate = 0.0;
+    // 분당 최대 로그 수 (장애로 모든 요청이 느려져도 로그가 넘치지 않도록)
+    private int maxLogsPerMinute = 60;
+}
@@ -0,0 +1,17 @@
+package io.news.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "news.warmup")
+public class WarmupProperties {
+    // 트래픽을 받기 전에 저장까지 끝나야 하는 피드 수 (저장된 데이터가 이미 있으면 기다리지 않음)
+    private int minFeeds = 1;
+    // 이 시간 안에 조건을 채우지 못해도 트래픽을 받는다 (피드 전체 장애 시 모든 인스턴스가 빠지는 것 방지)
+    private long timeoutMs = 60000;
+}
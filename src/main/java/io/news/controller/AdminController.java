@@ -1,18 +1,37 @@
 package io.news.controller;
 
-import io.news.dto.FetchResult;
+import io.news.cluster.FeedCoordinator;
+import io.news.dedup.StoryClusterer;
+import io.news.limit.ConcurrencyLimitFilter;
+import io.news.popular.PopularQueries;
+import io.news.replication.ReplicationService;
+import io.news.repository.InMemoryNewsRepository;
 import io.news.repository.NewsRepository;
 import io.news.repository.NewsRepositoryRouter;
-import io.news.service.RssFetchService;
+import io.news.service.RetentionService;
+import io.news.service.FetchJob;
+import io.news.service.FetchJobService;
+import io.news.service.SearchPrewarmer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -20,35 +39,100 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final RssFetchService rssFetchService;
+    private final FetchJobService fetchJobService;
     private final NewsRepository newsRepository;
+    private final InMemoryNewsRepository inMemoryNewsRepository;
+    private final ApplicationAvailability applicationAvailability;
+    private final FeedCoordinator feedCoordinator;
+    private final ReplicationService replicationService;
+    private final StoryClusterer storyClusterer;
+    private final RetentionService retentionService;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final PopularQueries popularQueries;
+    private final SearchPrewarmer searchPrewarmer;
 
+    // 수집 작업을 시작하고 작업 ID를 바로 돌려준다. 실행 중인 작업이 요청을 포함하면 그 작업에 합류
     @PostMapping("/fetch")
-    public ResponseEntity<Map<String, Object>> fetchNews() {
-        log.info("RSS 뉴스 수집 요청 (수동)");
-        FetchResult result = rssFetchService.fetchAll();
-        return ResponseEntity.ok(Map.of(
-                "success", !result.hasFailures() || result.getSuccessCount() > 0,
-                "message", result.getSummary(),
-                "totalNews", result.getTotalCount(),
-                "feedsSuccess", result.getSuccessCount(),
-                "feedsFail", result.getFailCount(),
-                "details", result.getFeedResults()
-        ));
+    public ResponseEntity<Map<String, Object>> fetchNews(@RequestParam(required = false) List<String> feeds) {
+        log.info("RSS 뉴스 수집 요청 (수동) - 피드: {}", feeds == null ? "전체" : feeds);
+        FetchJobService.Submission submission;
+        try {
+            submission = fetchJobService.submit("manual", feeds == null ? Set.of() : new LinkedHashSet<>(feeds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "message", e.getMessage()));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("joined", submission.joined());
+        body.putAll(submission.job().toMap());
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/fetch/" + submission.job().getId()))
+                .body(body);
+    }
+
+    @GetMapping("/fetch")
+    public ResponseEntity<List<Map<String, Object>>> fetchJobs() {
+        return ResponseEntity.ok(fetchJobService.recentJobs().stream()
+                .map(FetchJob::toMap)
+                .toList());
+    }
+
+    @GetMapping("/fetch/{jobId}")
+    public ResponseEntity<Map<String, Object>> fetchJob(@PathVariable String jobId) {
+        FetchJob job = fetchJobService.get(jobId);
+        return job != null ? ResponseEntity.ok(job.toMap()) : ResponseEntity.notFound().build();
+    }
+
+    // 피드별 진행 상황 (SSE: feed 이벤트마다 피드 결과, 마지막에 done 이벤트)
+    @GetMapping(value = "/fetch/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> fetchJobStream(@PathVariable String jobId) {
+        FetchJob job = fetchJobService.get(jobId);
+        return job != null ? ResponseEntity.ok(fetchJobService.stream(job)) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/fetch/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelFetchJob(@PathVariable String jobId) {
+        FetchJob job = fetchJobService.get(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        fetchJobService.cancel(job);
+        return ResponseEntity.ok(job.toMap());
     }
 
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> status() {
-        boolean usingEs = false;
+        String storage = "in-memory";
+        int pendingWrites = 0;
         if (newsRepository instanceof NewsRepositoryRouter router) {
-            usingEs = router.isUsingElasticsearch();
+            storage = router.isUsingElasticsearch() ? "elasticsearch" : router.getLocalStorageName();
+            pendingWrites = router.getPendingWriteCount();
         }
         return ResponseEntity.ok(Map.of(
-                "storage", usingEs ? "elasticsearch" : "in-memory",
-                "newsCount", newsRepository.count()
+                "storage", storage,
+                "newsCount", newsRepository.count(),
+                "pendingWrites", pendingWrites,
+                "memory", inMemoryNewsRepository.getStoreStatus(),
+                "readiness", applicationAvailability.getReadinessState(),
+                "cluster", feedCoordinator.getStatus(),
+                "replication", replicationService.getStatus(),
+                "dedup", storyClusterer.getStatus(),
+                "retention", retentionService.getStatus(),
+                "limit", concurrencyLimitFilter.getStatus()
         ));
     }
 
+    // 많이 검색된 검색어 순위 (Space-Saving 추정치)와 수집 후 예열 상태
+    @GetMapping("/search/popular")
+    public ResponseEntity<Map<String, Object>> popularSearches(@RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> body = popularQueries.getStatus(Math.max(1, Math.min(limit, 1000)));
+        body.put("prewarm", searchPrewarmer.getStatus());
+        return ResponseEntity.ok(body);
+    }
+
     @PostMapping("/reset-es")
     public ResponseEntity<Map<String, Object>> resetElasticsearch() {
         if (newsRepository instanceof NewsRepositoryRouter router) {
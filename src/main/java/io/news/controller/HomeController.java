@@ -2,27 +2,45 @@ package io.news.controller;
 
 import io.news.dto.NewsItem;
 import io.news.dto.Page;
+import io.news.limit.ConcurrencyLimitFilter;
 import io.news.service.NewsService;
+import io.news.view.NewsCardRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class HomeController {
 
     private final NewsService newsService;
+    private final NewsCardRenderer newsCardRenderer;
 
     @GetMapping("/")
-    public String home(@RequestParam(defaultValue = "0") int page, Model model) {
-        log.info("홈 페이지 접속 - 페이지: {}", page);
-        Page<NewsItem> newsPage = newsService.getLatestNews(page);
-        model.addAttribute("pageTitle", "홈");
-        model.addAttribute("newsPage", newsPage);
-        return "index";
+    public CompletableFuture<String> home(@RequestParam(defaultValue = "0") int page,
+                                         @RequestAttribute(name = ConcurrencyLimitFilter.DEGRADED_ATTRIBUTE,
+                                                 required = false) Boolean degraded,
+                                         Model model) {
+        log.debug("홈 페이지 접속 - 페이지: {}", page);
+        // 조회 한도를 넘은 요청은 저장소를 거치지 않고 마지막 첫 페이지로 응답
+        CompletableFuture<Page<NewsItem>> newsPageFuture = Boolean.TRUE.equals(degraded)
+                ? CompletableFuture.completedFuture(newsService.getCachedLatestNews())
+                : newsService.getLatestNewsAsync(page);
+        return newsPageFuture
+                .thenApply(newsPage -> {
+                    model.addAttribute("pageTitle", "홈");
+                    model.addAttribute("newsPage", newsPage);
+                    if (newsCardRenderer.isEnabled()) {
+                        model.addAttribute("cards", newsCardRenderer.renderCards(newsPage.getContent()));
+                    }
+                    return "index";
+                });
     }
 }
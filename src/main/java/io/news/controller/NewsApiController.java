@@ -0,0 +1,193 @@
+package io.news.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.news.dto.CursorPage;
+import io.news.dto.Facets;
+import io.news.dto.NewsCursor;
+import io.news.dto.NewsItem;
+import io.news.dto.SearchResult;
+import io.news.repository.StorageUnavailableException;
+import io.news.service.NewsService;
+import io.news.service.NewsStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class NewsApiController {
+
+    private static final int MAX_SIZE = NewsCursor.MAX_SIZE;
+    private static final Set<String> NEWS_FIELDS = Set.of(
+            "id", "title", "summary", "publisher", "publishedAt", "url", "thumbnailUrl");
+    private static final Set<String> SEARCH_FIELDS = Set.of(
+            "id", "title", "summary", "publisher", "publishedAt", "url", "thumbnailUrl",
+            "highlightedTitle", "highlightedSummary");
+    private static final List<String> DEFAULT_FIELDS = List.of(
+            "id", "title", "publisher", "publishedAt", "url", "thumbnailUrl");
+
+    private final NewsService newsService;
+    private final NewsStreamService newsStreamService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/news")
+    public ResponseEntity<StreamingResponseBody> news(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "30") int size,
+                                                      @RequestParam(required = false) List<String> fields,
+                                                      WebRequest request) {
+        Set<String> projection = projection(fields, NEWS_FIELDS);
+        String etag = etag("news", cursor, size, projection);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPage<NewsItem> page = newsService.getLatestNews(cursor, clampSize(size));
+        return stream(page, (generator, news) -> writeNews(generator, news, projection));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<StreamingResponseBody> search(@RequestParam("q") String query,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "30") int size,
+                                                        @RequestParam(required = false) List<String> fields,
+                                                        WebRequest request) {
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("검색어(q)가 비어 있습니다");
+        }
+        Set<String> projection = projection(fields, SEARCH_FIELDS);
+        String etag = etag("search:" + query, cursor, size, projection);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPage<SearchResult> page = newsService.search(query, cursor, clampSize(size));
+        return stream(page, (generator, result) -> {
+            writeNews(generator, result.getNews(), projection);
+            if (projection.contains("highlightedTitle")) {
+                generator.writeStringField("highlightedTitle", result.getHighlightedTitle());
+            }
+            if (projection.contains("highlightedSummary")) {
+                generator.writeStringField("highlightedSummary", result.getHighlightedSummary());
+            }
+        });
+    }
+
+    // 매체별/시간대별 기사 수. q가 있으면 그 검색 결과 기준
+    // (시간대 창이 매시 움직이므로 세대 기반 ETag는 쓰지 않는다)
+    @GetMapping("/facets")
+    public ResponseEntity<Facets> facets(@RequestParam(name = "q", required = false) String query) {
+        return ResponseEntity.ok(newsService.getFacets(query == null || query.isBlank() ? null : query));
+    }
+
+    // 새로 수집된 기사를 Server-Sent Events로 전달. 재연결 시 Last-Event-ID 이후부터 이어서 받는다
+    @GetMapping(path = "/news/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return newsStreamService.subscribe(lastEventId);
+    }
+
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> unavailable(StorageUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Map.of("success", false, "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+    }
+
+    // 페이지 전체를 문자열로 만들지 않고 응답 스트림에 바로 직렬화
+    // ETag 헤더는 checkNotModified가 이미 응답에 설정한다
+    private <T> ResponseEntity<StreamingResponseBody> stream(CursorPage<T> page, ItemWriter<T> writer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("items");
+                for (T item : page.getContent()) {
+                    generator.writeStartObject();
+                    writer.write(generator, item);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeStringField("nextCursor", page.getNextCursor());
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    private void writeNews(JsonGenerator generator, NewsItem news, Set<String> projection) throws IOException {
+        for (String field : projection) {
+            switch (field) {
+                case "id" -> generator.writeNumberField("id", news.getId());
+                case "title" -> generator.writeStringField("title", news.getTitle());
+                case "summary" -> generator.writeStringField("summary", news.getSummary());
+                case "publisher" -> generator.writeStringField("publisher", news.getPublisher());
+                case "publishedAt" -> generator.writeStringField("publishedAt",
+                        news.getPublishedAt() != null ? news.getPublishedAt().toString() : null);
+                case "url" -> generator.writeStringField("url", news.getUrl());
+                case "thumbnailUrl" -> generator.writeStringField("thumbnailUrl", news.getThumbnailUrl());
+                default -> {
+                }
+            }
+        }
+    }
+
+    private Set<String> projection(List<String> fields, Set<String> allowed) {
+        if (fields == null || fields.isEmpty()) {
+            return new LinkedHashSet<>(DEFAULT_FIELDS);
+        }
+        Set<String> projection = new LinkedHashSet<>();
+        for (String field : fields) {
+            String name = field.trim();
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("지원하지 않는 필드: " + name);
+            }
+            projection.add(name);
+        }
+        return projection;
+    }
+
+    // 데이터 세대가 바뀌지 않았으면 같은 요청은 같은 ETag → 304로 저렴하게 폴링
+    private String etag(String resource, String cursor, int size, Set<String> projection) {
+        int requestHash = Objects.hash(resource, cursor, size, projection);
+        return "W/\"" + newsService.getGeneration() + "-" + Integer.toHexString(requestHash) + "\"";
+    }
+
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(MAX_SIZE, size));
+    }
+
+    @FunctionalInterface
+    private interface ItemWriter<T> {
+        void write(JsonGenerator generator, T item) throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package io.news.controller;
+
+import io.news.replication.ChangeBatch;
+import io.news.replication.ChangeLog;
+import io.news.replication.ReplicationService;
+import io.news.replication.Snapshot;
+import io.news.repository.InMemoryNewsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 피어 인스턴스가 변경 스트림을 받아 가는 내부 API (news.replication.enabled일 때만 응답)
+@RestController
+@RequestMapping("/internal/replication")
+@RequiredArgsConstructor
+public class ReplicationController {
+
+    private static final long MAX_WAIT_MS = 30000;
+
+    private final ChangeLog changeLog;
+    private final InMemoryNewsRepository repository;
+    private final ReplicationService replicationService;
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeBatch> changes(
+            @RequestParam(required = false) String epoch,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "0") long waitMs) throws InterruptedException {
+        if (!changeLog.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(changeLog.read(epoch, Math.max(0, after), Math.max(1, Math.min(limit, 5000)),
+                Math.min(waitMs, MAX_WAIT_MS)));
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<Snapshot> snapshot() {
+        if (!changeLog.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        // 재시작 직후 피어에서 따라잡기 전의 빈 상태를 내주면 받은 쪽이 이 인스턴스 출처의 기사를 지운다
+        if (!replicationService.isCaughtUp()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        // 시퀀스를 먼저 읽는다: 저장소 반영 후 로그에 싣으므로 이 시퀀스까지의 변경은 아래 목록에 모두 들어 있다
+        long seq = changeLog.head();
+        List<Snapshot.Entry> documents = repository.snapshotEntries();
+        return ResponseEntity.ok(new Snapshot(changeLog.getOrigin(), changeLog.getEpoch(), seq, documents));
+    }
+}
@@ -0,0 +1,69 @@
+package io.news.controller;
+
+import io.news.service.ThumbnailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class ThumbnailController {
+
+    private static final String DEFAULT_IMAGE = "/images/default-news.svg";
+
+    private final ThumbnailService thumbnailService;
+
+    @GetMapping("/thumb/{id}")
+    public ResponseEntity<Resource> thumbnail(@PathVariable Long id, WebRequest request) {
+        String sourceUrl = thumbnailService.findSourceUrl(id).orElse(null);
+        if (sourceUrl == null) {
+            return redirect(DEFAULT_IMAGE);
+        }
+        if (!thumbnailService.isEnabled()) {
+            return redirect(sourceUrl);
+        }
+
+        // 캐시 파일 이름이 원본 URL 해시이므로 ETag만으로 304 판단 가능
+        if (request.checkNotModified(thumbnailService.etag(sourceUrl))) {
+            return null;
+        }
+
+        Optional<Path> thumbnail = thumbnailService.getThumbnail(sourceUrl);
+        if (thumbnail.isEmpty()) {
+            // 받을 수 없거나 디코딩할 수 없는 이미지(webp 등)는 원본으로 보낸다
+            return redirect(sourceUrl);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(30)).cachePublic())
+                .body(new FileSystemResource(thumbnail.get()));
+    }
+
+    // 원본 주소를 URI로 만들 수 없으면 기본 이미지로
+    private ResponseEntity<Resource> redirect(String location) {
+        URI uri;
+        try {
+            uri = location.equals(DEFAULT_IMAGE) ? URI.create(DEFAULT_IMAGE) : ThumbnailService.toUri(location);
+        } catch (URISyntaxException e) {
+            uri = URI.create(DEFAULT_IMAGE);
+        }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(uri)
+                .build();
+    }
+}
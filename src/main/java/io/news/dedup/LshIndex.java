@@ -0,0 +1,103 @@
+package io.news.dedup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// MinHash 서명을 bands개 구간으로 나눠 구간별 해시 버킷에 넣는 LSH 색인.
+// 같은 버킷에 한 번이라도 들어간 항목만 후보로 비교하므로 전체 항목 수와 무관하게 조회한다.
+// 스레드 안전하지 않다 (StoryClusterer가 락으로 감싼다).
+public class LshIndex {
+
+    public record Entry(String url, String clusterId, int[] signature, long numbers) {
+    }
+
+    private final int bands;
+    private final int rows;
+    private final int maxEntries;
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+    private final Map<String, Entry> byUrl = new HashMap<>();
+    private final ArrayDeque<Entry> order = new ArrayDeque<>();
+
+    public LshIndex(int bands, int rows, int maxEntries) {
+        this.bands = bands;
+        this.rows = rows;
+        this.maxEntries = maxEntries;
+    }
+
+    public Entry get(String url) {
+        return byUrl.get(url);
+    }
+
+    public int size() {
+        return byUrl.size();
+    }
+
+    // 숫자 지문이 같고 추정 Jaccard가 threshold 이상인 후보 중 가장 비슷한 항목
+    public Entry findSimilar(int[] signature, long numbers, double threshold) {
+        Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Entry best = null;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < bands; band++) {
+            List<Entry> bucket = buckets.get(bandKey(signature, band));
+            if (bucket == null) continue;
+            for (Entry candidate : bucket) {
+                if (!seen.add(candidate) || candidate.numbers() != numbers) continue;
+                double similarity = MinHasher.similarity(signature, candidate.signature());
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    // 밀려난 항목들을 돌려준다
+    public List<Entry> add(Entry entry) {
+        Entry previous = byUrl.put(entry.url(), entry);
+        if (previous != null) {
+            removeFromBuckets(previous);
+            order.remove(previous);
+        }
+        order.addLast(entry);
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bandKey(entry.signature(), band), k -> new ArrayList<>(2)).add(entry);
+        }
+
+        List<Entry> evicted = new ArrayList<>();
+        while (order.size() > maxEntries) {
+            Entry oldest = order.removeFirst();
+            byUrl.remove(oldest.url(), oldest);
+            removeFromBuckets(oldest);
+            evicted.add(oldest);
+        }
+        return evicted;
+    }
+
+    private void removeFromBuckets(Entry entry) {
+        for (int band = 0; band < bands; band++) {
+            long key = bandKey(entry.signature(), band);
+            List<Entry> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long h = band * 0x9E3779B97F4A7C15L;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            h = (h ^ signature[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,101 @@
+package io.news.dedup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 정규화한 텍스트의 문자 n-gram 집합에 대한 MinHash 서명.
+// 한글 제목은 띄어쓰기/조사가 매체마다 달라서 단어 대신 공백을 뺀 문자 n-gram을 쓴다.
+public class MinHasher {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int shingleSize, int signatureLength) {
+        this.shingleSize = shingleSize;
+        this.seeds = new long[signatureLength];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < signatureLength; i++) {
+            seed = mix(seed + i);
+            seeds[i] = seed;
+        }
+    }
+
+    public int[] signature(String text) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles(text)) {
+            for (int i = 0; i < seeds.length; i++) {
+                int h = (int) (mix(shingle ^ seeds[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // 두 서명이 같은 위치의 비율 = Jaccard 유사도 추정치
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / a.length;
+    }
+
+    // 텍스트에 나온 숫자들의 지문. "20주 연속"과 "21주 연속"처럼 숫자만 다른 기사는 n-gram으로는 비슷해도 다른 기사다
+    public static long numbers(String text) {
+        Set<String> numbers = new TreeSet<>();
+        Matcher matcher = NUMBER.matcher(text);
+        while (matcher.find()) {
+            numbers.add(matcher.group());
+        }
+        String joined = String.join(",", numbers);
+        return hash(joined, 0, joined.length());
+    }
+
+    private Set<Long> shingles(String text) {
+        String normalized = normalize(text);
+        Set<Long> shingles = new HashSet<>();
+        if (normalized.length() < shingleSize) {
+            if (!normalized.isEmpty()) shingles.add(hash(normalized, 0, normalized.length()));
+            return shingles;
+        }
+        for (int i = 0; i + shingleSize <= normalized.length(); i++) {
+            shingles.add(hash(normalized, i, i + shingleSize));
+        }
+        return shingles;
+    }
+
+    // 소문자화 후 글자/숫자만 남긴다 (따옴표, 말줄임표, 괄호, 공백 차이 무시)
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        text.toLowerCase().codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    // FNV-1a 64
+    private static long hash(String s, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,176 @@
+package io.news.dedup;
+
+import io.news.config.DedupProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.NewsItem;
+import io.news.event.NewsIngestedEvent;
+import io.news.repository.NewsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 수집 경로의 근접 중복(같은 통신사 기사가 여러 피드로 제목만 조금 달라져 들어오는 경우) 묶기.
+// 먼저 들어온 기사가 클러스터 대표가 되고(클러스터 ID = 대표의 문서 ID), 이후 비슷한 기사는 그 클러스터 ID를 달고 저장된다.
+// 모든 사본이 저장소에 남고, 목록/검색/facet 조회에서만 클러스터 ID가 있는 기사를 접는다 (끄면 다시 모두 보인다).
+@Slf4j
+@Service
+public class StoryClusterer {
+
+    // 정규화 후 이보다 짧은 글은 우연히 겹치기 쉬워 비교하지 않는다
+    private static final int MIN_TEXT_LENGTH = 10;
+
+    private final DedupProperties properties;
+    private final NewsRepository newsRepository;
+    private final MinHasher minHasher;
+    private final LshIndex index;
+    // 대표 외 구성원 수 (클러스터 ID -> 중복 수)
+    private final Map<String, Integer> duplicateCounts = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong duplicatesGrouped = new AtomicLong();
+    private volatile boolean seeded = false;
+
+    public StoryClusterer(DedupProperties properties, NewsRepository newsRepository) {
+        this.properties = properties;
+        this.newsRepository = newsRepository;
+        this.minHasher = new MinHasher(properties.getShingleSize(), properties.getBands() * properties.getRows());
+        this.index = new LshIndex(properties.getBands(), properties.getRows(), properties.getMaxEntries());
+    }
+
+    // 모든 기사를 돌려주되, 다른 클러스터의 근접 중복에는 대표의 클러스터 ID를 단다 (처음 보는 기사와 대표는 그대로)
+    public List<NewsItem> cluster(List<NewsItem> newsItems) {
+        if (!properties.isEnabled() || newsItems.isEmpty()) {
+            return newsItems;
+        }
+        seedIfNeeded();
+
+        List<NewsItem> clustered = new ArrayList<>(newsItems.size());
+        int grouped = 0;
+        lock.lock();
+        try {
+            for (NewsItem item : newsItems) {
+                String clusterId = assign(item);
+                if (clusterId != null) {
+                    grouped++;
+                    item = item.withClusterId(clusterId);
+                }
+                clustered.add(item);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (grouped > 0) {
+            log.debug("근접 중복 {}건 묶음 ({}건 중)", grouped, newsItems.size());
+        }
+        return clustered;
+    }
+
+    // 복제/다른 경로로 저장된 기사도 색인해 두어 이후 수집에서 대표로 쓰이게 한다
+    @EventListener
+    public void onNewsIngested(NewsIngestedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (NewsItem item : event.getNewsItems()) {
+                if (item.getUrl() != null && index.get(item.getUrl()) == null) {
+                    assign(item);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 달아야 할 클러스터 ID. 대표이거나 묶이지 않으면 null
+    // 이미 클러스터 ID가 달린 기사(복제/재색인)는 그 클러스터를 그대로 따른다
+    private String assign(NewsItem item) {
+        String url = item.getUrl();
+        if (url == null) {
+            return null;
+        }
+        LshIndex.Entry known = index.get(url);
+        if (known != null) {
+            return known.clusterId().equals(NewsDocument.generateId(url)) ? null : known.clusterId();
+        }
+
+        String title = Objects.toString(item.getTitle(), "");
+        String text = title + " " + Objects.toString(item.getSummary(), "");
+        if (MinHasher.normalize(text).length() < MIN_TEXT_LENGTH) {
+            return item.getClusterId();
+        }
+        int[] signature = minHasher.signature(text);
+        long numbers = MinHasher.numbers(title);
+        LshIndex.Entry similar = item.getClusterId() == null
+                ? index.findSimilar(signature, numbers, properties.getThreshold())
+                : null;
+        String clusterId = item.getClusterId() != null ? item.getClusterId()
+                : similar != null ? similar.clusterId() : NewsDocument.generateId(url);
+        List<LshIndex.Entry> evicted = index.add(new LshIndex.Entry(url, clusterId, signature, numbers));
+        for (LshIndex.Entry entry : evicted) {
+            duplicateCounts.computeIfPresent(entry.clusterId(), (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        if (item.getClusterId() != null) {
+            duplicateCounts.merge(clusterId, 1, Integer::sum);
+            return clusterId;
+        }
+        if (similar == null) {
+            return null;
+        }
+        duplicateCounts.merge(clusterId, 1, Integer::sum);
+        duplicatesGrouped.incrementAndGet();
+        log.debug("근접 중복: {} -> 클러스터 {} ({})", url, clusterId, similar.url());
+        return clusterId;
+    }
+
+    // 기동 직후에는 색인이 비어 있어 이미 저장된 대표와 새 중복을 구분하지 못하므로 최근 기사로 먼저 채운다
+    private void seedIfNeeded() {
+        if (seeded) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (seeded) {
+                return;
+            }
+            List<NewsItem> recent = properties.getSeedSize() > 0
+                    ? newsRepository.findAll(0, properties.getSeedSize())
+                    : List.of();
+            // 오래된 것부터 넣어야 먼저 저장된 기사가 대표가 된다
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                assign(recent.get(i));
+            }
+            seeded = true;
+            log.info("근접 중복 색인 초기화: {}건", index.size());
+        } catch (Exception e) {
+            log.warn("근접 중복 색인 초기화 실패 - 빈 색인으로 시작: {}", e.getMessage());
+            seeded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        lock.lock();
+        try {
+            status.put("indexed", index.size());
+            status.put("clusters", duplicateCounts.size());
+        } finally {
+            lock.unlock();
+        }
+        status.put("duplicatesGrouped", duplicatesGrouped.get());
+        return status;
+    }
+}
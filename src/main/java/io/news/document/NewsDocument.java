@@ -28,6 +28,7 @@ public class NewsDocument {
 
     private String url;
     private String imageUrl;
+    private String clusterId;
 
     public static NewsDocument from(NewsItem item) {
         return NewsDocument.builder()
@@ -38,6 +39,7 @@ public class NewsDocument {
                 .publishedAt(item.getPublishedAt())
                 .url(item.getUrl())
                 .imageUrl(item.getThumbnailUrl())
+                .clusterId(item.getClusterId())
                 .build();
     }
 
@@ -49,7 +51,8 @@ public class NewsDocument {
                 publisher,
                 publishedAt,
                 url,
-                imageUrl
+                imageUrl,
+                clusterId
         );
     }
 
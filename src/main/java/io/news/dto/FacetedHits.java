@@ -0,0 +1,15 @@
+package io.news.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+// 저장소 조회 한 번으로 받는 한 페이지, 전체 일치 건수, facet
+@Getter
+@RequiredArgsConstructor
+public class FacetedHits {
+    private final List<NewsItem> items;
+    private final int total;
+    private final Facets facets;
+}
@@ -0,0 +1,80 @@
+package io.news.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// 매체별/시간대별 기사 수 (홈과 검색 화면의 facet). 매체는 많은 순, 시간대는 since부터 한 시간 단위 오래된 순
+@Getter
+@RequiredArgsConstructor
+public class Facets {
+
+    public static final Facets EMPTY = new Facets(List.of(), List.of());
+
+    private final List<PublisherCount> publishers;
+    private final List<HourCount> hours;
+
+    // 매체는 상위 publisherLimit개, 시간대는 since 이후만
+    public record Query(int publisherLimit, LocalDateTime since) {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class PublisherCount {
+        private final String publisher;
+        private final long count;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class HourCount {
+        private final LocalDateTime hour;
+        private final long count;
+    }
+
+    // 저장소마다 다른 집계 결과를 같은 모양으로 맞춘다. 기사가 없는 시간대는 0으로 채운다 (since ~ 현재 시각)
+    public static Facets of(Map<String, Long> publisherCounts, Map<LocalDateTime, Long> hourCounts, Query query) {
+        List<PublisherCount> publishers = publisherCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() != null && !entry.getKey().isBlank() && entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(query.publisherLimit())
+                .map(entry -> new PublisherCount(entry.getKey(), entry.getValue()))
+                .toList();
+
+        List<HourCount> hours = new ArrayList<>();
+        LocalDateTime end = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        for (LocalDateTime hour = query.since(); !hour.isAfter(end); hour = hour.plusHours(1)) {
+            hours.add(new HourCount(hour, hourCounts.getOrDefault(hour, 0L)));
+        }
+        return new Facets(publishers, hours);
+    }
+
+    public static LocalDateTime hourOf(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, 3600) * 3600, 0, ZoneOffset.UTC);
+    }
+
+    // 막대 길이 비율 계산용
+    @JsonIgnore
+    public long getMaxHourCount() {
+        return hours.stream().mapToLong(HourCount::getCount).max().orElse(0);
+    }
+
+    @JsonIgnore
+    public long getMaxPublisherCount() {
+        return publishers.isEmpty() ? 0 : publishers.get(0).getCount();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return publishers.isEmpty() && getMaxHourCount() == 0;
+    }
+}
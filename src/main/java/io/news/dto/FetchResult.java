@@ -2,25 +2,30 @@ package io.news.dto;
 
 import lombok.Getter;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+// 피드 결과는 피드가 끝나는 대로 여러 스레드에서 추가되고, 수집 중에도 진행 상황으로 읽힌다
 @Getter
 public class FetchResult {
-    private final List<FeedResult> feedResults = new ArrayList<>();
-    private int totalCount = 0;
-    private int successCount = 0;
-    private int failCount = 0;
-
-    public void addSuccess(String feedName, int newsCount) {
-        feedResults.add(new FeedResult(feedName, true, newsCount, null));
+    private final List<FeedResult> feedResults = new CopyOnWriteArrayList<>();
+    private volatile int totalCount = 0;
+    private volatile int successCount = 0;
+    private volatile int failCount = 0;
+
+    public synchronized FeedResult addSuccess(String feedName, int newsCount) {
+        FeedResult feedResult = new FeedResult(feedName, true, newsCount, null);
+        feedResults.add(feedResult);
         totalCount += newsCount;
         successCount++;
+        return feedResult;
     }
 
-    public void addFailure(String feedName, String errorMessage) {
-        feedResults.add(new FeedResult(feedName, false, 0, errorMessage));
+    public synchronized FeedResult addFailure(String feedName, String errorMessage) {
+        FeedResult feedResult = new FeedResult(feedName, false, 0, errorMessage);
+        feedResults.add(feedResult);
         failCount++;
+        return feedResult;
     }
 
     public boolean hasFailures() {
@@ -0,0 +1,77 @@
+package io.news.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+// 클라이언트에는 불투명한 문자열로 노출되는 페이징 커서.
+// 최신순 목록은 마지막 기사의 (publishedAt, id) 키셋, 검색은 관련도 순이라 페이지 번호를 담는다.
+public final class NewsCursor {
+
+    // API 한 페이지 최대 크기
+    public static final int MAX_SIZE = 100;
+    // 검색 커서로 내려갈 수 있는 최대 위치 (ES 기본 index.max_result_window)
+    public static final long MAX_SEARCH_OFFSET = 10_000;
+
+    private NewsCursor() {
+    }
+
+    public static String ofLatest(NewsItem last) {
+        return encode("l:" + last.getPublishedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + last.getId());
+    }
+
+    public static String ofSearch(int page, int size) {
+        return encode("s:" + page + ":" + size);
+    }
+
+    public static Latest decodeLatest(String cursor) {
+        String[] parts = decode(cursor, "l");
+        LocalDateTime publishedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[1])), ZoneOffset.UTC);
+        return new Latest(publishedAt, Long.parseLong(parts[2]));
+    }
+
+    // 커서는 클라이언트가 만들어 보낼 수 있으므로 페이지 크기와 위치를 다시 검사한다
+    public static Search decodeSearch(String cursor) {
+        String[] parts = decode(cursor, "s");
+        Search search;
+        try {
+            search = new Search(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+        if (search.page() < 0 || search.size() < 1 || search.size() > MAX_SIZE
+                || (long) search.page() * search.size() + search.size() > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor);
+        }
+        return search;
+    }
+
+    // 다음 페이지가 검색 가능 범위를 넘으면 커서를 주지 않는다
+    public static boolean hasNextSearch(Search position) {
+        return (long) (position.page() + 2) * position.size() <= MAX_SEARCH_OFFSET;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, String type) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !parts[0].equals(type)) {
+                throw new IllegalArgumentException("잘못된 커서: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+
+    public record Latest(LocalDateTime publishedAt, Long id) {
+    }
+
+    public record Search(int page, int size) {
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Getter
 @AllArgsConstructor
@@ -16,6 +17,22 @@ public class NewsItem {
     private LocalDateTime publishedAt;
     private String url;
     private String thumbnailUrl;
+    // 근접 중복으로 묶인 기사면 대표 기사의 문서 ID, 대표이거나 묶이지 않았으면 null (조회 시 접는다)
+    private String clusterId;
+
+    public NewsItem(Long id, String title, String summary, String publisher, LocalDateTime publishedAt,
+                    String url, String thumbnailUrl) {
+        this(id, title, summary, publisher, publishedAt, url, thumbnailUrl, null);
+    }
+
+    public NewsItem withClusterId(String clusterId) {
+        return new NewsItem(id, title, summary, publisher, publishedAt, url, thumbnailUrl, clusterId);
+    }
+
+    // 클라이언트에서 상대 시간을 계산할 수 있도록 서버 시간대 오프셋을 포함한 ISO-8601 문자열
+    public String getPublishedAtIso() {
+        return publishedAt.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+    }
 
     public String getRelativeTime() {
         Duration duration = Duration.between(publishedAt, LocalDateTime.now());
@@ -14,13 +14,19 @@ public class Page<T> {
     private final int size;
     private final int totalElements;
     private final int totalPages;
+    private final Facets facets;
 
     public Page(List<T> content, int page, int size, int totalElements) {
+        this(content, page, size, totalElements, Facets.EMPTY);
+    }
+
+    public Page(List<T> content, int page, int size, int totalElements, Facets facets) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.totalPages = (int) Math.ceil((double) totalElements / size);
+        this.facets = facets;
     }
 
     public boolean isFirst() {
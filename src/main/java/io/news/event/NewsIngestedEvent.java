@@ -0,0 +1,14 @@
+package io.news.event;
+
+import io.news.dto.NewsItem;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+// RSS 수집 결과가 저장소에 반영된 직후 발행
+@Getter
+@RequiredArgsConstructor
+public class NewsIngestedEvent {
+    private final List<NewsItem> newsItems;
+}
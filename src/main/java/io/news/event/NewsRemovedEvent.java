@@ -0,0 +1,12 @@
+package io.news.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 저장소에서 기사가 빠진 직후 발행 (전체 삭제, 보존 기간 만료, 피어의 삭제 복제). 전체 삭제는 count를 세지 않는다 (0)
+@Getter
+@RequiredArgsConstructor
+public class NewsRemovedEvent {
+    private final String reason;
+    private final long count;
+}
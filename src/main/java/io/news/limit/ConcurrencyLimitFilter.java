@@ -0,0 +1,179 @@
+package io.news.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.news.config.LimitProperties;
+import io.news.service.NewsService;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 조회 요청의 동시 처리 수를 지연 기반 한도로 묶고, 넘치는 요청은 대기열 없이 바로 돌려보낸다.
+// 홈 첫 페이지는 마지막으로 조회한 결과로 응답하고(degraded), 나머지는 503 + Retry-After.
+// 관리 요청(수동 수집 포함)은 별도 고정 한도를 써서 조회가 몰려도 /admin은 응답한다.
+// 복제(/internal)와 수집 작업 진행 스트림은 오래 열려 있는 연결이라 한도를 두지 않는다
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String DEGRADED_ATTRIBUTE = "news.degraded";
+
+    private static final Set<String> READ_PATHS = Set.of("/", "/search", "/api/news", "/api/search", "/api/facets");
+
+    private final LimitProperties properties;
+    private final NewsService newsService;
+    private final GradientLimiter readLimiter;
+    private final Semaphore adminPermits;
+    private final Counter readAccepted;
+    private final Counter readShed;
+    private final Counter readDegraded;
+    private final Counter adminAccepted;
+    private final Counter adminShed;
+
+    public ConcurrencyLimitFilter(LimitProperties properties, NewsService newsService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.newsService = newsService;
+        this.readLimiter = new GradientLimiter(properties.getRead());
+        this.adminPermits = new Semaphore(properties.getAdmin().getMaxConcurrent());
+        this.readAccepted = outcome(meterRegistry, "read", "accepted");
+        this.readShed = outcome(meterRegistry, "read", "shed");
+        this.readDegraded = outcome(meterRegistry, "read", "degraded");
+        this.adminAccepted = outcome(meterRegistry, "admin", "accepted");
+        this.adminShed = outcome(meterRegistry, "admin", "shed");
+        meterRegistry.gauge("news.limit.read.limit", readLimiter, GradientLimiter::getLimit);
+        meterRegistry.gauge("news.limit.read.inflight", readLimiter, GradientLimiter::getInFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (READ_PATHS.contains(path) && "GET".equals(request.getMethod())) {
+            filterRead(path, request, response, chain);
+        } else if (path.startsWith("/admin/") && !path.endsWith("/stream")) {
+            filterAdmin(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("readLimit", readLimiter.getLimit());
+        status.put("readInFlight", readLimiter.getInFlight());
+        status.put("readBaselineMs", readLimiter.getBaselineRttMillis());
+        status.put("readShed", (long) readShed.count());
+        status.put("readDegraded", (long) readDegraded.count());
+        status.put("adminLimit", properties.getAdmin().getMaxConcurrent());
+        status.put("adminShed", (long) adminShed.count());
+        return status;
+    }
+
+    private void filterRead(String path, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!readLimiter.tryAcquire()) {
+            // 홈 첫 페이지는 저장소를 거치지 않고 마지막 결과로 그린다
+            if ("/".equals(path) && isFirstPage(request) && newsService.getCachedLatestNews() != null) {
+                readDegraded.increment();
+                request.setAttribute(DEGRADED_ATTRIBUTE, true);
+                chain.doFilter(request, response);
+                return;
+            }
+            readShed.increment();
+            reject(response);
+            return;
+        }
+
+        readAccepted.increment();
+        long start = System.nanoTime();
+        runGuarded(request, response, chain, () -> readLimiter.release(System.nanoTime() - start));
+    }
+
+    private void filterAdmin(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!adminPermits.tryAcquire()) {
+            adminShed.increment();
+            reject(response);
+            return;
+        }
+        adminAccepted.increment();
+        runGuarded(request, response, chain, adminPermits::release);
+    }
+
+    // 비동기 응답(CompletableFuture, 스트리밍)은 응답이 끝날 때 한도를 돌려준다
+    private void runGuarded(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                            Runnable release) throws ServletException, IOException {
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseOnce = () -> {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        releaseOnce.run();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                releaseOnce.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static boolean isFirstPage(HttpServletRequest request) {
+        String page = request.getParameter("page");
+        return page == null || "0".equals(page);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String budget, String outcome) {
+        return Counter.builder("news.limit.requests")
+                .tag("budget", budget)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package io.news.limit;
+
+import io.news.config.LimitProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 지연 기울기로 동시 처리 한도를 조정한다.
+// 구간 평균 지연이 기준 지연(대기 없이 처리될 때의 지연)보다 커지면 한도를 비율만큼 줄이고, 비슷하면 sqrt(한도)만큼 늘린다.
+// 한도를 넘는 요청은 기다리게 하지 않고 바로 거절한다
+class GradientLimiter {
+
+    private final LimitProperties.Read properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double baselineRttNanos;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    GradientLimiter(LimitProperties.Read properties) {
+        this.properties = properties;
+        this.estimatedLimit = clamp(properties.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowMinRtt = Math.min(windowMinRtt, rttNanos);
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            long now = System.nanoTime();
+            if (windowSamples >= properties.getMinWindowSamples()
+                    && now - windowStart >= TimeUnit.MILLISECONDS.toNanos(properties.getWindowMs())) {
+                update((double) windowRttSum / windowSamples);
+                windowStart = now;
+                windowRttSum = 0;
+                windowMinRtt = Long.MAX_VALUE;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getBaselineRttMillis() {
+        return TimeUnit.NANOSECONDS.toMillis((long) baselineRttNanos);
+    }
+
+    private void update(double shortRttNanos) {
+        // 기준 지연은 구간 최소 지연으로 바로 내려가고, 올라갈 때는 longWindow 구간에 걸쳐 천천히 따라간다
+        // (과부하 중의 지연이 기준으로 굳지 않으면서, 백엔드가 계속 느려진 경우에는 결국 맞춰지도록)
+        if (baselineRttNanos == 0 || windowMinRtt < baselineRttNanos) {
+            baselineRttNanos = windowMinRtt;
+        } else {
+            baselineRttNanos += (windowMinRtt - baselineRttNanos) / properties.getLongWindow();
+        }
+        // 요청이 한도의 절반도 안 차 있으면 한도가 지연에 영향을 주지 않으므로 조정하지 않는다
+        if (windowMaxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * baselineRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing());
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,121 @@
+package io.news.popular;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.news.config.SearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 어떤 검색어가 검색 부하를 만드는지 고정된 메모리 안에서 센다 (Space-Saving).
+// 수집 후 예열 대상과 /admin/search/popular가 이 순위를 쓴다
+@Slf4j
+@Component
+public class PopularQueries {
+
+    // 비정상적으로 긴 검색어로 카운터 메모리가 커지지 않도록
+    private static final int MAX_KEYWORD_LENGTH = 100;
+
+    private final SearchProperties.Popular properties;
+    private final SpaceSaving sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Counter> lookups = new LinkedHashMap<>();
+
+    public PopularQueries(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        this.properties = searchProperties.getPopular();
+        this.sketch = new SpaceSaving(properties.getCapacity());
+        for (String outcome : List.of("hit", "stale", "miss")) {
+            lookups.put(outcome, Counter.builder("news.search.prewarm.lookups").tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("news.search.popular.tracked", this, PopularQueries::size);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void record(String keyword) {
+        if (!properties.isEnabled() || keyword == null || keyword.isBlank() || keyword.length() > MAX_KEYWORD_LENGTH) {
+            return;
+        }
+        lock.lock();
+        try {
+            sketch.offer(keyword);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 첫 페이지 검색이 예열 결과로 처리됐는지 (hit/stale/miss)
+    public void countLookup(String outcome) {
+        lookups.get(outcome).increment();
+    }
+
+    public List<SpaceSaving.Counter> top(int limit) {
+        lock.lock();
+        try {
+            return sketch.top(limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 예열 대상: 상위 prewarmTopK개 중 최소 빈도를 넘긴 검색어
+    public List<String> prewarmCandidates() {
+        return top(properties.getPrewarmTopK()).stream()
+                .filter(counter -> counter.count() >= properties.getMinCount())
+                .map(SpaceSaving.Counter::key)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${news.search.popular.decay-interval-ms:3600000}",
+            initialDelayString = "${news.search.popular.decay-interval-ms:3600000}")
+    public void decay() {
+        lock.lock();
+        try {
+            sketch.halve();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("인기 검색어 빈도 감쇠 - 남은 검색어 {}개", size());
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return sketch.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatus(int limit) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        Map<String, Long> prewarmLookups = new LinkedHashMap<>();
+        lookups.forEach((outcome, counter) -> prewarmLookups.put(outcome, (long) counter.count()));
+        status.put("prewarmLookups", prewarmLookups);
+        lock.lock();
+        try {
+            status.put("capacity", sketch.getCapacity());
+            status.put("tracked", sketch.size());
+            status.put("total", sketch.getTotal());
+            status.put("top", sketch.top(limit).stream()
+                    .map(counter -> Map.of(
+                            "query", counter.key(),
+                            "count", counter.count(),
+                            // 실제 빈도는 count - error 이상
+                            "error", counter.error()))
+                    .toList());
+        } finally {
+            lock.unlock();
+        }
+        return status;
+    }
+}
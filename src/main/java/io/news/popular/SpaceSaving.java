@@ -0,0 +1,112 @@
+package io.news.popular;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Space-Saving 빈도 상위 항목 추정. 항목을 최대 capacity개만 세고, 꽉 차면 가장 작은 카운터를 새 항목에 넘긴다.
+// 넘겨받은 항목의 count는 (이전 최솟값 + 1), error는 이전 최솟값이므로 실제 빈도는 count - error 이상 count 이하.
+// 전체 빈도의 1/capacity보다 자주 나온 항목은 반드시 남아 있다.
+// 스레드 안전하지 않다 (PopularQueries가 락으로 감싼다).
+public class SpaceSaving {
+
+    public record Counter(String key, long count, long error) {
+    }
+
+    private static final class Slot {
+        private final String key;
+        private final long seq;
+        private long count;
+        private long error;
+
+        private Slot(String key, long seq, long count, long error) {
+            this.key = key;
+            this.seq = seq;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    // 같은 count끼리는 먼저 들어온 항목을 먼저 밀어낸다
+    private static final Comparator<Slot> BY_COUNT = Comparator
+            .comparingLong((Slot slot) -> slot.count)
+            .thenComparingLong(slot -> slot.seq);
+
+    private final int capacity;
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final TreeSet<Slot> byCount = new TreeSet<>(BY_COUNT);
+    private long nextSeq;
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public void offer(String key) {
+        total++;
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            // TreeSet 안에서 정렬 키를 바꾸지 않도록 뺐다가 다시 넣는다
+            byCount.remove(slot);
+            slot.count++;
+            byCount.add(slot);
+            return;
+        }
+        long count = 1;
+        long error = 0;
+        if (slots.size() >= capacity) {
+            Slot evicted = byCount.pollFirst();
+            slots.remove(evicted.key);
+            count = evicted.count + 1;
+            error = evicted.count;
+        }
+        slot = new Slot(key, nextSeq++, count, error);
+        slots.put(key, slot);
+        byCount.add(slot);
+    }
+
+    // 빈도 높은 순
+    public List<Counter> top(int limit) {
+        List<Counter> top = new ArrayList<>(Math.min(limit, slots.size()));
+        Iterator<Slot> iterator = byCount.descendingIterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            Slot slot = iterator.next();
+            top.add(new Counter(slot.key, slot.count, slot.error));
+        }
+        return top;
+    }
+
+    // 모든 빈도를 절반으로. 0이 된 항목은 빠진다
+    public void halve() {
+        List<Slot> kept = new ArrayList<>(slots.size());
+        for (Slot slot : byCount) {
+            slot.count /= 2;
+            slot.error /= 2;
+            if (slot.count > 0) {
+                kept.add(slot);
+            } else {
+                slots.remove(slot.key);
+            }
+        }
+        // 나눈 뒤 같은 count가 생기면 순서가 바뀔 수 있어 다시 정렬한다
+        byCount.clear();
+        byCount.addAll(kept);
+        total /= 2;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
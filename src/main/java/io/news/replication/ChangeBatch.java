@@ -0,0 +1,7 @@
+package io.news.replication;
+
+import java.util.List;
+
+// GET /internal/replication/changes 응답. snapshotRequired면 요청한 위치가 로그에서 밀려났거나 epoch가 달라 스냅샷이 필요하다
+public record ChangeBatch(String origin, String epoch, long head, boolean snapshotRequired, List<ChangeEntry> entries) {
+}
@@ -0,0 +1,15 @@
+package io.news.replication;
+
+import io.news.document.NewsDocument;
+
+// 변경 스트림의 한 항목. PUT은 문서 upsert, DELETE는 newsId 기사 삭제, CLEAR는 전체 삭제 (document 없음)
+public record ChangeEntry(long seq, Op op, NewsDocument document, Long newsId) {
+
+    public enum Op {
+        PUT, DELETE, CLEAR
+    }
+
+    public static ChangeEntry put(long seq, NewsDocument document) {
+        return new ChangeEntry(seq, Op.PUT, document, null);
+    }
+}
@@ -0,0 +1,138 @@
+package io.news.replication;
+
+import io.news.cluster.FeedCoordinator;
+import io.news.config.ReplicationProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.NewsItem;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 이 인스턴스에서 직접 일어난 InMemory 저장소 변경의 순서 있는 스트림 (피어에서 받아 적용한 변경은 담지 않는다).
+// 최근 logCapacity개만 원형 버퍼에 두며, 시퀀스는 기동마다 새 epoch에서 1부터 다시 시작한다.
+@Component
+public class ChangeLog {
+
+    private final boolean enabled;
+    private final String origin;
+    private final String epoch = UUID.randomUUID().toString();
+    private final ChangeEntry[] ring;
+    // 피어의 long polling 요청이 기다리는 동안 캐리어 스레드를 붙잡지 않도록 ReentrantLock + Condition
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long head = 0;
+
+    public ChangeLog(ReplicationProperties properties, FeedCoordinator feedCoordinator) {
+        this.enabled = properties.isEnabled();
+        this.origin = feedCoordinator.getNodeId();
+        this.ring = new ChangeEntry[enabled ? properties.getLogCapacity() : 0];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long head() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void appendPuts(Collection<NewsItem> newsItems) {
+        if (!enabled || newsItems.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (NewsItem newsItem : newsItems) {
+                append(ChangeEntry.put(head + 1, NewsDocument.from(newsItem)));
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 보존 기간 만료 등 이 인스턴스에서 지운 기사
+    public void appendDeletes(long[] newsIds) {
+        if (!enabled || newsIds.length == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (long newsId : newsIds) {
+                append(new ChangeEntry(head + 1, ChangeEntry.Op.DELETE, null, newsId));
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void appendClear() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            append(new ChangeEntry(head + 1, ChangeEntry.Op.CLEAR, null, null));
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(ChangeEntry entry) {
+        head++;
+        ring[(int) (head % ring.length)] = entry;
+    }
+
+    // after 다음부터 최대 limit개. 새 변경이 없으면 waitMs까지 기다린다
+    public ChangeBatch read(String expectedEpoch, long after, int limit, long waitMs) throws InterruptedException {
+        lock.lock();
+        try {
+            long oldest = Math.max(1, head - ring.length + 1);
+            boolean snapshotRequired = (expectedEpoch != null && !expectedEpoch.equals(epoch))
+                    || after > head
+                    || (after + 1 < oldest && after < head);
+            if (snapshotRequired) {
+                return new ChangeBatch(origin, epoch, head, true, List.of());
+            }
+
+            long remaining = TimeUnit.MILLISECONDS.toNanos(waitMs);
+            while (head <= after && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            // 기다리는 동안 원형 버퍼가 한 바퀴 넘게 돌았으면 스냅샷으로
+            if (after + 1 < Math.max(1, head - ring.length + 1)) {
+                return new ChangeBatch(origin, epoch, head, true, List.of());
+            }
+
+            long end = Math.min(head, after + limit);
+            List<ChangeEntry> entries = new ArrayList<>((int) Math.max(0, end - after));
+            for (long seq = after + 1; seq <= end; seq++) {
+                entries.add(ring[(int) (seq % ring.length)]);
+            }
+            return new ChangeBatch(origin, epoch, head, false, entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
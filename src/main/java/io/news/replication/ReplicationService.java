@@ -0,0 +1,246 @@
+package io.news.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.news.config.BlockingExecutors;
+import io.news.config.ReplicationProperties;
+import io.news.event.NewsIngestedEvent;
+import io.news.event.NewsRemovedEvent;
+import io.news.repository.InMemoryNewsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+// 피어마다 변경 스트림을 long polling으로 따라가며 InMemory 저장소에 적용한다.
+// 처음 붙거나, 피어가 재시작해 epoch가 바뀌었거나, 변경 로그 보관 범위보다 뒤처지면 스냅샷으로 따라잡은 뒤 그 시퀀스부터 이어 받는다.
+// 스냅샷은 그 피어가 출처인 기사만 바꾸므로(놓친 삭제도 반영) 다른 피어에서 받은 기사는 건드리지 않는다.
+// 모든 피어에 한 번씩 따라잡기를 시도하기 전에는 자기 스냅샷을 내주지 않는다 (재시작 직후의 빈 상태가 피어의 기사를 지우지 않도록)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplicationService {
+
+    private final ReplicationProperties properties;
+    private final ChangeLog changeLog;
+    private final InMemoryNewsRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingExecutors blockingExecutors;
+
+    private final Map<String, Peer> peers = new LinkedHashMap<>();
+    private HttpClient httpClient;
+    private ExecutorService executor;
+    private volatile boolean running;
+    private volatile boolean caughtUp;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled() || properties.getPeers().isEmpty()) {
+            caughtUp = true;
+            return;
+        }
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        executor = blockingExecutors.newExecutor("replication", properties.getPeers().size());
+        running = true;
+        for (String url : properties.getPeers()) {
+            Peer peer = new Peer(url.replaceAll("/+$", ""));
+            peers.put(peer.url, peer);
+            executor.execute(() -> follow(peer));
+        }
+        log.info("복제 시작: origin={}, epoch={}, 피어 {}", changeLog.getOrigin(), changeLog.getEpoch(), peers.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void follow(Peer peer) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (peer.epoch == null) {
+                    try {
+                        loadSnapshot(peer);
+                    } finally {
+                        markAttempted(peer);
+                    }
+                } else {
+                    pollChanges(peer);
+                }
+                if (peer.self) {
+                    return;
+                }
+                peer.lastError = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                if (peer.lastError == null) {
+                    log.warn("복제 피어 연결 실패: {} - {}", peer.url, error);
+                }
+                peer.lastError = error;
+                try {
+                    Thread.sleep(properties.getRetryIntervalMs());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loadSnapshot(Peer peer) throws IOException, InterruptedException {
+        Snapshot snapshot = get(peer.url + "/internal/replication/snapshot", Snapshot.class);
+        if (changeLog.getEpoch().equals(snapshot.epoch())) {
+            peer.self = true;
+            log.info("복제 피어 목록의 자기 자신 건너뜀: {}", peer.url);
+            return;
+        }
+        InMemoryNewsRepository.Replicated applied =
+                repository.applySnapshot(snapshot.origin(), snapshot.documents(), authoritativeOrigins(snapshot.origin()));
+        publish(applied);
+        peer.origin = snapshot.origin();
+        peer.epoch = snapshot.epoch();
+        peer.appliedSeq = snapshot.seq();
+        peer.head = snapshot.seq();
+        peer.snapshots++;
+        log.info("복제 스냅샷 적용: {} ({}) - {}건 중 {}건 반영, {}건 삭제, seq {}", peer.origin, peer.url,
+                snapshot.documents().size(), applied.saved().size(), applied.removed(), snapshot.seq());
+    }
+
+    // 변경 스트림을 직접 받고 있는 출처. 이 출처의 기사는 다른 피어의 스냅샷으로 채우지 않는다
+    private Set<String> authoritativeOrigins(String snapshotOrigin) {
+        Set<String> origins = new HashSet<>();
+        for (Peer peer : peers.values()) {
+            if (!peer.self && peer.epoch != null && peer.origin != null && !peer.origin.equals(snapshotOrigin)) {
+                origins.add(peer.origin);
+            }
+        }
+        if (caughtUp) {
+            origins.add(changeLog.getOrigin());
+        }
+        return origins;
+    }
+
+    private void markAttempted(Peer peer) {
+        if (caughtUp || peer.attempted) {
+            return;
+        }
+        peer.attempted = true;
+        if (peers.values().stream().allMatch(p -> p.attempted)) {
+            caughtUp = true;
+            log.info("복제 따라잡기 완료 - 스냅샷 제공 시작");
+        }
+    }
+
+    // 모든 피어에 한 번씩 스냅샷을 시도했는지 (응답하지 않거나 아직 준비 중인 피어는 시도한 것으로 본다)
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    private void pollChanges(Peer peer) throws IOException, InterruptedException {
+        ChangeBatch batch = get(peer.url + "/internal/replication/changes?epoch=" + peer.epoch
+                + "&after=" + peer.appliedSeq
+                + "&limit=" + properties.getBatchSize()
+                + "&waitMs=" + properties.getPollWaitMs(), ChangeBatch.class);
+        peer.head = batch.head();
+        if (batch.snapshotRequired()) {
+            log.info("복제 피어 {} 재동기화 필요 (epoch {} -> {}, seq {} / head {}) - 스냅샷 요청",
+                    peer.url, peer.epoch, batch.epoch(), peer.appliedSeq, batch.head());
+            peer.epoch = null;
+            return;
+        }
+        if (!batch.entries().isEmpty()) {
+            InMemoryNewsRepository.Replicated applied = repository.applyReplicated(batch.origin(), batch.entries());
+            peer.appliedSeq = batch.entries().get(batch.entries().size() - 1).seq();
+            peer.appliedChanges += batch.entries().size();
+            publish(applied);
+        }
+    }
+
+    // ETag 세대, 예열/facet 캐시, SSE, 썸네일 프리페치가 직접 수집·삭제한 것과 같이 반응하도록
+    private void publish(InMemoryNewsRepository.Replicated applied) {
+        if (applied.cleared() || applied.removed() > 0) {
+            eventPublisher.publishEvent(new NewsRemovedEvent("replication", applied.removed()));
+        }
+        if (!applied.saved().isEmpty()) {
+            eventPublisher.publishEvent(new NewsIngestedEvent(applied.saved()));
+        }
+    }
+
+    private <T> T get(String url, Class<T> type) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(properties.getPollWaitMs() + properties.getRequestTimeoutMs()))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), type);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", changeLog.isEnabled());
+        if (!changeLog.isEnabled()) {
+            return status;
+        }
+        status.put("origin", changeLog.getOrigin());
+        status.put("epoch", changeLog.getEpoch());
+        status.put("head", changeLog.head());
+        status.put("caughtUp", caughtUp);
+        Map<String, Object> peerStatus = new LinkedHashMap<>();
+        for (Peer peer : peers.values()) {
+            if (peer.self) continue;
+            Map<String, Object> p = new LinkedHashMap<>();
+            p.put("origin", peer.origin);
+            p.put("appliedSeq", peer.appliedSeq);
+            p.put("lag", Math.max(0, peer.head - peer.appliedSeq));
+            p.put("appliedChanges", peer.appliedChanges);
+            p.put("snapshots", peer.snapshots);
+            p.put("error", peer.lastError);
+            peerStatus.put(peer.url, p);
+        }
+        status.put("peers", peerStatus);
+        return status;
+    }
+
+    private static class Peer {
+        final String url;
+        volatile String origin;
+        volatile String epoch;
+        volatile long appliedSeq;
+        volatile long head;
+        volatile long appliedChanges;
+        volatile long snapshots;
+        volatile String lastError;
+        volatile boolean self;
+        volatile boolean attempted;
+
+        Peer(String url) {
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.news.replication;
+
+import io.news.document.NewsDocument;
+
+import java.util.List;
+
+// GET /internal/replication/snapshot 응답. seq까지의 변경은 모두 documents에 반영되어 있다.
+// 문서마다 처음 수집한 인스턴스(origin)를 함께 보내, 받는 쪽은 보낸 피어가 출처인 문서만 바꾼다
+public record Snapshot(String origin, String epoch, long seq, List<Entry> documents) {
+
+    public record Entry(String origin, NewsDocument document) {
+    }
+}
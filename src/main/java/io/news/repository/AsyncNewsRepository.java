@@ -0,0 +1,21 @@
+package io.news.repository;
+
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncNewsRepository {
+
+    CompletableFuture<List<NewsItem>> findAllAsync(int page, int size);
+
+    CompletableFuture<List<NewsItem>> findByKeywordAsync(String keyword, int page, int size);
+
+    CompletableFuture<Integer> countByKeywordAsync(String keyword);
+
+    CompletableFuture<FacetedHits> findWithFacetsAsync(String keyword, int page, int size, Facets.Query facetQuery);
+
+    CompletableFuture<Integer> countAsync();
+}
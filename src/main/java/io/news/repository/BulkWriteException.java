@@ -0,0 +1,20 @@
+package io.news.repository;
+
+import io.news.dto.NewsItem;
+
+import java.util.List;
+
+// ES bulk 저장 중 다시 보내면 성공할 수 있는 항목(429, 5xx)이 실패했을 때. 저널 재전송은 이 항목만 되돌려 둔다
+class BulkWriteException extends RuntimeException {
+
+    private final List<NewsItem> failed;
+
+    BulkWriteException(List<NewsItem> failed, String reason) {
+        super("ES bulk 저장 실패 " + failed.size() + "건: " + reason);
+        this.failed = failed;
+    }
+
+    List<NewsItem> getFailed() {
+        return failed;
+    }
+}
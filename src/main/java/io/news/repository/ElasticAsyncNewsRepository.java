@@ -0,0 +1,138 @@
+package io.news.repository;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import io.micrometer.observation.Observation;
+import io.news.config.DedupProperties;
+import io.news.config.ElasticsearchProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+import io.news.trace.RequestTracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * ElasticsearchAsyncClient 기반 비동기 조회 저장소.
+ * 요청 스레드는 ES 응답을 기다리지 않고, 결과는 HTTP 클라이언트 I/O 스레드에서 완료된다.
+ * 인덱스 생성과 쓰기는 {@link ElasticNewsRepository}가 담당한다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnBean(ElasticsearchAsyncClient.class)
+public class ElasticAsyncNewsRepository implements AsyncNewsRepository {
+
+    private final ElasticsearchAsyncClient client;
+    private final ElasticsearchProperties properties;
+    private final DedupProperties dedupProperties;
+    private final RequestTracer requestTracer;
+
+    @Override
+    public CompletableFuture<List<NewsItem>> findAllAsync(int page, int size) {
+        // 응답은 I/O 스레드에서 오므로 span은 호출 스레드에서 잡아 둔다
+        Observation span = requestTracer.current();
+        return client.search(s -> s
+                                .index(properties.getIndexName())
+                                .query(ElasticNewsRepository.readQuery(null, dedupProperties.isEnabled()))
+                                .from(page * size)
+                                .size(size)
+                                .sort(sort -> sort.field(f -> f.field("publishedAt").order(SortOrder.Desc))),
+                        NewsDocument.class)
+                .thenApply(response -> {
+                    ElasticNewsRepository.traceResponse(span, response);
+                    return toNewsItems(response);
+                })
+                .exceptionally(e -> {
+                    log.error("ES 비동기 조회 실패: {}", e.getMessage());
+                    throw new CompletionException("ES 조회 실패", e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<NewsItem>> findByKeywordAsync(String keyword, int page, int size) {
+        Query multiMatch = ElasticNewsRepository.readQuery(keyword, dedupProperties.isEnabled());
+        Observation span = requestTracer.current();
+
+        return client.search(s -> s
+                                .index(properties.getIndexName())
+                                .query(multiMatch)
+                                .from(page * size)
+                                .size(size)
+                                .sort(sort -> sort.score(sc -> sc.order(SortOrder.Desc)))
+                                .sort(sort -> sort.field(f -> f.field("publishedAt").order(SortOrder.Desc))),
+                        NewsDocument.class)
+                .thenApply(response -> {
+                    ElasticNewsRepository.traceResponse(span, response);
+                    return toNewsItems(response);
+                })
+                .exceptionally(e -> {
+                    log.error("ES 비동기 검색 실패: {}", e.getMessage());
+                    throw new CompletionException("ES 검색 실패", e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Integer> countByKeywordAsync(String keyword) {
+        Query multiMatch = ElasticNewsRepository.readQuery(keyword, dedupProperties.isEnabled());
+        Observation span = requestTracer.current();
+
+        return client.count(c -> c
+                        .index(properties.getIndexName())
+                        .query(multiMatch))
+                .thenApply(response -> {
+                    RequestTracer.tag(span, "es.count", response.count());
+                    return (int) response.count();
+                })
+                .exceptionally(e -> {
+                    log.error("ES 비동기 카운트 실패: {}", e.getMessage());
+                    return 0;
+                });
+    }
+
+    @Override
+    public CompletableFuture<FacetedHits> findWithFacetsAsync(String keyword, int page, int size,
+                                                              Facets.Query facetQuery) {
+        Observation span = requestTracer.current();
+
+        return client.search(ElasticNewsRepository.facetedSearch(properties.getIndexName(), keyword, page, size,
+                        facetQuery, dedupProperties.isEnabled()), NewsDocument.class)
+                .thenApply(response -> {
+                    ElasticNewsRepository.traceResponse(span, response);
+                    return ElasticNewsRepository.toFacetedHits(response, facetQuery);
+                })
+                .exceptionally(e -> {
+                    log.error("ES 비동기 facet 조회 실패: {}", e.getMessage());
+                    throw new CompletionException("ES 조회 실패", e);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Integer> countAsync() {
+        return client.count(c -> c.index(properties.getIndexName()))
+                .thenApply(response -> (int) response.count())
+                .exceptionally(e -> {
+                    log.error("ES 비동기 count 실패: {}", e.getMessage());
+                    return 0;
+                });
+    }
+
+    private List<NewsItem> toNewsItems(SearchResponse<NewsDocument> response) {
+        return response.hits().hits().stream()
+                .map(Hit::source)
+                .filter(Objects::nonNull)
+                .map(NewsDocument::toNewsItem)
+                .toList();
+    }
+}
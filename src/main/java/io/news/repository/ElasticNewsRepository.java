@@ -1,24 +1,44 @@
 package io.news.repository;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
+import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.MatchAllQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
+import co.elastic.clients.json.JsonData;
+import io.micrometer.observation.Observation;
+import io.news.config.DedupProperties;
 import io.news.config.ElasticsearchProperties;
 import io.news.document.NewsDocument;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
 import io.news.dto.NewsItem;
+import io.news.trace.RequestTracer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -29,6 +49,8 @@ public class ElasticNewsRepository implements NewsRepository {
 
     private final ElasticsearchClient client;
     private final ElasticsearchProperties properties;
+    private final DedupProperties dedupProperties;
+    private final RequestTracer requestTracer;
 
     @PostConstruct
     public void init() {
@@ -51,6 +73,7 @@ public class ElasticNewsRepository implements NewsRepository {
                                 .properties("publishedAt", p -> p.date(d -> d.format("yyyy-MM-dd'T'HH:mm:ss")))
                                 .properties("url", p -> p.keyword(k -> k))
                                 .properties("imageUrl", p -> p.keyword(k -> k))
+                                .properties("clusterId", p -> p.keyword(k -> k))
                         )
                 ));
                 log.info("Elasticsearch 인덱스 생성 완료: {}", indexName);
@@ -62,6 +85,14 @@ public class ElasticNewsRepository implements NewsRepository {
         }
     }
 
+    public boolean ping() {
+        try {
+            return client.ping().value();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public void saveAll(List<NewsItem> newsItems) {
         if (newsItems.isEmpty()) return;
@@ -83,16 +114,43 @@ public class ElasticNewsRepository implements NewsRepository {
             BulkResponse response = client.bulk(BulkRequest.of(b -> b.operations(operations)));
 
             if (response.errors()) {
-                log.error("Bulk 저장 중 일부 오류 발생");
+                throwRetryableFailures(newsItems, response.items());
             } else {
                 log.info("ES 저장 완료: {}건", newsItems.size());
             }
+        } catch (BulkWriteException e) {
+            throw e;
         } catch (Exception e) {
             log.error("ES 저장 실패: {}", e.getMessage());
             throw new RuntimeException("ES 저장 실패", e);
         }
     }
 
+    // 응답 항목은 요청 순서와 같다. 다시 보내도 실패할 항목(매핑 오류 등 4xx)은 로그만 남기고 버리고,
+    // 429/5xx 항목은 예외로 돌려 호출자(fallback 저널, 저널 재전송)가 보관하게 한다
+    private static void throwRetryableFailures(List<NewsItem> newsItems, List<BulkResponseItem> items) {
+        List<NewsItem> retryable = new ArrayList<>();
+        String reason = null;
+        int rejected = 0;
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() == null) {
+                continue;
+            }
+            if (item.status() == 429 || item.status() >= 500) {
+                retryable.add(newsItems.get(i));
+                reason = item.error().reason();
+            } else {
+                rejected++;
+                log.warn("ES 저장 거부 ({}): {} - {}", item.status(), newsItems.get(i).getUrl(), item.error().reason());
+            }
+        }
+        if (!retryable.isEmpty()) {
+            throw new BulkWriteException(retryable, reason);
+        }
+        log.error("ES 저장 중 {}건 거부됨 (전체 {}건)", rejected, newsItems.size());
+    }
+
     @Override
     public void save(NewsItem newsItem) {
         try {
@@ -116,20 +174,16 @@ public class ElasticNewsRepository implements NewsRepository {
     @Override
     public List<NewsItem> findAll(int page, int size) {
         try {
-            log.info("[ES Query] findAll - index: {}, from: {}, size: {}, sort: publishedAt DESC",
-                    properties.getIndexName(), page * size, size);
-
             SearchResponse<NewsDocument> response = client.search(s -> s
                             .index(properties.getIndexName())
+                            .query(readQuery(null, dedupProperties.isEnabled()))
                             .from(page * size)
                             .size(size)
                             .sort(sort -> sort.field(f -> f.field("publishedAt").order(SortOrder.Desc))),
                     NewsDocument.class
             );
 
-            log.info("[ES Result] findAll - hits: {}, total: {}",
-                    response.hits().hits().size(),
-                    response.hits().total() != null ? response.hits().total().value() : "unknown");
+            traceResponse(requestTracer.current(), response);
 
             return response.hits().hits().stream()
                     .map(Hit::source)
@@ -138,7 +192,36 @@ public class ElasticNewsRepository implements NewsRepository {
                     .toList();
         } catch (Exception e) {
             log.error("ES 조회 실패: {}", e.getMessage());
-            throw new RuntimeException("ES 조회 실패", e);
+            throw new StorageUnavailableException("ES 조회 실패", e);
+        }
+    }
+
+    // search_after 커서. NewsItem ID는 문서 ID(hex) 앞 15자리이므로 그 접두사로 id 정렬 위치를 복원한다
+    @Override
+    public List<NewsItem> findAllBefore(LocalDateTime publishedAt, Long id, int size) {
+        try {
+            long publishedAtMillis = publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+            String idPrefix = String.format("%015x", id);
+
+            SearchResponse<NewsDocument> response = client.search(s -> s
+                            .index(properties.getIndexName())
+                            .query(readQuery(null, dedupProperties.isEnabled()))
+                            .size(size)
+                            .sort(sort -> sort.field(f -> f.field("publishedAt").order(SortOrder.Desc)))
+                            .sort(sort -> sort.field(f -> f.field("id").order(SortOrder.Desc)))
+                            .searchAfter(FieldValue.of(publishedAtMillis), FieldValue.of(idPrefix)),
+                    NewsDocument.class
+            );
+            traceResponse(requestTracer.current(), response);
+
+            return response.hits().hits().stream()
+                    .map(Hit::source)
+                    .filter(doc -> doc != null)
+                    .map(NewsDocument::toNewsItem)
+                    .toList();
+        } catch (Exception e) {
+            log.error("ES 커서 조회 실패: {}", e.getMessage());
+            throw new StorageUnavailableException("ES 조회 실패", e);
         }
     }
 
@@ -150,13 +233,7 @@ public class ElasticNewsRepository implements NewsRepository {
     @Override
     public List<NewsItem> findByKeyword(String keyword, int page, int size) {
         try {
-            log.info("[ES Query] search - index: {}, query: multi_match(title^2, summary) = '{}', from: {}, size: {}, sort: [_score DESC, publishedAt DESC]",
-                    properties.getIndexName(), keyword, page * size, size);
-
-            Query multiMatch = MultiMatchQuery.of(m -> m
-                    .query(keyword)
-                    .fields("title^2", "summary")
-            )._toQuery();
+            Query multiMatch = readQuery(keyword, dedupProperties.isEnabled());
 
             SearchResponse<NewsDocument> response = client.search(s -> s
                             .index(properties.getIndexName())
@@ -168,9 +245,7 @@ public class ElasticNewsRepository implements NewsRepository {
                     NewsDocument.class
             );
 
-            log.info("[ES Result] search - keyword: '{}', hits: {}, total: {}",
-                    keyword, response.hits().hits().size(),
-                    response.hits().total() != null ? response.hits().total().value() : "unknown");
+            traceResponse(requestTracer.current(), response);
 
             return response.hits().hits().stream()
                     .map(Hit::source)
@@ -179,22 +254,20 @@ public class ElasticNewsRepository implements NewsRepository {
                     .toList();
         } catch (Exception e) {
             log.error("ES 검색 실패: {}", e.getMessage());
-            throw new RuntimeException("ES 검색 실패", e);
+            throw new StorageUnavailableException("ES 검색 실패", e);
         }
     }
 
     @Override
     public int countByKeyword(String keyword) {
         try {
-            Query multiMatch = MultiMatchQuery.of(m -> m
-                    .query(keyword)
-                    .fields("title^2", "summary")
-            )._toQuery();
+            Query multiMatch = readQuery(keyword, dedupProperties.isEnabled());
 
             CountResponse response = client.count(c -> c
                     .index(properties.getIndexName())
                     .query(multiMatch)
             );
+            requestTracer.tag("es.count", response.count());
 
             return (int) response.count();
         } catch (Exception e) {
@@ -203,12 +276,27 @@ public class ElasticNewsRepository implements NewsRepository {
         }
     }
 
+    @Override
+    public FacetedHits findWithFacets(String keyword, int page, int size, Facets.Query facetQuery) {
+        try {
+            SearchRequest request = facetedSearch(properties.getIndexName(), keyword, page, size, facetQuery,
+                    dedupProperties.isEnabled());
+            SearchResponse<NewsDocument> response = client.search(request, NewsDocument.class);
+            traceResponse(requestTracer.current(), response);
+            return toFacetedHits(response, facetQuery);
+        } catch (Exception e) {
+            log.error("ES facet 조회 실패: {}", e.getMessage());
+            throw new StorageUnavailableException("ES 조회 실패", e);
+        }
+    }
+
     @Override
     public Optional<NewsItem> findById(Long id) {
         try {
             SearchResponse<NewsDocument> response = client.search(s -> s
                             .index(properties.getIndexName())
-                            .query(q -> q.term(t -> t.field("id").value(String.valueOf(id))))
+                            // NewsItem ID는 문서 ID(hex) 앞 15자리를 숫자로 바꾼 값
+                            .query(q -> q.prefix(p -> p.field("id").value(String.format("%015x", id))))
                             .size(1),
                     NewsDocument.class
             );
@@ -234,9 +322,112 @@ public class ElasticNewsRepository implements NewsRepository {
             log.info("ES 인덱스 데이터 삭제 완료");
         } catch (Exception e) {
             log.error("ES clear 실패: {}", e.getMessage());
+            throw new RuntimeException("ES 삭제 실패", e);
+        }
+    }
+
+    // 보존 기간이 지난 기사 삭제. 지운 건수
+    public long deleteOlderThan(LocalDateTime cutoff) {
+        try {
+            String before = cutoff.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+            DeleteByQueryResponse response = client.deleteByQuery(d -> d
+                    .index(properties.getIndexName())
+                    .query(q -> q.range(r -> r.field("publishedAt").lt(JsonData.of(before))))
+            );
+            return response.deleted() != null ? response.deleted() : 0;
+        } catch (Exception e) {
+            log.error("ES 만료 삭제 실패: {}", e.getMessage());
+            throw new RuntimeException("ES 만료 삭제 실패", e);
+        }
+    }
+
+    // ES가 보고한 처리 시간(took)과 결과 수를 span에 남긴다 (조회마다 INFO 로그를 찍는 대신 느린 요청 로그에서 확인)
+    static void traceResponse(Observation span, SearchResponse<?> response) {
+        RequestTracer.tag(span, "es.took", response.took() + "ms");
+        RequestTracer.tag(span, "hits", response.hits().hits().size());
+        if (response.hits().total() != null) {
+            RequestTracer.tag(span, "total", response.hits().total().value());
         }
     }
 
+    // 결과 페이지와 같은 요청에 매체별 terms, 시간대별 date_histogram 집계를 싣는다 (전체 건수도 hits.total로 받는다)
+    static SearchRequest facetedSearch(String index, String keyword, int page, int size, Facets.Query facetQuery,
+                                       boolean collapse) {
+        return SearchRequest.of(s -> {
+            s.index(index)
+                    .query(readQuery(keyword, collapse))
+                    .from(page * size)
+                    .size(size)
+                    .trackTotalHits(t -> t.enabled(true));
+            if (keyword != null) {
+                s.sort(sort -> sort.score(sc -> sc.order(SortOrder.Desc)));
+            }
+            s.sort(sort -> sort.field(f -> f.field("publishedAt").order(SortOrder.Desc)));
+            if (facetQuery != null) {
+                // publishedAt은 시간대 없이 저장되므로 UTC로 해석된 값 그대로 경계를 준다
+                double since = facetQuery.since().toInstant(ZoneOffset.UTC).toEpochMilli();
+                double until = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                        .toInstant(ZoneOffset.UTC).toEpochMilli() - 1;
+                s.aggregations("publishers", a -> a.terms(t -> t
+                        .field("publisher")
+                        .size(facetQuery.publisherLimit())));
+                s.aggregations("hours", a -> a.dateHistogram(h -> h
+                        .field("publishedAt")
+                        .calendarInterval(CalendarInterval.Hour)
+                        .minDocCount(1)
+                        .hardBounds(b -> b
+                                .min(FieldDateMath.of(f -> f.value(since)))
+                                .max(FieldDateMath.of(f -> f.value(until))))));
+            }
+            return s;
+        });
+    }
+
+    static FacetedHits toFacetedHits(SearchResponse<NewsDocument> response, Facets.Query facetQuery) {
+        List<NewsItem> items = response.hits().hits().stream()
+                .map(Hit::source)
+                .filter(doc -> doc != null)
+                .map(NewsDocument::toNewsItem)
+                .toList();
+        int total = response.hits().total() != null ? (int) response.hits().total().value() : items.size();
+        if (facetQuery == null) {
+            return new FacetedHits(items, total, Facets.EMPTY);
+        }
+
+        Map<String, Long> publishers = new HashMap<>();
+        Aggregate publisherAggregate = response.aggregations().get("publishers");
+        if (publisherAggregate != null && publisherAggregate.isSterms()) {
+            publisherAggregate.sterms().buckets().array()
+                    .forEach(bucket -> publishers.put(bucket.key().stringValue(), bucket.docCount()));
+        }
+        Map<LocalDateTime, Long> hours = new HashMap<>();
+        Aggregate hourAggregate = response.aggregations().get("hours");
+        if (hourAggregate != null && hourAggregate.isDateHistogram()) {
+            hourAggregate.dateHistogram().buckets().array()
+                    .forEach(bucket -> hours.put(Facets.hourOf(bucket.key() / 1000), bucket.docCount()));
+        }
+        return new FacetedHits(items, total, Facets.of(publishers, hours, facetQuery));
+    }
+
+    // 목록/검색 질의 (keyword가 null이면 전체). 중복 묶기가 켜져 있으면 clusterId가 있는 클러스터 구성원을 뺀다
+    static Query readQuery(String keyword, boolean collapse) {
+        Query match = keyword != null ? keywordQuery(keyword) : MatchAllQuery.of(m -> m)._toQuery();
+        if (!collapse) {
+            return match;
+        }
+        return BoolQuery.of(b -> b
+                .must(match)
+                .mustNot(n -> n.exists(e -> e.field("clusterId")))
+        )._toQuery();
+    }
+
+    static Query keywordQuery(String keyword) {
+        return MultiMatchQuery.of(m -> m
+                .query(keyword)
+                .fields("title^2", "summary")
+        )._toQuery();
+    }
+
     @Override
     public int count() {
         try {
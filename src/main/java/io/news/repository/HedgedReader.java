@@ -0,0 +1,120 @@
+package io.news.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.observation.Observation;
+import io.news.config.ElasticsearchProperties;
+import io.news.trace.RequestTracer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// ES 응답이 지연 예산(최근 p95)을 넘기면 같은 조회를 InMemory 미러에 한 번 더 보내고 먼저 끝난 쪽을 쓴다.
+@Slf4j
+class HedgedReader {
+
+    private final MeterRegistry registry;
+    private final ElasticsearchProperties.Hedge properties;
+    private final Executor executor;
+    private final RequestTracer requestTracer;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    HedgedReader(MeterRegistry registry, ElasticsearchProperties.Hedge properties, Executor executor,
+                 RequestTracer requestTracer) {
+        this.registry = registry;
+        this.properties = properties;
+        this.executor = executor;
+        this.requestTracer = requestTracer;
+    }
+
+    <T> T hedge(String operation, Supplier<T> primary, Supplier<T> mirror) {
+        Observation span = requestTracer.current();
+        return hedgeAsync(operation,
+                () -> CompletableFuture.supplyAsync(() -> requestTracer.inScope(span, primary), executor),
+                mirror).join();
+    }
+
+    <T> CompletableFuture<T> hedgeAsync(String operation, Supplier<CompletableFuture<T>> primary, Supplier<T> mirror) {
+        Meters m = meters.computeIfAbsent(operation, this::register);
+        m.requests.increment();
+
+        long budgetMs = budgetMs(m.latency);
+        long start = System.nanoTime();
+        Observation span = requestTracer.current();
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        CompletableFuture<T> primaryFuture;
+        try {
+            primaryFuture = primary.get();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        primaryFuture.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            m.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            result.complete(value);
+        });
+
+        CompletableFuture.delayedExecutor(budgetMs, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            m.hedges.increment();
+            RequestTracer.tag(span, "hedge", "fired after " + budgetMs + "ms");
+            try {
+                T value = mirror.get();
+                // 결과를 채우면 span이 바로 닫히므로 태그를 먼저 남긴다
+                if (!result.isDone()) {
+                    RequestTracer.tag(span, "hedge", "mirror won after " + budgetMs + "ms");
+                }
+                if (result.complete(value)) {
+                    m.wins.increment();
+                    log.debug("ES {} 지연 ({}ms 초과) - 미러 응답 사용", operation, budgetMs);
+                }
+            } catch (Exception e) {
+                log.debug("미러 {} 실패: {}", operation, e.getMessage());
+            }
+        });
+
+        return result;
+    }
+
+    private long budgetMs(Timer latency) {
+        if (latency.count() < properties.getMinSamples()) {
+            return properties.getInitialBudgetMs();
+        }
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == properties.getPercentile()) {
+                long budget = (long) value.value(TimeUnit.MILLISECONDS);
+                return Math.max(properties.getMinBudgetMs(), Math.min(properties.getMaxBudgetMs(), budget));
+            }
+        }
+        return properties.getInitialBudgetMs();
+    }
+
+    private Meters register(String operation) {
+        return new Meters(
+                Timer.builder("news.repository.es.latency")
+                        .tag("operation", operation)
+                        .publishPercentiles(properties.getPercentile())
+                        .register(registry),
+                Counter.builder("news.repository.hedge.requests").tag("operation", operation).register(registry),
+                Counter.builder("news.repository.hedge.fired").tag("operation", operation).register(registry),
+                Counter.builder("news.repository.hedge.wins").tag("operation", operation).register(registry)
+        );
+    }
+
+    private record Meters(Timer latency, Counter requests, Counter hedges, Counter wins) {
+    }
+}
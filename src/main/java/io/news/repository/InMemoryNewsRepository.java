@@ -1,31 +1,256 @@
 package io.news.repository;
 
+import io.news.config.DedupProperties;
+import io.news.config.LuceneProperties;
+import io.news.config.StorageProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
 import io.news.dto.NewsItem;
+import io.news.replication.ChangeEntry;
+import io.news.replication.ChangeLog;
+import io.news.replication.Snapshot;
+import io.news.storage.CompactNewsStore;
+import io.news.storage.NewsStore;
+import io.news.storage.ObjectNewsStore;
+import io.news.storage.SegmentLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
-import java.util.Comparator;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+@Slf4j
 @Repository
 public class InMemoryNewsRepository implements NewsRepository {
 
-    private final Map<Long, NewsItem> storage = new ConcurrentHashMap<>();
+    private final StorageProperties storageProperties;
+    private final LuceneProperties luceneProperties;
+    private final ChangeLog changeLog;
+    private final NewsStore store;
     private final AtomicLong idGenerator = new AtomicLong(1);
+    // 복제 중일 때 기사 ID → 처음 수집한 인스턴스(origin). 피어 스냅샷은 그 피어가 출처인 기사만 바꾼다
+    private final Map<Long, String> origins = new ConcurrentHashMap<>();
+    private final Map<String, String> originNames = new ConcurrentHashMap<>();
+    private SegmentLog segmentLog;
+
+    public InMemoryNewsRepository(StorageProperties storageProperties, LuceneProperties luceneProperties,
+                                  DedupProperties dedupProperties, ChangeLog changeLog) {
+        this.storageProperties = storageProperties;
+        this.luceneProperties = luceneProperties;
+        this.changeLog = changeLog;
+        long bucketSeconds = storageProperties.getBucketMinutes() * 60L;
+        // 근접 중복으로 묶인 기사도 저장은 하고, 중복 묶기가 켜져 있을 때만 조회에서 접는다
+        boolean collapse = dedupProperties.isEnabled();
+        if ("compact".equalsIgnoreCase(storageProperties.getLayout())) {
+            StorageProperties.Compact compact = storageProperties.getCompact();
+            this.store = new CompactNewsStore(bucketSeconds, compact.getChunkSizeBytes(), compact.isOffHeap(),
+                    collapse);
+            log.info("InMemory 저장소 compact 배치 사용 (off-heap: {})", compact.isOffHeap());
+        } else {
+            this.store = new ObjectNewsStore(bucketSeconds, collapse);
+        }
+    }
+
+    // 세그먼트 로그를 재생해 재시작 전 상태를 복원한다 (네트워크 수집 없이 바로 실데이터 제공)
+    @PostConstruct
+    public void recover() {
+        if (!storageProperties.isEnabled()) {
+            return;
+        }
+        // Lucene이 켜져 있으면 라우터가 Lucene을 로컬 저장소로 쓰므로, 예전 로그를 메모리에 올리거나 이어 쓰지 않는다
+        if (luceneProperties.isEnabled()) {
+            log.info("Lucene 저장소 사용 중 - InMemory 세그먼트 로그를 열지 않음");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        SegmentLog segments = new SegmentLog(Path.of(storageProperties.getPath()), storageProperties.getSegmentSizeBytes());
+        try {
+            segments.open(new SegmentLog.Visitor() {
+                @Override
+                public void put(NewsItem newsItem, String origin) {
+                    track(apply(newsItem), origin);
+                }
+
+                @Override
+                public void clear() {
+                    clearState();
+                }
+            });
+            segmentLog = segments;
+            log.info("세그먼트 로그 복원 완료: {}건 ({}ms)",
+                    store.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("세그먼트 로그 복원 실패 - 영속화 없이 동작: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (segmentLog != null) {
+            try {
+                segmentLog.close();
+            } catch (Exception e) {
+                log.warn("세그먼트 로그 닫기 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 로그 레코드가 살아 있는 항목 수의 일정 배수를 넘으면 스냅샷으로 교체
+    @Scheduled(fixedDelayString = "${news.storage.compaction-interval-ms:600000}")
+    public void compact() {
+        if (segmentLog == null
+                || segmentLog.getRecordCount() <= store.size() * storageProperties.getCompactionRatio()) {
+            return;
+        }
+        try {
+            long snapshotSequence = segmentLog.beginCompaction();
+            segmentLog.completeCompaction(snapshotSequence, store.snapshot(), item -> origins.get(item.getId()));
+        } catch (Exception e) {
+            log.error("세그먼트 로그 컴팩션 실패: {}", e.getMessage());
+        }
+    }
 
     @Override
     public void saveAll(List<NewsItem> newsItems) {
-        newsItems.forEach(this::save);
+        List<NewsItem> saved = newsItems.stream().map(this::apply).toList();
+        String origin = localOrigin();
+        saved.forEach(item -> track(item, origin));
+        if (segmentLog != null) {
+            segmentLog.appendAll(saved, origin);
+        }
+        changeLog.appendPuts(saved);
     }
 
     @Override
     public void save(NewsItem newsItem) {
+        NewsItem saved = apply(newsItem);
+        String origin = localOrigin();
+        track(saved, origin);
+        if (segmentLog != null) {
+            segmentLog.appendPut(saved, origin);
+        }
+        changeLog.appendPuts(List.of(saved));
+    }
+
+    // 복제 적용 결과: 저장된 기사, 지운 기사 수, 전체 삭제 여부
+    public record Replicated(List<NewsItem> saved, int removed, boolean cleared) {
+    }
+
+    // 피어(origin)에서 받은 변경 적용. 로컬 영속화는 하되 변경 로그에는 다시 싣지 않는다 (피어끼리 되돌려 보내지 않도록).
+    // DELETE는 보존 기간 만료처럼 세그먼트 로그에 남기지 않는다 (재시작 후에는 스냅샷으로 다시 맞춘다)
+    public Replicated applyReplicated(String origin, List<ChangeEntry> changes) {
+        List<NewsItem> applied = new ArrayList<>();
+        List<NewsItem> pending = new ArrayList<>();
+        int removed = 0;
+        boolean cleared = false;
+        for (ChangeEntry change : changes) {
+            if (change.op() == ChangeEntry.Op.CLEAR) {
+                if (segmentLog != null) {
+                    segmentLog.appendAll(pending, origin);
+                    segmentLog.appendClear();
+                }
+                pending.clear();
+                applied.clear();
+                clearState();
+                cleared = true;
+            } else if (change.op() == ChangeEntry.Op.DELETE) {
+                origins.remove(change.newsId());
+                if (store.remove(change.newsId())) {
+                    removed++;
+                }
+            } else {
+                NewsItem saved = apply(change.document().toNewsItem());
+                track(saved, origin);
+                pending.add(saved);
+                applied.add(saved);
+            }
+        }
+        if (segmentLog != null) {
+            segmentLog.appendAll(pending, origin);
+        }
+        return new Replicated(applied, removed, cleared);
+    }
+
+    // 피어 스냅샷 적용. 로컬 상태를 비우지 않고 그 피어가 출처인 기사만 스냅샷 내용으로 바꾼다
+    // (다른 피어에서 받은 기사는 각 피어의 변경 스트림이 책임진다).
+    // 다른 출처의 기사는 authoritativeOrigins(따라가는 중인 피어, 따라잡기를 마친 뒤의 자기 자신)가 아닐 때만,
+    // 로컬에 없으면 채운다. 재시작으로 잃은 자기 기사나 사라진 인스턴스의 기사를 되찾기 위해서다
+    public Replicated applySnapshot(String origin, List<Snapshot.Entry> entries, Set<String> authoritativeOrigins) {
+        Map<String, List<NewsItem>> pending = new HashMap<>();
+        List<NewsItem> applied = new ArrayList<>();
+        Set<Long> kept = new HashSet<>();
+        for (Snapshot.Entry entry : entries) {
+            NewsItem item = entry.document().toNewsItem();
+            String entryOrigin = entry.origin();
+            if (origin.equals(entryOrigin)) {
+                kept.add(item.getId());
+            } else if ((entryOrigin != null && authoritativeOrigins.contains(entryOrigin))
+                    || store.get(item.getId()) != null) {
+                continue;
+            }
+            NewsItem saved = apply(item);
+            track(saved, entryOrigin);
+            pending.computeIfAbsent(entryOrigin, key -> new ArrayList<>()).add(saved);
+            applied.add(saved);
+        }
+        int removed = 0;
+        for (Map.Entry<Long, String> tracked : origins.entrySet()) {
+            if (tracked.getValue().equals(origin) && !kept.contains(tracked.getKey())) {
+                origins.remove(tracked.getKey());
+                if (store.remove(tracked.getKey())) {
+                    removed++;
+                }
+            }
+        }
+        if (segmentLog != null) {
+            pending.forEach((entryOrigin, items) -> segmentLog.appendAll(items, entryOrigin));
+        }
+        return new Replicated(applied, removed, false);
+    }
+
+    // 스냅샷 응답용: 모든 기사와 출처
+    public List<Snapshot.Entry> snapshotEntries() {
+        return store.page(0, Integer.MAX_VALUE).stream()
+                .map(item -> new Snapshot.Entry(origins.get(item.getId()), NewsDocument.from(item)))
+                .toList();
+    }
+
+    private String localOrigin() {
+        return changeLog.isEnabled() ? changeLog.getOrigin() : null;
+    }
+
+    // 출처 이름은 몇 개 안 되므로 기사마다 같은 문자열 인스턴스를 공유한다
+    private void track(NewsItem item, String origin) {
+        if (!changeLog.isEnabled() || origin == null) {
+            return;
+        }
+        origins.put(item.getId(), originNames.computeIfAbsent(origin, name -> name));
+    }
+
+    private NewsItem apply(NewsItem newsItem) {
+        // 복제 중에는 인스턴스마다 같은 기사가 같은 ID를 갖도록 URL 해시(ES 문서 ID와 동일)를 쓴다
+        if (changeLog.isEnabled() && newsItem.getId() == null && newsItem.getUrl() != null) {
+            newsItem = NewsDocument.from(newsItem).toNewsItem();
+        }
         Long id = newsItem.getId();
         if (id == null) {
-            id = idGenerator.getAndIncrement();
+            // 같은 URL은 기존 ID를 재사용해 덮어쓰기
+            String url = newsItem.getUrl();
+            Long existingId = url != null ? store.findIdByUrl(url) : null;
+            id = existingId != null ? existingId : idGenerator.getAndIncrement();
             newsItem = new NewsItem(
                     id,
                     newsItem.getTitle(),
@@ -33,62 +258,108 @@ public class InMemoryNewsRepository implements NewsRepository {
                     newsItem.getPublisher(),
                     newsItem.getPublishedAt(),
                     newsItem.getUrl(),
-                    newsItem.getThumbnailUrl()
+                    newsItem.getThumbnailUrl(),
+                    newsItem.getClusterId()
             );
+        } else {
+            long next = id + 1;
+            idGenerator.accumulateAndGet(next, Math::max);
         }
-        storage.put(id, newsItem);
+        // 같은 기사가 다른 ID로 다시 들어오면 이전 항목을 대체
+        store.put(newsItem);
+        return newsItem;
     }
 
     @Override
     public List<NewsItem> findAll() {
-        return storage.values().stream()
-                .sorted(Comparator.comparing(NewsItem::getPublishedAt).reversed())
-                .toList();
+        return store.page(0, Integer.MAX_VALUE);
     }
 
     @Override
     public List<NewsItem> findAll(int page, int size) {
-        return findAll().stream()
-                .skip((long) page * size)
-                .limit(size)
-                .toList();
+        return store.page((long) page * size, size);
+    }
+
+    @Override
+    public List<NewsItem> findAllBefore(LocalDateTime publishedAt, Long id, int size) {
+        return store.pageBefore(publishedAt, id, size);
     }
 
     @Override
     public List<NewsItem> findByKeyword(String keyword) {
-        String lowerKeyword = keyword.toLowerCase();
-        return findAll().stream()
-                .filter(news -> news.getTitle().toLowerCase().contains(lowerKeyword)
-                        || news.getSummary().toLowerCase().contains(lowerKeyword))
-                .toList();
+        return store.search(keyword.toLowerCase(), 0, Integer.MAX_VALUE);
     }
 
     @Override
     public List<NewsItem> findByKeyword(String keyword, int page, int size) {
-        return findByKeyword(keyword).stream()
-                .skip((long) page * size)
-                .limit(size)
-                .toList();
+        return store.search(keyword.toLowerCase(), (long) page * size, size);
     }
 
     @Override
     public int countByKeyword(String keyword) {
-        return findByKeyword(keyword).size();
+        return store.countMatches(keyword.toLowerCase());
+    }
+
+    @Override
+    public FacetedHits findWithFacets(String keyword, int page, int size, Facets.Query facetQuery) {
+        return store.pageWithFacets(keyword != null ? keyword.toLowerCase() : null, (long) page * size, size, facetQuery);
     }
 
     @Override
     public Optional<NewsItem> findById(Long id) {
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(store.get(id));
     }
 
     @Override
     public void clear() {
-        storage.clear();
+        clearState();
+        if (segmentLog != null) {
+            segmentLog.appendClear();
+        }
+        changeLog.appendClear();
+    }
+
+    private void clearState() {
+        store.clear();
+        origins.clear();
         idGenerator.set(1);
     }
 
     @Override
     public int count() {
-        return storage.size();
+        return store.size();
+    }
+
+    // 보존 한도를 넘는 동안 가장 오래된 bucket부터 버린다. cutoff 이전에 끝나는 bucket은 모두,
+    // 건수/메모리 한도는 가장 최근 bucket 하나는 남긴다. 로그에는 남기지 않고(재시작 후 다시 만료됨) 세그먼트 컴팩션 때 빠진다
+    public int expire(LocalDateTime cutoff, int maxItems, long maxMemoryBytes) {
+        int expired = 0;
+        List<long[]> dropped = new ArrayList<>();
+        while (store.bucketCount() > 0) {
+            boolean tooOld = cutoff != null && !store.oldestBucketEnd().isAfter(cutoff);
+            boolean overLimit = store.bucketCount() > 1
+                    && ((maxItems > 0 && store.size() > maxItems)
+                    || (maxMemoryBytes > 0 && store.memoryBytes() > maxMemoryBytes));
+            if (!tooOld && !overLimit) {
+                break;
+            }
+            long[] ids = store.dropOldestBucket();
+            for (long id : ids) {
+                origins.remove(id);
+            }
+            dropped.add(ids);
+            expired += ids.length;
+        }
+        // 피어도 같은 기사를 지우도록. 피어마다 보존 한도가 달라도 이 인스턴스가 만료한 기사는 따라 지운다
+        dropped.forEach(changeLog::appendDeletes);
+        return expired;
+    }
+
+    public long getMemoryBytes() {
+        return store.memoryBytes();
+    }
+
+    public Map<String, Object> getStoreStatus() {
+        return store.getStatus();
     }
 }
@@ -0,0 +1,429 @@
+package io.news.repository;
+
+import io.news.config.DedupProperties;
+import io.news.config.LuceneProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// 외부 ES 없이 단일 노드에서 랭킹 검색과 영속성을 제공하는 내장 Lucene 저장소
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "news.lucene.enabled", havingValue = "true")
+public class LuceneNewsRepository implements NewsRepository {
+
+    private static final Sort LATEST = new Sort(new SortField("publishedAt", SortField.Type.LONG, true),
+            new SortField("numericId", SortField.Type.LONG, true));
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE,
+            new SortField("publishedAt", SortField.Type.LONG, true));
+
+    private static final String PUBLISHER_FACET = "publisherFacet";
+    // 근접 중복으로 묶인 문서 표시 (조회에서 MUST_NOT으로 뺀다)
+    private static final Term DUPLICATE = new Term("duplicate", "1");
+
+    private final LuceneProperties properties;
+    private final DedupProperties dedupProperties;
+
+    private Analyzer analyzer;
+    private MMapDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void init() throws IOException {
+        analyzer = new KoreanAnalyzer();
+        directory = new MMapDirectory(Path.of(properties.getPath()));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Lucene 저장소 초기화 완료: {} ({}건)", properties.getPath(), writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @Override
+    public void saveAll(List<NewsItem> newsItems) {
+        if (newsItems.isEmpty()) return;
+
+        try {
+            for (NewsItem item : newsItems) {
+                NewsDocument doc = NewsDocument.from(item);
+                writer.updateDocument(new Term("id", doc.getId()), toDocument(doc));
+            }
+            searcherManager.maybeRefreshBlocking();
+            log.info("Lucene 저장 완료: {}건", newsItems.size());
+        } catch (IOException e) {
+            log.error("Lucene 저장 실패: {}", e.getMessage());
+            throw new RuntimeException("Lucene 저장 실패", e);
+        }
+    }
+
+    @Override
+    public void save(NewsItem newsItem) {
+        saveAll(List.of(newsItem));
+    }
+
+    @Override
+    public List<NewsItem> findAll() {
+        return findAll(0, 1000);
+    }
+
+    @Override
+    public List<NewsItem> findAll(int page, int size) {
+        return search(visible(new MatchAllDocsQuery()), LATEST, page, size);
+    }
+
+    @Override
+    public List<NewsItem> findAllBefore(LocalDateTime publishedAt, Long id, int size) {
+        // 정렬 키가 같은 문서까지 건너뛰도록 doc은 최대값으로 둔다
+        FieldDoc after = new FieldDoc(Integer.MAX_VALUE, Float.NaN,
+                new Object[]{publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), id});
+        IndexSearcher searcher = acquire();
+        try {
+            TopDocs topDocs = searcher.searchAfter(after, visible(new MatchAllDocsQuery()), size, LATEST);
+            List<NewsItem> items = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                items.add(toNewsItem(searcher.storedFields().document(scoreDoc.doc)));
+            }
+            return items;
+        } catch (IOException e) {
+            log.error("Lucene 조회 실패: {}", e.getMessage());
+            throw new StorageUnavailableException("Lucene 조회 실패", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public List<NewsItem> findByKeyword(String keyword) {
+        return findByKeyword(keyword, 0, 1000);
+    }
+
+    @Override
+    public List<NewsItem> findByKeyword(String keyword, int page, int size) {
+        Query query = visible(keywordQuery(keyword));
+        return query == null ? List.of() : search(query, RELEVANCE, page, size);
+    }
+
+    @Override
+    public int countByKeyword(String keyword) {
+        Query query = visible(keywordQuery(keyword));
+        if (query == null) return 0;
+
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.count(query);
+        } catch (IOException e) {
+            log.error("Lucene 카운트 실패: {}", e.getMessage());
+            return 0;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // facet은 일치 문서를 doc values로 훑어 센다 (Lucene facet 모듈 없이 매체는 세그먼트별 ord로 모아 센다)
+    @Override
+    public FacetedHits findWithFacets(String keyword, int page, int size, Facets.Query facetQuery) {
+        Query query = visible(keyword == null ? new MatchAllDocsQuery() : keywordQuery(keyword));
+        if (query == null) {
+            return new FacetedHits(List.of(), 0,
+                    facetQuery != null ? Facets.of(Map.of(), Map.of(), facetQuery) : Facets.EMPTY);
+        }
+        List<NewsItem> items = size > 0 ? search(query, keyword == null ? LATEST : RELEVANCE, page, size) : List.of();
+
+        IndexSearcher searcher = acquire();
+        try {
+            if (facetQuery == null) {
+                return new FacetedHits(items, searcher.count(query), Facets.EMPTY);
+            }
+            FacetCollector collector = new FacetCollector(facetQuery.since().toInstant(ZoneOffset.UTC).toEpochMilli());
+            searcher.search(query, collector);
+            return new FacetedHits(items, collector.total, collector.toFacets(facetQuery));
+        } catch (IOException e) {
+            log.error("Lucene facet 조회 실패: {}", e.getMessage());
+            throw new StorageUnavailableException("Lucene 조회 실패", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public Optional<NewsItem> findById(Long id) {
+        return search(LongPoint.newExactQuery("numericId", id), LATEST, 0, 1).stream().findFirst();
+    }
+
+    @Override
+    public void clear() {
+        try {
+            writer.deleteAll();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Lucene 인덱스 데이터 삭제 완료");
+        } catch (IOException e) {
+            log.error("Lucene clear 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public int count() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // 보존 기간이 지난 기사 삭제. publishedAt은 doc values만 있으므로 doc values 범위 질의로 지운다
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        long before = cutoff.toInstant(ZoneOffset.UTC).toEpochMilli();
+        try {
+            int count = count();
+            writer.deleteDocuments(NumericDocValuesField.newSlowRangeQuery("publishedAt", Long.MIN_VALUE, before - 1));
+            searcherManager.maybeRefreshBlocking();
+            return count - count();
+        } catch (IOException e) {
+            log.error("Lucene 만료 삭제 실패: {}", e.getMessage());
+            throw new RuntimeException("Lucene 만료 삭제 실패", e);
+        }
+    }
+
+    // ES의 multi_match(title^2, summary)와 같은 가중치
+    private Query keywordQuery(String keyword) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query title = builder.createBooleanQuery("title", keyword);
+        Query summary = builder.createBooleanQuery("summary", keyword);
+        if (title == null && summary == null) return null;
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (title != null) query.add(new BoostQuery(title, 2f), BooleanClause.Occur.SHOULD);
+        if (summary != null) query.add(summary, BooleanClause.Occur.SHOULD);
+        return query.build();
+    }
+
+    // 중복 묶기가 켜져 있으면 클러스터 구성원을 뺀다 (문서는 그대로 남아 있어 ID 조회와 끈 뒤의 조회에는 나온다)
+    private Query visible(Query query) {
+        if (query == null || !dedupProperties.isEnabled()) return query;
+
+        return new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(new TermQuery(DUPLICATE), BooleanClause.Occur.MUST_NOT)
+                .build();
+    }
+
+    private List<NewsItem> search(Query query, Sort sort, int page, int size) {
+        IndexSearcher searcher = acquire();
+        try {
+            int from = page * size;
+            TopDocs topDocs = searcher.search(query, from + size, sort, sort == RELEVANCE);
+            List<NewsItem> items = new ArrayList<>(size);
+            for (int i = from; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                items.add(toNewsItem(searcher.storedFields().document(scoreDoc.doc)));
+            }
+            return items;
+        } catch (IOException e) {
+            log.error("Lucene 조회 실패: {}", e.getMessage());
+            throw new StorageUnavailableException("Lucene 조회 실패", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // 피드별 저장마다 커밋하면 배치마다 fsync가 일어나므로 주기적으로 모아서 커밋한다.
+    // 그 사이에 죽으면 마지막 커밋 이후 변경을 잃는다 (정상 종료 시에는 writer.close()가 커밋)
+    @Scheduled(fixedDelayString = "${news.lucene.commit-interval-ms:5000}")
+    public void commit() {
+        try {
+            if (writer.isOpen() && writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Lucene 커밋 실패: {}", e.getMessage());
+        }
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new StorageUnavailableException("Lucene searcher 획득 실패", e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Lucene searcher 반환 실패: {}", e.getMessage());
+        }
+    }
+
+    private Document toDocument(NewsDocument doc) {
+        long numericId = doc.toNewsItem().getId();
+        long publishedAt = doc.getPublishedAt() != null
+                ? doc.getPublishedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+
+        Document document = new Document();
+        document.add(new StringField("id", doc.getId(), Field.Store.YES));
+        document.add(new LongPoint("numericId", numericId));
+        document.add(new NumericDocValuesField("numericId", numericId));
+        document.add(new TextField("title", nullToEmpty(doc.getTitle()), Field.Store.YES));
+        document.add(new TextField("summary", nullToEmpty(doc.getSummary()), Field.Store.YES));
+        document.add(new StringField("publisher", nullToEmpty(doc.getPublisher()), Field.Store.YES));
+        // 기존 색인의 publisher 필드에는 doc values가 없어 같은 이름으로 추가할 수 없으므로 facet용 필드를 따로 둔다
+        document.add(new SortedDocValuesField(PUBLISHER_FACET, new BytesRef(nullToEmpty(doc.getPublisher()))));
+        document.add(new NumericDocValuesField("publishedAt", publishedAt));
+        document.add(new StoredField("publishedAt", publishedAt));
+        document.add(new StoredField("url", nullToEmpty(doc.getUrl())));
+        if (doc.getImageUrl() != null) {
+            document.add(new StoredField("imageUrl", doc.getImageUrl()));
+        }
+        if (doc.getClusterId() != null) {
+            document.add(new StoredField("clusterId", doc.getClusterId()));
+            document.add(new StringField(DUPLICATE.field(), DUPLICATE.text(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private NewsItem toNewsItem(Document document) {
+        long publishedAt = document.getField("publishedAt").numericValue().longValue();
+        return NewsDocument.builder()
+                .id(document.get("id"))
+                .title(document.get("title"))
+                .summary(document.get("summary"))
+                .publisher(document.get("publisher"))
+                .publishedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(publishedAt), ZoneOffset.UTC))
+                .url(document.get("url"))
+                .imageUrl(document.get("imageUrl"))
+                .clusterId(document.get("clusterId"))
+                .build()
+                .toNewsItem();
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static final class FacetCollector extends SimpleCollector {
+        private final long sinceMillis;
+        private final Map<String, Long> publishers = new HashMap<>();
+        private final Map<LocalDateTime, Long> hours = new HashMap<>();
+        private int total;
+        private NumericDocValues publishedAt;
+        private SortedDocValues publisherValues;
+        private StoredFields storedFields;
+        private long[] ordCounts = new long[0];
+
+        private FacetCollector(long sinceMillis) {
+            this.sinceMillis = sinceMillis;
+        }
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            flushOrdCounts();
+            publishedAt = DocValues.getNumeric(context.reader(), "publishedAt");
+            publisherValues = context.reader().getSortedDocValues(PUBLISHER_FACET);
+            ordCounts = new long[publisherValues != null ? publisherValues.getValueCount() : 0];
+            storedFields = context.reader().storedFields();
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            total++;
+            if (publisherValues != null && publisherValues.advanceExact(doc)) {
+                ordCounts[publisherValues.ordValue()]++;
+            } else {
+                // facet 필드가 생기기 전에 색인된 문서는 저장 필드에서 읽는다
+                String publisher = storedFields.document(doc, Set.of("publisher")).get("publisher");
+                if (publisher != null) {
+                    publishers.merge(publisher, 1L, Long::sum);
+                }
+            }
+            if (publishedAt.advanceExact(doc) && publishedAt.longValue() >= sinceMillis) {
+                hours.merge(Facets.hourOf(publishedAt.longValue() / 1000), 1L, Long::sum);
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+
+        private Facets toFacets(Facets.Query query) throws IOException {
+            flushOrdCounts();
+            return Facets.of(publishers, hours, query);
+        }
+
+        private void flushOrdCounts() throws IOException {
+            for (int ord = 0; ord < ordCounts.length; ord++) {
+                if (ordCounts[ord] > 0) {
+                    publishers.merge(publisherValues.lookupOrd(ord).utf8ToString(), ordCounts[ord], Long::sum);
+                }
+            }
+            ordCounts = new long[0];
+        }
+    }
+}
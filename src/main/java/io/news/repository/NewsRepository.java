@@ -1,7 +1,10 @@
 package io.news.repository;
 
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
 import io.news.dto.NewsItem;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +18,19 @@ public interface NewsRepository {
 
     List<NewsItem> findAll(int page, int size);
 
+    // (publishedAt DESC, id DESC) 순서에서 주어진 기사 다음부터 size건 (커서 페이징)
+    List<NewsItem> findAllBefore(LocalDateTime publishedAt, Long id, int size);
+
     List<NewsItem> findByKeyword(String keyword);
 
     List<NewsItem> findByKeyword(String keyword, int page, int size);
 
     int countByKeyword(String keyword);
 
+    // 한 페이지, 전체 일치 건수, 매체별/시간대별 facet을 한 번에 (facetQuery가 null이면 facet 없이).
+    // keyword가 null이면 최신순 전체 목록
+    FacetedHits findWithFacets(String keyword, int page, int size, Facets.Query facetQuery);
+
     Optional<NewsItem> findById(Long id);
 
     void clear();
@@ -1,75 +1,279 @@
 package io.news.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.news.config.BlockingExecutors;
+import io.news.config.ElasticsearchProperties;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
 import io.news.dto.NewsItem;
+import io.news.event.NewsRemovedEvent;
+import io.news.trace.RequestTracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Primary
 @Repository
-public class NewsRepositoryRouter implements NewsRepository {
+public class NewsRepositoryRouter implements NewsRepository, AsyncNewsRepository {
 
-    private final NewsRepository elasticRepository;
-    private final NewsRepository inMemoryRepository;
+    private static final String SPAN = "news.repository";
+
+    private final ElasticNewsRepository elasticRepository;
+    private final AsyncNewsRepository elasticAsyncRepository;
+    private final NewsRepository localRepository;
+    private final ElasticsearchProperties properties;
+    private final WriteJournal journal;
+    // 락을 쥔 채 ES bulk 재전송(I/O)을 하므로 synchronized 대신 ReentrantLock (가상 스레드 pinning 방지)
+    private final ReentrantLock failbackLock = new ReentrantLock();
+    private final AtomicBoolean failbackRunning = new AtomicBoolean(false);
+    private final ExecutorService hedgeExecutor;
+    private final HedgedReader hedgedReader;
+    private final RequestTracer requestTracer;
+    private final ApplicationEventPublisher eventPublisher;
     private volatile boolean useElastic = true;
+    private volatile boolean mirrorReady = false;
+    // 기동 시 ES 인덱스 전체를 복사했는지. 아니면 미러에는 최신 mirrorMaxItems건만 있다
+    private volatile boolean mirrorComplete = false;
 
     @Autowired
     public NewsRepositoryRouter(
             @Autowired(required = false) ElasticNewsRepository elasticRepository,
-            InMemoryNewsRepository inMemoryRepository) {
+            @Autowired(required = false) ElasticAsyncNewsRepository elasticAsyncRepository,
+            @Autowired(required = false) LuceneNewsRepository luceneRepository,
+            InMemoryNewsRepository localRepository,
+            ElasticsearchProperties properties,
+            BlockingExecutors blockingExecutors,
+            MeterRegistry meterRegistry,
+            RequestTracer requestTracer,
+            ApplicationEventPublisher eventPublisher) {
         this.elasticRepository = elasticRepository;
-        this.inMemoryRepository = inMemoryRepository;
+        this.elasticAsyncRepository = elasticAsyncRepository;
+        // ES 장애 시 fallback 및 헤징 미러로 쓰는 로컬 저장소. Lucene이 켜져 있으면 InMemory 대신 사용
+        this.localRepository = luceneRepository != null ? luceneRepository : localRepository;
+        this.properties = properties;
+        this.requestTracer = requestTracer;
+        this.eventPublisher = eventPublisher;
+        // ES를 쓰지 않으면 저널에 쓸 일이 없으므로 파일을 열지 않는다
+        String journalPath = properties.getFailback().getJournalPath();
+        this.journal = new WriteJournal(
+                elasticRepository != null && !journalPath.isBlank() ? Path.of(journalPath) : null,
+                properties.getFailback().getJournalMaxEntries(), meterRegistry);
+
+        if (elasticRepository != null && properties.getHedge().isEnabled()) {
+            this.hedgeExecutor = blockingExecutors.newExecutor("es-hedge", 0);
+            this.hedgedReader = new HedgedReader(meterRegistry, properties.getHedge(), hedgeExecutor, requestTracer);
+        } else {
+            this.hedgeExecutor = null;
+            this.hedgedReader = null;
+        }
 
         if (elasticRepository == null) {
             this.useElastic = false;
-            log.warn("Elasticsearch 사용 불가 - InMemory 저장소 사용");
+            log.warn("Elasticsearch 사용 불가 - {} 저장소 사용", getLocalStorageName());
+        } else if (!journal.isEmpty()) {
+            // 재시작 전 재전송하지 못한 쓰기가 있으면 fallback 상태로 시작해 다음 프로브가 먼저 재전송하게 한다
+            this.useElastic = false;
+            log.warn("ES 쓰기 저널에 미전송 {}건 - 재전송 전까지 {} 저장소 사용", journal.size(), getLocalStorageName());
         } else {
             log.info("Elasticsearch 저장소 활성화");
         }
     }
 
+    // 헤징용 로컬 미러를 ES의 최신 문서로 채운다. 이후 쓰기는 executeWrite가 미러에도 반영한다.
+    @PostConstruct
+    public void warmMirror() {
+        if (hedgedReader == null) {
+            return;
+        }
+        hedgeExecutor.execute(() -> {
+            int pageSize = 500;
+            int maxPages = Math.max(1, properties.getHedge().getMirrorMaxItems() / pageSize);
+            try {
+                for (int page = 0; page < maxPages; page++) {
+                    List<NewsItem> items = elasticRepository.findAll(page, pageSize);
+                    localRepository.saveAll(items);
+                    if (items.size() < pageSize) {
+                        mirrorComplete = true;
+                        break;
+                    }
+                }
+                mirrorReady = true;
+                log.info("헤징용 로컬 미러 준비 완료: {}건 (전체 복사: {})", localRepository.count(), mirrorComplete);
+            } catch (Exception e) {
+                log.warn("헤징용 미러 초기화 실패 - 헤징 비활성: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+        journal.close();
+    }
+
+    // 미러가 ES와 같은 답을 낼 수 있는 조회만 헤징한다. 미러가 인덱스 일부만 담고 있으면
+    // 건수, 검색, facet, 깊은 페이지는 틀린 값이 되므로 최신 목록의 앞쪽 페이지만 헤징
+    private boolean isHedging(boolean mirrorExact) {
+        return hedgedReader != null && mirrorReady && (mirrorExact || mirrorComplete);
+    }
+
+    private boolean withinMirror(int page, int size) {
+        return (long) (page + 1) * size <= properties.getHedge().getMirrorMaxItems();
+    }
+
+    // 지연 예산을 넘긴 ES 조회는 미러로 헤징한다. 예외는 기존처럼 fallback으로 처리.
+    private <T> T executeRead(RepositoryOperation<T> operation, String operationName) {
+        return executeRead(operation, operationName, false);
+    }
+
+    private <T> T executeRead(RepositoryOperation<T> operation, String operationName, boolean mirrorExact) {
+        if (useElastic && isHedging(mirrorExact)) {
+            return requestTracer.span(SPAN, operationName, () -> {
+                requestTracer.tagLow("backend", "elasticsearch");
+                try {
+                    return hedgedReader.hedge(operationName,
+                            () -> operation.execute(elasticRepository),
+                            () -> operation.execute(localRepository));
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("ES {} 실패, 로컬 저장소로 fallback: {}", operationName, cause.getMessage());
+                    useElastic = false;
+                    markFallback(cause);
+                    return operation.execute(localRepository);
+                }
+            });
+        }
+        return executeWithFallback(operation, operationName);
+    }
+
     private NewsRepository getActiveRepository() {
-        return useElastic && elasticRepository != null ? elasticRepository : inMemoryRepository;
+        return useElastic && elasticRepository != null ? elasticRepository : localRepository;
     }
 
     private <T> T executeWithFallback(RepositoryOperation<T> operation, String operationName) {
-        if (useElastic && elasticRepository != null) {
-            try {
-                return operation.execute(elasticRepository);
-            } catch (Exception e) {
-                log.warn("ES {} 실패, InMemory로 fallback: {}", operationName, e.getMessage());
-                useElastic = false;
+        return requestTracer.span(SPAN, operationName, () -> {
+            if (useElastic && elasticRepository != null) {
+                requestTracer.tagLow("backend", "elasticsearch");
+                try {
+                    return operation.execute(elasticRepository);
+                } catch (Exception e) {
+                    log.warn("ES {} 실패, 로컬 저장소로 fallback: {}", operationName, e.getMessage());
+                    useElastic = false;
+                    markFallback(e);
+                }
+            } else {
+                requestTracer.tagLow("backend", getLocalStorageName());
             }
-        }
-        return operation.execute(inMemoryRepository);
+            return operation.execute(localRepository);
+        });
+    }
+
+    // span에 fallback 여부를 남긴다 (backend 태그는 실제로 응답한 로컬 저장소로 바꾼다)
+    private void markFallback(Throwable cause) {
+        requestTracer.tagLow("backend", getLocalStorageName());
+        requestTracer.tag("fallback", cause.getClass().getSimpleName());
     }
 
-    private void executeWithFallbackVoid(RepositoryVoidOperation operation, String operationName) {
-        if (useElastic && elasticRepository != null) {
+    // fallback 중의 쓰기는 로컬 저장소에 반영하고 저널에 남겨 ES 복구 시 재전송한다.
+    // failback 전환과 같은 락 안에서 처리해야 전환 직후 저널에 남는 쓰기가 생기지 않는다.
+    private void executeWrite(RepositoryVoidOperation operation, JournalOperation journalOperation,
+                              String operationName) {
+        while (true) {
+            if (useElastic && elasticRepository != null) {
+                try {
+                    operation.execute(elasticRepository);
+                    if (hedgedReader != null) {
+                        operation.execute(localRepository);
+                    }
+                    return;
+                } catch (Exception e) {
+                    log.warn("ES {} 실패, 로컬 저장소로 fallback: {}", operationName, e.getMessage());
+                    useElastic = false;
+                }
+            }
+            failbackLock.lock();
             try {
-                operation.execute(elasticRepository);
-                return;
-            } catch (Exception e) {
-                log.warn("ES {} 실패, InMemory로 fallback: {}", operationName, e.getMessage());
-                useElastic = false;
+                if (!useElastic || elasticRepository == null) {
+                    if (elasticRepository != null) {
+                        journalOperation.execute(journal);
+                    }
+                    operation.execute(localRepository);
+                    return;
+                }
+            } finally {
+                failbackLock.unlock();
             }
         }
-        operation.execute(inMemoryRepository);
+    }
+
+    private <T> CompletableFuture<T> executeAsyncWithFallback(AsyncRepositoryOperation<T> operation,
+                                                              RepositoryOperation<T> fallback,
+                                                              String operationName) {
+        return executeAsyncWithFallback(operation, fallback, operationName, false);
+    }
+
+    private <T> CompletableFuture<T> executeAsyncWithFallback(AsyncRepositoryOperation<T> operation,
+                                                              RepositoryOperation<T> fallback,
+                                                              String operationName, boolean mirrorExact) {
+        return requestTracer.spanAsync(SPAN, operationName, () -> {
+            Observation span = requestTracer.current();
+            if (useElastic && elasticAsyncRepository != null) {
+                requestTracer.tagLow("backend", "elasticsearch");
+                try {
+                    CompletableFuture<T> future = isHedging(mirrorExact)
+                            ? hedgedReader.hedgeAsync(operationName,
+                                    () -> operation.execute(elasticAsyncRepository),
+                                    () -> fallback.execute(localRepository))
+                            : operation.execute(elasticAsyncRepository);
+                    return future
+                            .exceptionally(e -> {
+                                log.warn("ES {} 실패, 로컬 저장소로 fallback: {}", operationName, e.getMessage());
+                                useElastic = false;
+                                // 완료 스레드에는 현재 span이 없으므로 잡아 둔 span에 직접 남긴다 (markFallback과 같은 태그)
+                                RequestTracer.tagLow(span, "backend", getLocalStorageName());
+                                RequestTracer.tag(span, "fallback", e.getClass().getSimpleName());
+                                return fallback.execute(localRepository);
+                            });
+                } catch (Exception e) {
+                    log.warn("ES {} 실패, 로컬 저장소로 fallback: {}", operationName, e.getMessage());
+                    useElastic = false;
+                    markFallback(e);
+                }
+            } else {
+                requestTracer.tagLow("backend", getLocalStorageName());
+            }
+            // 로컬 조회는 즉시 끝나므로 호출 스레드에서 바로 완료
+            return CompletableFuture.completedFuture(fallback.execute(localRepository));
+        });
     }
 
     @Override
     public void saveAll(List<NewsItem> newsItems) {
-        executeWithFallbackVoid(repo -> repo.saveAll(newsItems), "saveAll");
+        executeWrite(repo -> repo.saveAll(newsItems), j -> j.appendAll(newsItems), "saveAll");
     }
 
     @Override
     public void save(NewsItem newsItem) {
-        executeWithFallbackVoid(repo -> repo.save(newsItem), "save");
+        executeWrite(repo -> repo.save(newsItem), j -> j.append(newsItem), "save");
     }
 
     @Override
@@ -79,7 +283,12 @@ public class NewsRepositoryRouter implements NewsRepository {
 
     @Override
     public List<NewsItem> findAll(int page, int size) {
-        return executeWithFallback(repo -> repo.findAll(page, size), "findAll(page)");
+        return executeRead(repo -> repo.findAll(page, size), "findAll(page)", withinMirror(page, size));
+    }
+
+    @Override
+    public List<NewsItem> findAllBefore(LocalDateTime publishedAt, Long id, int size) {
+        return executeRead(repo -> repo.findAllBefore(publishedAt, id, size), "findAllBefore");
     }
 
     @Override
@@ -89,12 +298,17 @@ public class NewsRepositoryRouter implements NewsRepository {
 
     @Override
     public List<NewsItem> findByKeyword(String keyword, int page, int size) {
-        return executeWithFallback(repo -> repo.findByKeyword(keyword, page, size), "findByKeyword(page)");
+        return executeRead(repo -> repo.findByKeyword(keyword, page, size), "findByKeyword(page)");
     }
 
     @Override
     public int countByKeyword(String keyword) {
-        return executeWithFallback(repo -> repo.countByKeyword(keyword), "countByKeyword");
+        return executeRead(repo -> repo.countByKeyword(keyword), "countByKeyword");
+    }
+
+    @Override
+    public FacetedHits findWithFacets(String keyword, int page, int size, Facets.Query facetQuery) {
+        return executeRead(repo -> repo.findWithFacets(keyword, page, size, facetQuery), "findWithFacets");
     }
 
     @Override
@@ -104,22 +318,128 @@ public class NewsRepositoryRouter implements NewsRepository {
 
     @Override
     public void clear() {
-        executeWithFallbackVoid(NewsRepository::clear, "clear");
+        executeWrite(NewsRepository::clear, WriteJournal::appendClear, "clear");
+        // 세대 기반 ETag와 예열/facet 캐시가 지워진 목록을 계속 내보내지 않도록
+        eventPublisher.publishEvent(new NewsRemovedEvent("clear", 0));
     }
 
     @Override
     public int count() {
-        return executeWithFallback(NewsRepository::count, "count");
+        return executeRead(NewsRepository::count, "count");
+    }
+
+    @Override
+    public CompletableFuture<List<NewsItem>> findAllAsync(int page, int size) {
+        return executeAsyncWithFallback(repo -> repo.findAllAsync(page, size),
+                repo -> repo.findAll(page, size), "findAllAsync", withinMirror(page, size));
+    }
+
+    @Override
+    public CompletableFuture<List<NewsItem>> findByKeywordAsync(String keyword, int page, int size) {
+        return executeAsyncWithFallback(repo -> repo.findByKeywordAsync(keyword, page, size),
+                repo -> repo.findByKeyword(keyword, page, size), "findByKeywordAsync");
+    }
+
+    @Override
+    public CompletableFuture<Integer> countByKeywordAsync(String keyword) {
+        return executeAsyncWithFallback(repo -> repo.countByKeywordAsync(keyword),
+                repo -> repo.countByKeyword(keyword), "countByKeywordAsync");
+    }
+
+    @Override
+    public CompletableFuture<FacetedHits> findWithFacetsAsync(String keyword, int page, int size,
+                                                              Facets.Query facetQuery) {
+        return executeAsyncWithFallback(repo -> repo.findWithFacetsAsync(keyword, page, size, facetQuery),
+                repo -> repo.findWithFacets(keyword, page, size, facetQuery), "findWithFacetsAsync");
+    }
+
+    @Override
+    public CompletableFuture<Integer> countAsync() {
+        return executeAsyncWithFallback(AsyncNewsRepository::countAsync, NewsRepository::count, "countAsync");
     }
 
     public boolean isUsingElasticsearch() {
         return useElastic && elasticRepository != null;
     }
 
+    public String getLocalStorageName() {
+        return localRepository instanceof LuceneNewsRepository ? "lucene" : "in-memory";
+    }
+
+    public int getPendingWriteCount() {
+        return journal.size();
+    }
+
     public void resetToElasticsearch() {
         if (elasticRepository != null) {
-            this.useElastic = true;
-            log.info("Elasticsearch 저장소로 재전환");
+            failback();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${elasticsearch.failback.probe-interval-ms:10000}")
+    public void probeElasticsearch() {
+        if (elasticRepository == null || useElastic) {
+            return;
+        }
+        failback();
+    }
+
+    // ES가 응답하면 저널을 bulk로 재전송한 뒤 읽기를 ES로 되돌린다.
+    // 장애 중에는 이 프로브만 ES를 호출하므로 실패 요청이 몰리지 않는다.
+    private boolean failback() {
+        if (!failbackRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            if (!elasticRepository.ping()) {
+                log.debug("ES 헬스 체크 실패 - 로컬 저장소 유지 (대기 중인 쓰기 {}건)", journal.size());
+                return false;
+            }
+
+            int pending = journal.size();
+            replayJournal();
+            failbackLock.lock();
+            try {
+                replayJournal();
+                journal.checkpoint();
+                useElastic = true;
+            } finally {
+                failbackLock.unlock();
+            }
+            log.info("ES 복구 감지 - 저널 {}건 재전송 후 Elasticsearch 저장소로 재전환", pending);
+            return true;
+        } catch (Exception e) {
+            log.warn("ES 저널 재전송 실패 - 로컬 저장소 유지 (대기 중인 쓰기 {}건): {}", journal.size(), e.getMessage());
+            return false;
+        } finally {
+            failbackRunning.set(false);
+        }
+    }
+
+    private void replayJournal() {
+        if (journal.takeClearPending()) {
+            try {
+                elasticRepository.clear();
+            } catch (RuntimeException e) {
+                journal.requeue(List.of(), true);
+                throw e;
+            }
+        }
+
+        List<NewsItem> batch;
+        while (!(batch = journal.drain(properties.getFailback().getReplayBatchSize())).isEmpty()) {
+            try {
+                elasticRepository.saveAll(batch);
+                journal.acknowledge(batch);
+            } catch (BulkWriteException e) {
+                // 저장된 항목은 버리고 실패한 항목만 다음 재전송으로
+                journal.requeue(e.getFailed(), false);
+                journal.acknowledge(batch);
+                throw e;
+            } catch (RuntimeException e) {
+                journal.requeue(batch, false);
+                throw e;
+            }
         }
     }
 
@@ -128,8 +448,18 @@ public class NewsRepositoryRouter implements NewsRepository {
         T execute(NewsRepository repository);
     }
 
+    @FunctionalInterface
+    private interface AsyncRepositoryOperation<T> {
+        CompletableFuture<T> execute(AsyncNewsRepository repository);
+    }
+
     @FunctionalInterface
     private interface RepositoryVoidOperation {
         void execute(NewsRepository repository);
     }
+
+    @FunctionalInterface
+    private interface JournalOperation {
+        void execute(WriteJournal journal);
+    }
 }
@@ -0,0 +1,9 @@
+package io.news.repository;
+
+// 저장소(ES, Lucene)가 응답할 수 없어 조회를 처리하지 못할 때. API는 503과 Retry-After로 답한다
+public class StorageUnavailableException extends RuntimeException {
+
+    public StorageUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,242 @@
+package io.news.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.news.document.NewsDocument;
+import io.news.dto.NewsItem;
+import io.news.storage.SegmentLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ES 장애(fallback) 중 발생한 쓰기를 기록했다가 복구 시 ES로 재전송하기 위한 저널.
+// ES 저장은 URL 기반 ID로 upsert되므로 같은 URL은 마지막 쓰기만 남긴다.
+// 디렉터리가 주어지면 쓰기마다 세그먼트 로그에도 덧붙여 재시작 후 다시 읽고, 재전송이 끝나면 로그를 남은 항목으로 줄인다.
+// 보관 한도를 넘으면 가장 오래된 쓰기부터 버린다 (news.es.journal.dropped).
+@Slf4j
+class WriteJournal {
+
+    private static final long SEGMENT_SIZE_BYTES = 16L * 1024 * 1024;
+    // 같은 URL 덮어쓰기로 로그 레코드가 남은 항목보다 이만큼 많아지면 줄인다
+    private static final int MIN_COMPACTION_RECORDS = 10000;
+
+    private final Map<String, NewsItem> pending = new LinkedHashMap<>();
+    // drain 후 재전송 결과를 기다리는 항목. 로그 컴팩션에 함께 넣어야 재전송 중 종료돼도 잃지 않는다
+    private final Map<String, NewsItem> inFlight = new LinkedHashMap<>();
+    // 락을 쥔 채 로그 파일에 쓰므로 synchronized 대신 ReentrantLock (가상 스레드 pinning 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxEntries;
+    private final Counter dropped;
+    private final SegmentLog segmentLog;
+    private boolean clearPending = false;
+    private boolean overflowing = false;
+
+    WriteJournal(Path directory, int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.dropped = Counter.builder("news.es.journal.dropped").register(meterRegistry);
+        meterRegistry.gauge("news.es.journal.pending", this, WriteJournal::size);
+        this.segmentLog = directory != null ? open(directory) : null;
+        // 남은 쓰기가 없으면 기동마다 생기는 빈 세그먼트와 이미 보낸 레코드를 정리한다
+        if (isEmpty()) {
+            checkpoint();
+        }
+    }
+
+    private SegmentLog open(Path directory) {
+        SegmentLog segments = new SegmentLog(directory, SEGMENT_SIZE_BYTES);
+        try {
+            segments.open(new SegmentLog.Visitor() {
+                @Override
+                public void put(NewsItem newsItem, String origin) {
+                    remember(newsItem);
+                }
+
+                @Override
+                public void clear() {
+                    pending.clear();
+                    clearPending = true;
+                }
+            });
+            if (!pending.isEmpty() || clearPending) {
+                log.info("ES 쓰기 저널 복원: {}건 (clear 대기: {})", pending.size(), clearPending);
+            }
+            return segments;
+        } catch (IOException e) {
+            log.error("ES 쓰기 저널 열기 실패 - 메모리에만 기록: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    void append(NewsItem newsItem) {
+        appendAll(List.of(newsItem));
+    }
+
+    void appendAll(List<NewsItem> newsItems) {
+        // ES 문서 ID가 URL 해시이므로 URL 없는 쓰기는 재전송할 수 없다. 로그에는 같은 URL 해시 ID로 기록
+        List<NewsItem> items = newsItems.stream()
+                .filter(item -> item.getUrl() != null)
+                .map(item -> NewsDocument.from(item).toNewsItem())
+                .toList();
+        lock.lock();
+        try {
+            if (segmentLog != null) {
+                segmentLog.appendAll(items, null);
+            }
+            items.forEach(this::remember);
+            maybeCompact();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void appendClear() {
+        lock.lock();
+        try {
+            if (segmentLog != null) {
+                segmentLog.appendClear();
+            }
+            pending.clear();
+            clearPending = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean takeClearPending() {
+        lock.lock();
+        try {
+            boolean result = clearPending;
+            clearPending = false;
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<NewsItem> drain(int maxSize) {
+        lock.lock();
+        try {
+            List<NewsItem> batch = new ArrayList<>(Math.min(maxSize, pending.size()));
+            Iterator<NewsItem> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < maxSize) {
+                NewsItem item = iterator.next();
+                batch.add(item);
+                inFlight.put(item.getUrl(), item);
+                iterator.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ES에 저장된 항목
+    void acknowledge(List<NewsItem> batch) {
+        lock.lock();
+        try {
+            batch.forEach(item -> inFlight.remove(item.getUrl(), item));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 재전송 실패 시 되돌림. 그 사이 더 최신 쓰기가 들어온 URL은 덮어쓰지 않는다.
+    void requeue(List<NewsItem> batch, boolean clear) {
+        lock.lock();
+        try {
+            batch.forEach(item -> {
+                inFlight.remove(item.getUrl(), item);
+                pending.putIfAbsent(item.getUrl(), item);
+            });
+            clearPending |= clear;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 재전송을 마친 뒤 호출. 로그를 아직 남은 항목만으로 다시 써서 다음 기동 때 이미 보낸 쓰기를 재생하지 않는다
+    void checkpoint() {
+        lock.lock();
+        try {
+            compact();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return pending.isEmpty() && !clearPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        if (segmentLog == null) {
+            return;
+        }
+        try {
+            segmentLog.close();
+        } catch (IOException e) {
+            log.warn("ES 쓰기 저널 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    private void remember(NewsItem newsItem) {
+        pending.remove(newsItem.getUrl());
+        pending.put(newsItem.getUrl(), newsItem);
+        Iterator<NewsItem> eldest = pending.values().iterator();
+        while (pending.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            dropped.increment();
+            if (!overflowing) {
+                overflowing = true;
+                log.warn("ES 쓰기 저널 한도({}건) 초과 - 오래된 쓰기부터 버림", maxEntries);
+            }
+        }
+        if (pending.size() < maxEntries) {
+            overflowing = false;
+        }
+    }
+
+    private void maybeCompact() {
+        long live = pending.size() + inFlight.size();
+        if (segmentLog != null && segmentLog.getRecordCount() > Math.max(MIN_COMPACTION_RECORDS, 2 * live)) {
+            compact();
+        }
+    }
+
+    // clear 레코드는 스냅샷에 담을 수 없으므로 clear가 재전송되기 전에는 줄이지 않는다
+    private void compact() {
+        if (segmentLog == null || clearPending) {
+            return;
+        }
+        try {
+            long snapshotSequence = segmentLog.beginCompaction();
+            List<NewsItem> live = new ArrayList<>(inFlight.values());
+            live.addAll(pending.values());
+            segmentLog.completeCompaction(snapshotSequence, live, item -> null);
+        } catch (IOException e) {
+            log.warn("ES 쓰기 저널 컴팩션 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -1,43 +1,54 @@
 package io.news.scheduler;
 
 import io.news.dto.FetchResult;
-import io.news.service.RssFetchService;
+import io.news.service.FetchJob;
+import io.news.service.FetchJobConflictException;
+import io.news.service.FetchJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RssFetchScheduler {
 
-    private final RssFetchService rssFetchService;
-
-    @EventListener(ApplicationReadyEvent.class)
-    public void onApplicationReady() {
-        log.info("애플리케이션 시작 - 초기 RSS 수집 실행");
-        fetchNews();
-    }
+    private final FetchJobService fetchJobService;
 
+    // 초기 수집은 WarmupService가 기동 웜업으로 실행한다
     @Scheduled(fixedRate = 600000, initialDelay = 600000) // 10분마다, 최초 실행은 10분 후
     public void scheduledFetch() {
         log.info("스케줄러 실행 - RSS 수집 시작");
         fetchNews();
     }
 
+    // 수동 수집이 전체 피드로 실행 중이면 그 작업에 합류해 결과만 기다린다
     private void fetchNews() {
         try {
-            FetchResult result = rssFetchService.fetchAll();
+            FetchResult result = submit().getCompletion().join();
             if (result.hasFailures()) {
                 log.warn("RSS 수집 부분 완료: {}", result.getSummary());
             } else {
                 log.info("RSS 수집 완료: {}", result.getSummary());
             }
+        } catch (FetchJobConflictException e) {
+            log.info("다른 선택 수집 작업 {} 실행 중 - 이번 정기 수집 건너뜀", e.getRunning().getId());
         } catch (Exception e) {
             log.error("RSS 수집 중 예외 발생 - {}", e.getMessage(), e);
         }
     }
+
+    // 일부 피드만 고른 수동 수집이 실행 중이면 그 작업이 끝나기를 기다렸다가 전체 수집을 시작한다
+    private FetchJob submit() {
+        try {
+            return fetchJobService.submit("scheduled", Set.of()).job();
+        } catch (FetchJobConflictException e) {
+            log.info("선택 수집 작업 {} 실행 중 - 끝난 뒤 정기 수집 시작", e.getRunning().getId());
+            e.getRunning().getCompletion().handle((result, error) -> null).join();
+            return fetchJobService.submit("scheduled", Set.of()).job();
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package io.news.service;
+
+import io.news.dto.FetchResult;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// RSS 수집 한 번. 피드별 결과를 끝나는 대로 쌓고, 구독자에게 이미 끝난 결과부터 차례로 넘긴다
+@Getter
+public class FetchJob {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id;
+    private final String trigger;
+    // 요청한 피드 이름 (비어 있으면 전체)
+    private final Set<String> requestedFeeds;
+    private final int feedsTotal;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final CompletableFuture<FetchResult> completion = new CompletableFuture<>();
+    private volatile State state = State.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock lock = new ReentrantLock();
+    @Getter(AccessLevel.NONE)
+    private final List<FetchResult.FeedResult> results = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Consumer<FetchResult.FeedResult>> subscribers = new ArrayList<>();
+
+    FetchJob(String id, String trigger, Set<String> requestedFeeds, int feedsTotal) {
+        this.id = id;
+        this.trigger = trigger;
+        this.requestedFeeds = requestedFeeds;
+        this.feedsTotal = feedsTotal;
+    }
+
+    // 이 작업이 요청한 피드를 모두 수집하는지 (전체 수집은 모든 요청을 포함)
+    boolean covers(Set<String> feedNames) {
+        return requestedFeeds.isEmpty() || (!feedNames.isEmpty() && requestedFeeds.containsAll(feedNames));
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void onFeedDone(FetchResult.FeedResult feedResult) {
+        lock.lock();
+        try {
+            results.add(feedResult);
+            subscribers.forEach(subscriber -> subscriber.accept(feedResult));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void complete(FetchResult result) {
+        finish(cancelRequested ? State.CANCELLED : State.COMPLETED, null);
+        completion.complete(result);
+    }
+
+    void fail(Throwable error) {
+        finish(State.FAILED, error.getMessage());
+        completion.completeExceptionally(error);
+    }
+
+    // 지금까지 끝난 피드 결과를 먼저 넘기고, 이후 결과는 끝나는 대로 넘긴다
+    public void subscribe(Consumer<FetchResult.FeedResult> subscriber) {
+        lock.lock();
+        try {
+            results.forEach(subscriber);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void unsubscribe(Consumer<FetchResult.FeedResult> subscriber) {
+        lock.lock();
+        try {
+            subscribers.remove(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        List<FetchResult.FeedResult> done;
+        lock.lock();
+        try {
+            done = List.copyOf(results);
+        } finally {
+            lock.unlock();
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("jobId", id);
+        map.put("trigger", trigger);
+        map.put("state", state);
+        map.put("feeds", requestedFeeds.isEmpty() ? "all" : requestedFeeds);
+        map.put("cancelRequested", cancelRequested);
+        map.put("startedAt", startedAt);
+        map.put("finishedAt", finishedAt);
+        map.put("feedsTotal", feedsTotal);
+        map.put("feedsDone", done.size());
+        map.put("feedsSuccess", done.stream().filter(FetchResult.FeedResult::isSuccess).count());
+        map.put("totalNews", done.stream().mapToInt(FetchResult.FeedResult::getNewsCount).sum());
+        if (errorMessage != null) {
+            map.put("errorMessage", errorMessage);
+        }
+        map.put("details", done);
+        return map;
+    }
+
+    private void finish(State finalState, String error) {
+        errorMessage = error;
+        finishedAt = LocalDateTime.now();
+        state = finalState;
+    }
+}
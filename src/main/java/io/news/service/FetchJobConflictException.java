@@ -0,0 +1,16 @@
+package io.news.service;
+
+// 실행 중인 수집 작업이 요청한 피드를 모두 포함하지 않아 합류할 수 없을 때
+public class FetchJobConflictException extends IllegalStateException {
+
+    private final FetchJob running;
+
+    public FetchJobConflictException(FetchJob running) {
+        super("다른 수집 작업이 실행 중입니다: " + running.getId());
+        this.running = running;
+    }
+
+    public FetchJob getRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,206 @@
+package io.news.service;
+
+import io.news.config.BlockingExecutors;
+import io.news.config.RssProperties;
+import io.news.dto.FetchResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// RSS 수집(수동, 스케줄, 기동 웜업)을 작업 단위로 실행한다.
+// 한 번에 한 작업만 돌고, 실행 중에 들어온 요청은 그 작업이 요청한 피드를 모두 포함하면 새로 시작하지 않고 합류한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FetchJobService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+    private static final long STREAM_TIMEOUT_MS = 600000;
+
+    private final RssFetchService rssFetchService;
+    private final RssProperties rssProperties;
+    private final BlockingExecutors blockingExecutors;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 최근 작업 (오래된 것부터 밀려난다)
+    private final Map<String, FetchJob> jobs = new LinkedHashMap<>();
+    private FetchJob running;
+    private ExecutorService executor;
+    // SSE 전송용. 느린 구독자가 수집 스레드(작업 잠금)를 붙잡지 않도록 구독자별 큐를 여기서 비운다
+    private ExecutorService streamDispatcher;
+
+    public record Submission(FetchJob job, boolean joined) {
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = blockingExecutors.newExecutor("fetch-job", 1);
+        streamDispatcher = blockingExecutors.newExecutor("fetch-stream", 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        streamDispatcher.shutdownNow();
+    }
+
+    // feedNames가 비어 있으면 전체 피드. 실행 중인 작업이 요청을 포함하지 않으면 FetchJobConflictException
+    public Submission submit(String trigger, Set<String> feedNames) {
+        Set<String> configured = new LinkedHashSet<>();
+        rssProperties.getFeeds().forEach(feed -> configured.add(feed.getName()));
+        List<String> unknown = feedNames.stream().filter(name -> !configured.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 피드: " + unknown);
+        }
+
+        lock.lock();
+        try {
+            if (running != null) {
+                if (!running.covers(feedNames)) {
+                    throw new FetchJobConflictException(running);
+                }
+                log.info("수집 작업 합류 ({}) - {}", trigger, running.getId());
+                return new Submission(running, true);
+            }
+
+            FetchJob job = new FetchJob(UUID.randomUUID().toString().substring(0, 8), trigger,
+                    Set.copyOf(feedNames), rssFetchService.selectFeeds(feedNames).size());
+            running = job;
+            jobs.put(job.getId(), job);
+            if (jobs.size() > MAX_RETAINED_JOBS) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+            executor.execute(() -> run(job));
+            log.info("수집 작업 시작 ({}) - {}, 피드 {}개", trigger, job.getId(), job.getFeedsTotal());
+            return new Submission(job, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public FetchJob get(String jobId) {
+        lock.lock();
+        try {
+            return jobs.get(jobId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<FetchJob> recentJobs() {
+        lock.lock();
+        try {
+            List<FetchJob> recent = new ArrayList<>(jobs.values());
+            return recent.reversed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 아직 받지 않은 피드와 저장 전인 피드를 건너뛴다. 이미 받고 있는 피드 요청은 끝날 때까지 기다린다
+    public void cancel(FetchJob job) {
+        if (job.getState() == FetchJob.State.RUNNING) {
+            job.requestCancel();
+            log.info("수집 작업 취소 요청 - {}", job.getId());
+        }
+    }
+
+    // 피드별 결과를 "feed" 이벤트로, 작업이 끝나면 전체 상태를 "done" 이벤트로 보낸다.
+    // 구독 콜백은 큐에 넣기만 하고 전송은 streamDispatcher에서 한다 (이벤트는 피드 수 + 1개라 큐가 커지지 않는다)
+    public SseEmitter stream(FetchJob job) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        StreamClient client = new StreamClient(emitter);
+        Consumer<FetchResult.FeedResult> subscriber = feedResult -> client.offer("feed", feedResult);
+        emitter.onCompletion(() -> job.unsubscribe(subscriber));
+        emitter.onTimeout(() -> job.unsubscribe(subscriber));
+        emitter.onError(e -> job.unsubscribe(subscriber));
+
+        job.subscribe(subscriber);
+        job.getCompletion().whenComplete((result, error) -> client.offer("done", job.toMap()));
+        return emitter;
+    }
+
+    private void run(FetchJob job) {
+        FetchResult result = null;
+        Exception failure = null;
+        try {
+            result = rssFetchService.fetch(job.getRequestedFeeds(), job::isCancelRequested, job::onFeedDone);
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        // 작업 완료를 기다리던 쪽이 바로 다시 요청하면 새 작업이 시작되도록 먼저 비운다
+        lock.lock();
+        try {
+            running = null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (failure != null) {
+            log.error("수집 작업 실패 - {}: {}", job.getId(), failure.getMessage(), failure);
+            job.fail(failure);
+        } else {
+            job.complete(result);
+            log.info("수집 작업 종료 - {} ({}): {}", job.getId(), job.getState(), result.getSummary());
+        }
+    }
+
+    private record StreamEvent(String name, Object data) {
+    }
+
+    private final class StreamClient {
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        StreamClient(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(String name, Object data) {
+            queue.offer(new StreamEvent(name, data));
+            if (scheduled.compareAndSet(false, true)) {
+                streamDispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                    if ("done".equals(event.name())) {
+                        emitter.complete();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                queue.clear();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    streamDispatcher.execute(this::drain);
+                }
+            }
+        }
+    }
+}
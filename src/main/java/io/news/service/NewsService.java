@@ -1,42 +1,309 @@
 package io.news.service;
 
+import io.news.dto.CursorPage;
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsCursor;
 import io.news.dto.NewsItem;
 import io.news.dto.Page;
 import io.news.dto.SearchResult;
+import io.news.config.FacetProperties;
+import io.news.config.SearchProperties;
+import io.news.event.NewsIngestedEvent;
+import io.news.event.NewsRemovedEvent;
+import io.news.popular.PopularQueries;
+import io.news.repository.AsyncNewsRepository;
 import io.news.repository.NewsRepository;
+import io.news.trace.RequestTracer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class NewsService {
 
     private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final String SPAN = "news.service";
 
     private final NewsRepository newsRepository;
+    private final AsyncNewsRepository asyncNewsRepository;
+    private final SearchCoalescer searchCoalescer;
+    private final RequestTracer requestTracer;
+    private final PopularQueries popularQueries;
+    private final SearchProperties searchProperties;
+    private final FacetProperties facetProperties;
+
+    // 수집·삭제마다 증가하는 데이터 세대. 재시작 후 이전 ETag와 겹치지 않도록 기동 시각에서 시작
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+    // 과부하로 조회를 거절할 때 홈 첫 페이지를 대신 그릴 마지막 결과
+    private volatile Page<NewsItem> cachedLatestNews;
+    // 수집 직후 미리 조회해 둔 인기 검색어의 첫 페이지 (SearchPrewarmer가 채운다)
+    private final Map<String, WarmSearch> warmSearches = new ConcurrentHashMap<>();
+    private volatile long generationChangedAt;
+    // 전체 기사 facet은 기사가 들어오거나 빠질 때만 바뀌므로 같은 세대·같은 시간대 창이면 집계 없이 재사용한다
+    private volatile CachedFacets latestFacets;
+
+    @EventListener
+    public void onNewsIngested(NewsIngestedEvent event) {
+        advanceGeneration();
+    }
+
+    // 지워진 기사가 예열 결과로 남지 않도록 이전 세대 결과(stale 포함)를 모두 버린다. 다음 수집 때 다시 예열
+    @EventListener
+    public void onNewsRemoved(NewsRemovedEvent event) {
+        warmSearches.clear();
+        latestFacets = null;
+        advanceGeneration();
+    }
+
+    private void advanceGeneration() {
+        generation.incrementAndGet();
+        generationChangedAt = System.currentTimeMillis();
+    }
+
+    // 같은 세대의 같은 검색 요청만 묶는다 (수집 후에는 새 결과를 조회)
+    private record SearchKey(String kind, String keyword, int page, int size, long generation) {
+    }
+
+    private record WarmSearch(long generation, Page<SearchResult> page) {
+    }
+
+    private record CachedFacets(long generation, Facets.Query query, Facets facets) {
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public CursorPage<NewsItem> getLatestNews(String cursor, int size) {
+        return requestTracer.span(SPAN, "latestCursor", () -> {
+            List<NewsItem> content;
+            if (cursor == null || cursor.isBlank()) {
+                content = newsRepository.findAll(0, size);
+            } else {
+                NewsCursor.Latest latest = NewsCursor.decodeLatest(cursor);
+                content = newsRepository.findAllBefore(latest.publishedAt(), latest.id(), size);
+            }
+
+            String nextCursor = content.size() < size ? null : NewsCursor.ofLatest(content.get(content.size() - 1));
+            return new CursorPage<>(content, nextCursor);
+        });
+    }
+
+    public CursorPage<SearchResult> search(String keyword, String cursor, int size) {
+        NewsCursor.Search position = cursor == null || cursor.isBlank()
+                ? new NewsCursor.Search(0, size)
+                : NewsCursor.decodeSearch(cursor);
+        SearchKey key = new SearchKey("cursor", keyword, position.page(), position.size(), generation.get());
+
+        return requestTracer.span(SPAN, "searchCursor", () -> {
+            // API 응답의 ETag가 세대 기준이므로 이전 세대 예열 결과는 쓰지 않는다
+            Page<SearchResult> warm = prewarmedFirstPage(keyword, position.page(), position.size(), false);
+            if (warm != null) {
+                return toCursorPage(warm.getContent(), position);
+            }
+            return searchCoalescer.coalesce(key, () -> toCursorPage(
+                    newsRepository.findByKeyword(keyword, position.page(), position.size()).stream()
+                            .map(news -> new SearchResult(news, keyword))
+                            .toList(),
+                    position));
+        });
+    }
+
+    private static CursorPage<SearchResult> toCursorPage(List<SearchResult> content, NewsCursor.Search position) {
+        String nextCursor = content.size() < position.size() || !NewsCursor.hasNextSearch(position)
+                ? null
+                : NewsCursor.ofSearch(position.page() + 1, position.size());
+        return new CursorPage<>(content, nextCursor);
+    }
 
     public Page<SearchResult> search(String keyword, int page) {
-        int totalCount;
-        List<NewsItem> source;
+        SearchKey key = new SearchKey("page", keyword, page, DEFAULT_PAGE_SIZE, generation.get());
+        return requestTracer.span(SPAN, "search", () -> {
+            Page<SearchResult> warm = prewarmedFirstPage(keyword, page, DEFAULT_PAGE_SIZE, true);
+            return warm != null ? warm : searchCoalescer.coalesce(key, () -> doSearch(keyword, page));
+        });
+    }
 
+    private Page<SearchResult> doSearch(String keyword, int page) {
         if (newsRepository.count() > 0) {
-            totalCount = newsRepository.countByKeyword(keyword);
-            source = newsRepository.findByKeyword(keyword, page, DEFAULT_PAGE_SIZE);
+            FacetedHits hits = newsRepository.findWithFacets(keyword, page, DEFAULT_PAGE_SIZE, facetQuery());
+            return toSearchPage(hits, keyword, page);
+        }
+        return searchDummyNews(keyword, page);
+    }
+
+    // 전체 건수와 검색 결과(검색 건수, facet 포함)를 동시에 요청하고 모두 도착하면 페이지를 조립
+    // 같은 검색이 동시에 몰리면 저장소 조회는 한 번만 한다
+    public CompletableFuture<Page<SearchResult>> searchAsync(String keyword, int page) {
+        SearchKey key = new SearchKey("page", keyword, page, DEFAULT_PAGE_SIZE, generation.get());
+        return requestTracer.spanAsync(SPAN, "searchAsync", () -> {
+            Page<SearchResult> warm = prewarmedFirstPage(keyword, page, DEFAULT_PAGE_SIZE, true);
+            return warm != null
+                    ? CompletableFuture.completedFuture(warm)
+                    : searchCoalescer.coalesceAsync(key, () -> doSearchAsync(keyword, page));
+        });
+    }
+
+    // 첫 페이지 검색은 인기 검색어로 세고, 예열해 둔 결과가 있으면 저장소를 거치지 않는다
+    private Page<SearchResult> prewarmedFirstPage(String keyword, int page, int size, boolean allowStale) {
+        if (page != 0) {
+            return null;
+        }
+        popularQueries.record(keyword);
+        WarmSearch warm = size == DEFAULT_PAGE_SIZE ? warmSearches.get(keyword) : null;
+        String outcome;
+        if (warm == null) {
+            outcome = "miss";
+        } else if (warm.generation() == generation.get()) {
+            outcome = "hit";
+        } else if (allowStale && System.currentTimeMillis() - generationChangedAt
+                < searchProperties.getPopular().getMaxStaleMs()) {
+            // 수집 직후 다시 예열될 때까지 잠깐 이전 세대 결과를 쓴다
+            outcome = "stale";
         } else {
-            List<NewsItem> filtered = getDummyNews().stream()
-                    .filter(news -> news.getTitle().toLowerCase().contains(keyword.toLowerCase())
-                            || news.getSummary().toLowerCase().contains(keyword.toLowerCase()))
-                    .toList();
-            totalCount = filtered.size();
-            source = filtered.stream()
-                    .skip((long) page * DEFAULT_PAGE_SIZE)
-                    .limit(DEFAULT_PAGE_SIZE)
-                    .toList();
+            outcome = "miss";
+        }
+        popularQueries.countLookup(outcome);
+        if (outcome.equals("miss")) {
+            return null;
+        }
+        requestTracer.tag("prewarmed", outcome);
+        return warm.page();
+    }
+
+    // 현재 세대로 첫 페이지를 조회해 예열 결과로 둔다. 같은 검색이 진행 중이면 그 조회에 합류
+    public Page<SearchResult> prewarmSearch(String keyword) {
+        long current = generation.get();
+        SearchKey key = new SearchKey("page", keyword, 0, DEFAULT_PAGE_SIZE, current);
+        Page<SearchResult> result = searchCoalescer.coalesce(key, () -> doSearch(keyword, 0));
+        warmSearches.put(keyword, new WarmSearch(current, result));
+        return result;
+    }
+
+    // 예열 대상에서 빠진 검색어의 결과를 버린다
+    public void retainPrewarmed(Collection<String> keywords) {
+        warmSearches.keySet().retainAll(keywords);
+    }
+
+    public int getPrewarmedCount() {
+        return warmSearches.size();
+    }
+
+    private CompletableFuture<Page<SearchResult>> doSearchAsync(String keyword, int page) {
+        CompletableFuture<Integer> totalFuture = asyncNewsRepository.countAsync();
+        CompletableFuture<FacetedHits> hitsFuture =
+                asyncNewsRepository.findWithFacetsAsync(keyword, page, DEFAULT_PAGE_SIZE, facetQuery());
+
+        return totalFuture.thenCombine(hitsFuture, (total, hits) -> total > 0
+                ? toSearchPage(hits, keyword, page)
+                : searchDummyNews(keyword, page));
+    }
+
+    // 목록, 전체 건수, facet을 저장소 조회 한 번으로 받는다
+    public Page<NewsItem> getLatestNews(int page) {
+        return requestTracer.span(SPAN, "latest", () -> {
+            Facets.Query query = facetQuery();
+            CachedFacets cached = cachedLatestFacets(query);
+            long current = generation.get();
+            FacetedHits hits = newsRepository.findWithFacets(null, page, DEFAULT_PAGE_SIZE,
+                    cached != null ? null : query);
+            return toLatestPage(hits, page, query, cached, current);
+        });
+    }
+
+    public CompletableFuture<Page<NewsItem>> getLatestNewsAsync(int page) {
+        return requestTracer.spanAsync(SPAN, "latestAsync", () -> {
+            Facets.Query query = facetQuery();
+            CachedFacets cached = cachedLatestFacets(query);
+            long current = generation.get();
+            return asyncNewsRepository.findWithFacetsAsync(null, page, DEFAULT_PAGE_SIZE,
+                            cached != null ? null : query)
+                    .thenApply(hits -> toLatestPage(hits, page, query, cached, current));
+        });
+    }
+
+    // 매체별/시간대별 기사 수 (keyword가 null이면 전체 기사 기준)
+    public Facets getFacets(String keyword) {
+        return requestTracer.span(SPAN, "facets", () -> {
+            Facets.Query query = facetQuery();
+            if (query == null) {
+                return Facets.EMPTY;
+            }
+            if (keyword != null) {
+                // 검색 첫 페이지와 같은 집계이므로 예열 결과를 쓰거나, 같은 세대의 첫 페이지 검색에 합류한다
+                long current = generation.get();
+                WarmSearch warm = warmSearches.get(keyword);
+                if (warm != null && warm.generation() == current) {
+                    return warm.page().getFacets();
+                }
+                SearchKey key = new SearchKey("page", keyword, 0, DEFAULT_PAGE_SIZE, current);
+                return searchCoalescer.coalesce(key, () -> doSearch(keyword, 0)).getFacets();
+            }
+            CachedFacets cached = cachedLatestFacets(query);
+            if (cached != null) {
+                return cached.facets();
+            }
+            long current = generation.get();
+            Facets facets = newsRepository.findWithFacets(null, 0, 0, query).getFacets();
+            latestFacets = new CachedFacets(current, query, facets);
+            return facets;
+        });
+    }
+
+    private Facets.Query facetQuery() {
+        if (!facetProperties.isEnabled()) {
+            return null;
+        }
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .minusHours(Math.max(1, facetProperties.getHours()) - 1);
+        return new Facets.Query(facetProperties.getPublishers(), since);
+    }
+
+    private CachedFacets cachedLatestFacets(Facets.Query query) {
+        CachedFacets cached = latestFacets;
+        return query != null && cached != null && cached.generation() == generation.get()
+                && cached.query().equals(query) ? cached : null;
+    }
+
+    // 조회를 시작한 세대로 facet을 캐시한다 (조회 중 수집이 끝나면 다음 요청이 다시 집계)
+    private Page<NewsItem> toLatestPage(FacetedHits hits, int page, Facets.Query query, CachedFacets cached,
+                                        long requestedGeneration) {
+        if (hits.getTotal() == 0) {
+            return latestDummyNews(page);
+        }
+        Facets facets = Facets.EMPTY;
+        if (cached != null) {
+            facets = cached.facets();
+        } else if (query != null) {
+            facets = hits.getFacets();
+            latestFacets = new CachedFacets(requestedGeneration, query, facets);
+        }
+        return remember(new Page<>(hits.getItems(), page, DEFAULT_PAGE_SIZE, hits.getTotal(), facets));
+    }
+
+    public Page<NewsItem> getCachedLatestNews() {
+        return cachedLatestNews;
+    }
+
+    private Page<NewsItem> remember(Page<NewsItem> newsPage) {
+        if (newsPage.getPage() == 0) {
+            cachedLatestNews = newsPage;
         }
+        return newsPage;
+    }
 
+    private Page<SearchResult> toSearchPage(List<NewsItem> source, String keyword, int page, int totalCount) {
         List<SearchResult> results = source.stream()
                 .map(news -> new SearchResult(news, keyword))
                 .toList();
@@ -44,23 +311,35 @@ public class NewsService {
         return new Page<>(results, page, DEFAULT_PAGE_SIZE, totalCount);
     }
 
-    public Page<NewsItem> getLatestNews(int page) {
-        int totalCount;
-        List<NewsItem> content;
+    private Page<SearchResult> toSearchPage(FacetedHits hits, String keyword, int page) {
+        List<SearchResult> results = hits.getItems().stream()
+                .map(news -> new SearchResult(news, keyword))
+                .toList();
 
-        if (newsRepository.count() > 0) {
-            totalCount = newsRepository.count();
-            content = newsRepository.findAll(page, DEFAULT_PAGE_SIZE);
-        } else {
-            List<NewsItem> dummy = getDummyNews();
-            totalCount = dummy.size();
-            content = dummy.stream()
-                    .skip((long) page * DEFAULT_PAGE_SIZE)
-                    .limit(DEFAULT_PAGE_SIZE)
-                    .toList();
-        }
+        return new Page<>(results, page, DEFAULT_PAGE_SIZE, hits.getTotal(), hits.getFacets());
+    }
+
+    private Page<SearchResult> searchDummyNews(String keyword, int page) {
+        List<NewsItem> filtered = getDummyNews().stream()
+                .filter(news -> news.getTitle().toLowerCase().contains(keyword.toLowerCase())
+                        || news.getSummary().toLowerCase().contains(keyword.toLowerCase()))
+                .toList();
+        List<NewsItem> source = filtered.stream()
+                .skip((long) page * DEFAULT_PAGE_SIZE)
+                .limit(DEFAULT_PAGE_SIZE)
+                .toList();
+
+        return toSearchPage(source, keyword, page, filtered.size());
+    }
+
+    private Page<NewsItem> latestDummyNews(int page) {
+        List<NewsItem> dummy = getDummyNews();
+        List<NewsItem> content = dummy.stream()
+                .skip((long) page * DEFAULT_PAGE_SIZE)
+                .limit(DEFAULT_PAGE_SIZE)
+                .toList();
 
-        return new Page<>(content, page, DEFAULT_PAGE_SIZE, totalCount);
+        return new Page<>(content, page, DEFAULT_PAGE_SIZE, dummy.size());
     }
 
     private List<NewsItem> getDummyNews() {
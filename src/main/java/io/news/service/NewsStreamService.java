@@ -0,0 +1,229 @@
+package io.news.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.news.config.StreamProperties;
+import io.news.dto.NewsItem;
+import io.news.event.NewsIngestedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 새로 수집된 기사를 SSE 구독자에게 한 번의 브로드캐스트로 전달한다.
+// 연결은 서블릿 비동기 처리로 유지되어 대기 중인 구독자가 요청 스레드를 점유하지 않고,
+// 구독자별 큐가 가득 차면(느린 소비자) 연결을 끊는다.
+// 전송은 구독자마다 자기 가상 스레드에서 한다. emitter.send는 소켓이 막히면 블로킹되므로
+// 공유 풀을 쓰면 멈춘 구독자 몇 명이 나머지 구독자의 전송까지 막는다.
+@Slf4j
+@Service
+public class NewsStreamService {
+
+    private final StreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService dispatcher;
+    private final Counter droppedClients;
+
+    private final Object lock = new Object();
+    private final Deque<StreamEvent> buffer = new ArrayDeque<>();
+    private final Set<Client> clients = new LinkedHashSet<>();
+    private final Set<String> seenUrls;
+    // 재시작 후 이전 프로세스의 이벤트 ID와 겹치지 않도록 기동 시각에서 시작 (데이터 세대와 같은 방식)
+    private final long bootEventId = System.currentTimeMillis();
+    private long lastEventId = bootEventId;
+    private boolean seeded = false;
+
+    public NewsStreamService(StreamProperties properties, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("news-stream-", 0).factory());
+        int capacity = properties.getSeenUrlCapacity();
+        this.seenUrls = Collections.newSetFromMap(new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+        this.droppedClients = Counter.builder("news.stream.dropped").register(meterRegistry);
+        meterRegistry.gauge("news.stream.clients", clients, Set::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    // lastEventId가 있으면 버퍼에 남아 있는 이후 이벤트부터 재전송한다
+    public SseEmitter subscribe(Long resumeFrom) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(e -> remove(client));
+
+        synchronized (lock) {
+            if (clients.size() >= properties.getMaxClients()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "SSE 구독자 수 초과");
+            }
+            if (resumeFrom != null) {
+                StreamEvent oldest = buffer.peekFirst();
+                // 버퍼에서 밀려난 구간이 있거나 다른 프로세스(재시작 전)의 ID면 놓친 이벤트를 알 수 없으므로
+                // 클라이언트가 목록을 새로 불러오도록 알린다
+                boolean evicted = oldest != null && resumeFrom < oldest.id() - 1;
+                if (evicted || resumeFrom < bootEventId || resumeFrom > lastEventId) {
+                    client.offer(StreamEvent.reset(lastEventId));
+                }
+                for (StreamEvent event : buffer) {
+                    if (event.id() > resumeFrom) {
+                        client.offer(event);
+                    }
+                }
+            }
+            clients.add(client);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onNewsIngested(NewsIngestedEvent event) {
+        synchronized (lock) {
+            List<NewsItem> fresh = new ArrayList<>();
+            for (NewsItem item : event.getNewsItems()) {
+                if (item.getUrl() != null && seenUrls.add(item.getUrl())) {
+                    fresh.add(item);
+                }
+            }
+            // 기동 후 첫 수집은 이미 있던 기사와 구분할 수 없으므로 기준선으로만 사용
+            if (!seeded) {
+                seeded = true;
+                return;
+            }
+            for (NewsItem item : fresh) {
+                StreamEvent streamEvent = new StreamEvent(++lastEventId, "news", toJson(item));
+                buffer.addLast(streamEvent);
+                if (buffer.size() > properties.getBufferSize()) {
+                    buffer.removeFirst();
+                }
+                List.copyOf(clients).forEach(client -> client.offer(streamEvent));
+            }
+            if (!fresh.isEmpty()) {
+                log.debug("SSE 브로드캐스트: 신규 {}건, 구독자 {}명", fresh.size(), clients.size());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${news.stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        List<Client> snapshot;
+        synchronized (lock) {
+            snapshot = List.copyOf(clients);
+        }
+        snapshot.forEach(client -> client.offer(StreamEvent.HEARTBEAT));
+    }
+
+    public int getClientCount() {
+        synchronized (lock) {
+            return clients.size();
+        }
+    }
+
+    private void remove(Client client) {
+        synchronized (lock) {
+            clients.remove(client);
+        }
+    }
+
+    private String toJson(NewsItem item) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("title", item.getTitle());
+        data.put("publisher", item.getPublisher());
+        data.put("publishedAt", item.getPublishedAt() != null ? item.getPublishedAtIso() : null);
+        data.put("url", item.getUrl());
+        data.put("thumbnailUrl", item.getThumbnailUrl());
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StreamEvent(long id, String name, String data) {
+        static final StreamEvent HEARTBEAT = new StreamEvent(-1, null, null);
+
+        static StreamEvent reset(long lastId) {
+            return new StreamEvent(lastId, "reset", "{}");
+        }
+    }
+
+    private final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(properties.getClientQueueSize());
+        }
+
+        void offer(StreamEvent event) {
+            if (!queue.offer(event)) {
+                if (event == StreamEvent.HEARTBEAT) {
+                    return;
+                }
+                droppedClients.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event == StreamEvent.HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.id()))
+                                .name(event.name())
+                                .data(event.data()));
+                    }
+                }
+            } catch (Exception e) {
+                remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    dispatcher.execute(this::drain);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.news.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.news.config.RetentionProperties;
+import io.news.dto.NewsItem;
+import io.news.event.NewsRemovedEvent;
+import io.news.repository.ElasticNewsRepository;
+import io.news.repository.InMemoryNewsRepository;
+import io.news.repository.LuceneNewsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 보존 기간/한도를 넘은 기사를 주기적으로 지운다.
+// InMemory는 발행 시각 bucket을 통째로 버리고, Lucene/ES는 발행 시각 범위 삭제로 기간 제한만 적용한다
+@Slf4j
+@Service
+public class RetentionService {
+
+    private final RetentionProperties properties;
+    private final InMemoryNewsRepository inMemoryRepository;
+    private final LuceneNewsRepository luceneRepository;
+    private final ElasticNewsRepository elasticRepository;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer runTimer;
+    private final AtomicLong totalExpired = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile Map<String, Long> lastExpired = Map.of();
+
+    @Autowired
+    public RetentionService(RetentionProperties properties,
+                            InMemoryNewsRepository inMemoryRepository,
+                            @Autowired(required = false) LuceneNewsRepository luceneRepository,
+                            @Autowired(required = false) ElasticNewsRepository elasticRepository,
+                            MeterRegistry meterRegistry,
+                            ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.inMemoryRepository = inMemoryRepository;
+        this.luceneRepository = luceneRepository;
+        this.elasticRepository = elasticRepository;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.runTimer = Timer.builder("news.retention.run").register(meterRegistry);
+        meterRegistry.gauge("news.retention.memory.bytes", inMemoryRepository, InMemoryNewsRepository::getMemoryBytes);
+    }
+
+    // 수집 단계에서 이미 보존 기간이 지난 기사는 저장하지 않는다 (피드에 오래 남은 항목이 매번 다시 들어왔다 지워지지 않도록)
+    public List<NewsItem> dropExpired(List<NewsItem> newsItems) {
+        if (!properties.isEnabled() || properties.getMaxAgeHours() <= 0) {
+            return newsItems;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(properties.getMaxAgeHours());
+        return newsItems.stream()
+                .filter(item -> item.getPublishedAt() == null || item.getPublishedAt().isAfter(cutoff))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${news.retention.expire-interval-ms:60000}",
+            initialDelayString = "${news.retention.expire-interval-ms:60000}")
+    public void expire() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime cutoff = properties.getMaxAgeHours() > 0
+                ? LocalDateTime.now().minusHours(properties.getMaxAgeHours())
+                : null;
+
+        Map<String, Long> expired = new LinkedHashMap<>();
+        run(expired, "memory", () -> inMemoryRepository.expire(
+                cutoff, properties.getMaxItems(), properties.getMaxMemoryBytes()));
+        if (cutoff != null && luceneRepository != null) {
+            run(expired, "lucene", () -> luceneRepository.deleteOlderThan(cutoff));
+        }
+        if (cutoff != null && elasticRepository != null) {
+            run(expired, "elasticsearch", () -> elasticRepository.deleteOlderThan(cutoff));
+        }
+
+        lastRunAt = LocalDateTime.now();
+        lastExpired = expired;
+        sample.stop(runTimer);
+        long total = expired.values().stream().mapToLong(Long::longValue).sum();
+        if (total > 0) {
+            totalExpired.addAndGet(total);
+            log.info("보존 기간 정리: {}", expired);
+            // 만료된 기사가 ETag 304, facet, 예열 결과로 계속 보이지 않도록 세대를 넘긴다
+            eventPublisher.publishEvent(new NewsRemovedEvent("retention", total));
+        }
+    }
+
+    private void run(Map<String, Long> expired, String store, LongSupplier expiry) {
+        try {
+            long count = expiry.getAsLong();
+            expired.put(store, count);
+            Counter.builder("news.retention.expired").tag("store", store).register(meterRegistry).increment(count);
+        } catch (Exception e) {
+            log.warn("보존 기간 정리 실패 ({}): {}", store, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", properties.isEnabled());
+        status.put("maxAgeHours", properties.getMaxAgeHours());
+        status.put("maxItems", properties.getMaxItems());
+        status.put("maxMemoryBytes", properties.getMaxMemoryBytes());
+        status.put("expireIntervalMs", properties.getExpireIntervalMs());
+        status.put("memoryBytes", inMemoryRepository.getMemoryBytes());
+        status.put("lastRunAt", lastRunAt);
+        status.put("lastExpired", lastExpired);
+        status.put("totalExpired", totalExpired.get());
+        return status;
+    }
+}
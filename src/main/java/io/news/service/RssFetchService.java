@@ -3,26 +3,43 @@ package io.news.service;
 import com.rometools.rome.feed.synd.SyndEnclosure;
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
 import com.rometools.rome.io.SyndFeedInput;
 import com.rometools.rome.io.XmlReader;
 import com.rometools.modules.mediarss.MediaEntryModule;
 import com.rometools.modules.mediarss.types.MediaContent;
 import com.rometools.modules.mediarss.types.Thumbnail;
+import io.news.cluster.FeedCoordinator;
+import io.news.config.BlockingExecutors;
 import io.news.config.RssProperties;
+import io.news.dedup.StoryClusterer;
 import io.news.dto.FetchResult;
 import io.news.dto.NewsItem;
+import io.news.event.NewsIngestedEvent;
 import io.news.repository.NewsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Reader;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,49 +50,120 @@ public class RssFetchService {
 
     private final RssProperties rssProperties;
     private final NewsRepository newsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingExecutors blockingExecutors;
+    private final FeedCoordinator feedCoordinator;
+    private final StoryClusterer storyClusterer;
+    private final RetentionService retentionService;
 
-    public FetchResult fetchAll() {
+    private ExecutorService fetchExecutor;
+
+    @PostConstruct
+    public void init() {
+        fetchExecutor = blockingExecutors.newExecutor("rss-fetch", rssProperties.getFetchThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    // feedNames: 수집할 피드 이름 (비어 있으면 전체)
+    // cancelled: true가 되면 아직 받지 않은 피드와 받기만 하고 저장 전인 피드는 건너뛴다
+    // onFeedDone: 피드 하나가 끝날 때마다(성공/실패/취소) 결과로 호출된다 (진행 상황, 기동 웜업 확인용)
+    public FetchResult fetch(Set<String> feedNames, BooleanSupplier cancelled,
+                             Consumer<FetchResult.FeedResult> onFeedDone) {
         FetchResult result = new FetchResult();
-        List<NewsItem> allNews = new ArrayList<>();
-
-        for (RssProperties.FeedConfig feed : rssProperties.getFeeds()) {
-            try {
-                List<NewsItem> news = fetchFromFeed(feed);
-                allNews.addAll(news);
-                result.addSuccess(feed.getName(), news.size());
-                log.info("[성공] {} - {}건 수집", feed.getName(), news.size());
-            } catch (Exception e) {
-                result.addFailure(feed.getName(), e.getMessage());
-                log.error("[실패] {} - {}", feed.getName(), e.getMessage());
-            }
-        }
+        List<NewsItem> allNews = new CopyOnWriteArrayList<>();
 
+        // 피드별로 받는 대로 저장하고, 결과도 끝나는 순서대로 모은다
         // ES는 동일 ID면 upsert, InMemory는 덮어쓰기
-        newsRepository.saveAll(allNews);
+        // 클러스터 모드에서는 이 인스턴스가 리스를 가진 피드만 수집한다
+        // 보존 기간이 지난 기사는 저장 전에 걸러내고, 다른 피드로 이미 들어온 기사의 근접 중복에는 클러스터 ID를 단다
+        List<RssProperties.FeedConfig> feeds = selectFeeds(feedNames);
+        CompletableFuture<?>[] futures = feeds.stream()
+                .map(feed -> CompletableFuture.supplyAsync(() -> {
+                            try {
+                                checkCancelled(cancelled);
+                                List<NewsItem> news = storyClusterer.cluster(
+                                        retentionService.dropExpired(fetchFromFeed(feed)));
+                                checkCancelled(cancelled);
+                                newsRepository.saveAll(news);
+                                return news;
+                            } catch (CancellationException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new CompletionException(e);
+                            }
+                        }, fetchExecutor)
+                        .handle((news, error) -> {
+                            onFeedDone.accept(record(result, feed, news, error));
+                            if (news != null) {
+                                allNews.addAll(news);
+                            }
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+
+        eventPublisher.publishEvent(new NewsIngestedEvent(allNews));
         log.info("수집 완료: {}", result.getSummary());
 
         return result;
     }
 
+    // 이 인스턴스가 수집할 피드 (클러스터 모드면 리스를 가진 피드만)
+    public List<RssProperties.FeedConfig> selectFeeds(Set<String> feedNames) {
+        return feedCoordinator.assignedFeeds(rssProperties.getFeeds()).stream()
+                .filter(feed -> feedNames.isEmpty() || feedNames.contains(feed.getName()))
+                .toList();
+    }
+
+    private FetchResult.FeedResult record(FetchResult result, RssProperties.FeedConfig feed,
+                                          List<NewsItem> news, Throwable error) {
+        if (error == null) {
+            log.info("[성공] {} - {}건 수집", feed.getName(), news.size());
+            return result.addSuccess(feed.getName(), news.size());
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            log.info("[취소] {}", feed.getName());
+            return result.addFailure(feed.getName(), "취소됨");
+        }
+        log.error("[실패] {} - {}", feed.getName(), cause.getMessage());
+        return result.addFailure(feed.getName(), cause.getMessage());
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
     private List<NewsItem> fetchFromFeed(RssProperties.FeedConfig feedConfig) throws Exception {
+        try (XmlReader reader = new XmlReader(URI.create(feedConfig.getUrl()).toURL())) {
+            return parseFeed(reader, feedConfig.getName());
+        }
+    }
+
+    // XML 파싱과 항목 정규화 (네트워크와 분리되어 있어 녹화된 피드로도 호출할 수 있다)
+    List<NewsItem> parseFeed(Reader reader, String publisher) throws FeedException {
         List<NewsItem> newsItems = new ArrayList<>();
 
-        try (XmlReader reader = new XmlReader(URI.create(feedConfig.getUrl()).toURL())) {
-            SyndFeedInput input = new SyndFeedInput();
-            SyndFeed feed = input.build(reader);
-
-            for (SyndEntry entry : feed.getEntries()) {
-                NewsItem newsItem = new NewsItem(
-                        null,
-                        cleanTitle(entry.getTitle()),
-                        extractSummary(entry),
-                        feedConfig.getName(),
-                        convertToLocalDateTime(entry.getPublishedDate()),
-                        entry.getLink(),
-                        extractThumbnail(entry)
-                );
-                newsItems.add(newsItem);
-            }
+        SyndFeedInput input = new SyndFeedInput();
+        SyndFeed feed = input.build(reader);
+
+        for (SyndEntry entry : feed.getEntries()) {
+            NewsItem newsItem = new NewsItem(
+                    null,
+                    cleanTitle(entry.getTitle()),
+                    extractSummary(entry),
+                    publisher,
+                    convertToLocalDateTime(entry.getPublishedDate()),
+                    entry.getLink(),
+                    extractThumbnail(entry)
+            );
+            newsItems.add(newsItem);
         }
 
         return newsItems;
@@ -0,0 +1,115 @@
+package io.news.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.news.config.SearchProperties;
+import io.news.trace.RequestTracer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 같은 검색(검색어, 페이지, 데이터 세대)이 동시에 여러 번 들어오면 저장소 조회는 한 번만 하고 결과를 나눠 준다.
+// 조회가 끝난 뒤 grace 시간 동안 들어온 같은 요청도 그 결과를 받는다. 실패한 결과는 남기지 않는다
+@Component
+public class SearchCoalescer {
+
+    private final SearchProperties.Coalesce properties;
+    private final RequestTracer requestTracer;
+    private final Map<Object, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter reused;
+
+    private static final class Flight<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isUsable(long now) {
+            return !future.isDone() || (!future.isCompletedExceptionally() && now < expiresAt);
+        }
+    }
+
+    public SearchCoalescer(SearchProperties searchProperties, MeterRegistry meterRegistry,
+                           RequestTracer requestTracer) {
+        this.properties = searchProperties.getCoalesce();
+        this.requestTracer = requestTracer;
+        this.executed = outcome(meterRegistry, "executed");
+        this.joined = outcome(meterRegistry, "joined");
+        this.reused = outcome(meterRegistry, "reused");
+        // 저장소까지 가지 않고 끝난 요청 비율
+        meterRegistry.gauge("news.search.coalesce.ratio", this, SearchCoalescer::coalescedRatio);
+        meterRegistry.gaugeMapSize("news.search.coalesce.inflight", Tags.empty(), flights);
+    }
+
+    public <T> T coalesce(Object key, Supplier<T> loader) {
+        try {
+            return coalesceAsync(key, () -> CompletableFuture.completedFuture(loader.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> coalesceAsync(Object key, Supplier<CompletableFuture<T>> loader) {
+        if (!properties.isEnabled()) {
+            executed.increment();
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        Flight<T> created = new Flight<>();
+        Flight<T> flight = (Flight<T>) flights.compute(key, (k, existing) ->
+                existing != null && existing.isUsable(now) ? existing : created);
+
+        if (flight != created) {
+            boolean done = flight.future.isDone();
+            (done ? reused : joined).increment();
+            requestTracer.tag("coalesce", done ? "reused" : "joined");
+            return flight.future.copy();
+        }
+
+        executed.increment();
+        CompletableFuture<T> source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((value, error) -> {
+            if (error != null || properties.getGraceMs() <= 0) {
+                flights.remove(key, created);
+            } else {
+                created.expiresAt = System.currentTimeMillis() + properties.getGraceMs();
+                CompletableFuture.delayedExecutor(properties.getGraceMs(), TimeUnit.MILLISECONDS)
+                        .execute(() -> flights.remove(key, created));
+            }
+            if (error != null) {
+                created.future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                created.future.complete(value);
+            }
+        });
+        return created.future.copy();
+    }
+
+    private double coalescedRatio() {
+        double total = executed.count() + joined.count() + reused.count();
+        return total == 0 ? 0 : (joined.count() + reused.count()) / total;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("news.search.coalesce.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
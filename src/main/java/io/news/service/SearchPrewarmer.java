@@ -0,0 +1,114 @@
+package io.news.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.news.config.BlockingExecutors;
+import io.news.config.SearchProperties;
+import io.news.dto.Page;
+import io.news.dto.SearchResult;
+import io.news.event.NewsIngestedEvent;
+import io.news.popular.PopularQueries;
+import io.news.view.NewsCardRenderer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 새 기사가 저장되면 인기 검색어의 첫 페이지를 백그라운드에서 다시 조회하고 카드까지 렌더링해 둔다.
+// 수집 뒤 인기 검색어를 처음 찾는 사용자가 저장소 조회 비용을 치르지 않도록
+@Slf4j
+@Service
+public class SearchPrewarmer {
+
+    private final NewsService newsService;
+    private final PopularQueries popularQueries;
+    private final NewsCardRenderer newsCardRenderer;
+    private final SearchProperties.Popular properties;
+    private final ExecutorService executor;
+    private final Timer runTimer;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile LocalDateTime lastRunAt;
+    private volatile List<String> lastWarmed = List.of();
+    private volatile long lastDurationMs;
+
+    public SearchPrewarmer(NewsService newsService, PopularQueries popularQueries,
+                           NewsCardRenderer newsCardRenderer, SearchProperties searchProperties,
+                           BlockingExecutors blockingExecutors, MeterRegistry meterRegistry) {
+        this.newsService = newsService;
+        this.popularQueries = popularQueries;
+        this.newsCardRenderer = newsCardRenderer;
+        this.properties = searchProperties.getPopular();
+        this.executor = blockingExecutors.newExecutor("search-prewarm", 1);
+        this.runTimer = Timer.builder("news.search.prewarm.run").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 수집 이벤트는 수집 작업이 끝날 때와 피어의 복제 배치를 적용할 때마다 오므로 prewarmDelayMs 동안 모아 한 번만 예열한다
+    @EventListener
+    public void onNewsIngested(NewsIngestedEvent event) {
+        if (!properties.isEnabled() || properties.getPrewarmTopK() <= 0) {
+            return;
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            CompletableFuture.delayedExecutor(properties.getPrewarmDelayMs(), TimeUnit.MILLISECONDS, executor)
+                    .execute(this::prewarm);
+        }
+    }
+
+    private void prewarm() {
+        // 예열 중 새로 들어온 수집은 다음 예열을 예약한다
+        scheduled.set(false);
+        List<String> keywords = popularQueries.prewarmCandidates();
+        newsService.retainPrewarmed(keywords);
+        if (keywords.isEmpty()) {
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        List<String> warmed = runTimer.record(() -> keywords.stream()
+                .filter(this::prewarm)
+                .toList());
+        lastDurationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        lastRunAt = LocalDateTime.now();
+        lastWarmed = warmed;
+        log.debug("인기 검색어 예열 {}/{}개 ({}ms)", warmed.size(), keywords.size(), lastDurationMs);
+    }
+
+    private boolean prewarm(String keyword) {
+        try {
+            Page<SearchResult> firstPage = newsService.prewarmSearch(keyword);
+            if (newsCardRenderer.isEnabled()) {
+                newsCardRenderer.renderSearchCards(firstPage.getContent(), keyword);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("인기 검색어 예열 실패 '{}': {}", keyword, e.getMessage());
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("topK", properties.getPrewarmTopK());
+        status.put("minCount", properties.getMinCount());
+        status.put("maxStaleMs", properties.getMaxStaleMs());
+        status.put("prewarmed", newsService.getPrewarmedCount());
+        status.put("lastRunAt", lastRunAt);
+        status.put("lastDurationMs", lastDurationMs);
+        status.put("lastWarmed", lastWarmed);
+        return status;
+    }
+}
@@ -0,0 +1,371 @@
+package io.news.service;
+
+import io.news.config.ThumbnailProperties;
+import io.news.document.NewsDocument;
+import io.news.dto.NewsItem;
+import io.news.event.NewsIngestedEvent;
+import io.news.repository.NewsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// 언론사 썸네일을 한 번만 받아 카드 크기로 줄이고, 용량 제한이 있는 디스크 LRU 캐시에 보관한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThumbnailService {
+
+    private static final String SUFFIX = ".jpg";
+
+    private final ThumbnailProperties properties;
+    private final NewsRepository newsRepository;
+
+    private final Map<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // 축출 시 락을 쥔 채 파일을 지우므로 synchronized 대신 ReentrantLock (가상 스레드 pinning 방지)
+    private final ReentrantLock entriesLock = new ReentrantLock();
+    private final Map<String, CompletableFuture<Optional<Path>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedUntil = new ConcurrentHashMap<>();
+    // 기사 ID → 원본 이미지 URL (LRU). 수집 때 URL 해시 ID(ES/Lucene/복제 모드 ID)로 채우고, 그 밖의 ID는 첫 조회 때 채운다
+    private final Map<Long, String> sourceUrls = new LinkedHashMap<>(1024, 0.75f, true);
+    private final ReentrantLock sourceUrlsLock = new ReentrantLock();
+    private long cachedBytes = 0;
+    private Path cacheDir;
+    private HttpClient httpClient;
+    private ExecutorService prefetchExecutor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        cacheDir = Path.of(properties.getCacheDir());
+        Files.createDirectories(cacheDir);
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getFetchTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        // 디코딩/리사이즈가 CPU와 메모리를 많이 쓰므로 가상 스레드 모드에서도 고정 크기 풀로 동시 처리 수를 제한
+        prefetchExecutor = Executors.newFixedThreadPool(properties.getPrefetchThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // 기존 캐시 파일을 마지막 수정 시각 순으로 LRU에 적재
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(path -> path.toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(path -> path.toFile().lastModified()))
+                    .forEach(path -> {
+                        long size = path.toFile().length();
+                        entriesLock.lock();
+                        try {
+                            entries.put(path.getFileName().toString(), size);
+                            cachedBytes += size;
+                        } finally {
+                            entriesLock.unlock();
+                        }
+                    });
+        }
+        log.info("썸네일 캐시 적재 완료: {}개 ({} bytes)", entries.size(), cachedBytes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // 카드의 /thumb/{id}가 가리키는 원본 이미지 URL. 한 페이지에 카드가 30개라 저장소(ES) 조회 대신 기억해 둔 값을 쓴다
+    public Optional<String> findSourceUrl(Long id) {
+        sourceUrlsLock.lock();
+        try {
+            String sourceUrl = sourceUrls.get(id);
+            if (sourceUrl != null) {
+                return Optional.of(sourceUrl);
+            }
+        } finally {
+            sourceUrlsLock.unlock();
+        }
+        Optional<String> sourceUrl = newsRepository.findById(id)
+                .map(NewsItem::getThumbnailUrl)
+                .filter(url -> !url.isBlank());
+        sourceUrl.ifPresent(url -> rememberSource(id, url));
+        return sourceUrl;
+    }
+
+    private void rememberSource(Long id, String sourceUrl) {
+        sourceUrlsLock.lock();
+        try {
+            sourceUrls.put(id, sourceUrl);
+            Iterator<Long> iterator = sourceUrls.keySet().iterator();
+            while (sourceUrls.size() > properties.getSourceCapacity() && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            sourceUrlsLock.unlock();
+        }
+    }
+
+    // 피드 이미지 URL에는 공백이나 한글이 그대로 들어 있는 경우가 있어 URI에 쓸 수 없는 문자만 퍼센트 인코딩한다
+    public static URI toUri(String sourceUrl) throws URISyntaxException {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : sourceUrl.trim().getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xff;
+            if (c <= 0x20 || c >= 0x7f || "\"<>\\^`{|}".indexOf(c) >= 0) {
+                encoded.append('%').append(HexFormat.of().withUpperCase().toHexDigits((byte) c));
+            } else {
+                encoded.append((char) c);
+            }
+        }
+        URI uri = new URI(encoded.toString());
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new URISyntaxException(sourceUrl, "http(s) 주소가 아님");
+        }
+        return uri;
+    }
+
+    // 캐시된(또는 방금 만든) 썸네일 파일. 받을 수 없거나 디코딩할 수 없는 이미지면 empty
+    public Optional<Path> getThumbnail(String sourceUrl) {
+        String fileName = fileName(sourceUrl);
+        entriesLock.lock();
+        try {
+            if (entries.get(fileName) != null) {
+                return Optional.of(cacheDir.resolve(fileName));
+            }
+        } finally {
+            entriesLock.unlock();
+        }
+        Long until = failedUntil.get(sourceUrl);
+        if (until != null && until > System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+
+        // 같은 이미지에 대한 동시 요청은 한 번만 받아온다
+        CompletableFuture<Optional<Path>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<Path>> existing = inFlight.putIfAbsent(sourceUrl, future);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Optional<Path> result = fetchAndStore(sourceUrl, fileName);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.complete(Optional.empty());
+            throw e;
+        } finally {
+            inFlight.remove(sourceUrl);
+        }
+    }
+
+    public String etag(String sourceUrl) {
+        return "\"" + fileName(sourceUrl).replace(SUFFIX, "") + "\"";
+    }
+
+    @EventListener
+    public void onNewsIngested(NewsIngestedEvent event) {
+        for (NewsItem item : event.getNewsItems()) {
+            if (item.getUrl() != null && item.getThumbnailUrl() != null && !item.getThumbnailUrl().isBlank()) {
+                Long id = item.getId() != null ? item.getId() : NewsDocument.from(item).toNewsItem().getId();
+                rememberSource(id, item.getThumbnailUrl());
+            }
+        }
+        if (!properties.isEnabled() || !properties.isPrefetchOnIngest()) {
+            return;
+        }
+        event.getNewsItems().stream()
+                .map(NewsItem::getThumbnailUrl)
+                .filter(url -> url != null && !url.isBlank())
+                .distinct()
+                .forEach(url -> prefetchExecutor.execute(() -> getThumbnail(url)));
+    }
+
+    private Optional<Path> fetchAndStore(String sourceUrl, String fileName) {
+        URI uri;
+        try {
+            uri = toUri(sourceUrl);
+        } catch (URISyntaxException e) {
+            return markFailed(sourceUrl, "잘못된 이미지 주소: " + e.getReason());
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(properties.getFetchTimeoutMs()))
+                    .header("User-Agent", "news-service-thumbnail/1.0")
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                return markFailed(sourceUrl, "HTTP " + response.statusCode());
+            }
+            long maxBytes = properties.getMaxSourceBytes();
+            long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            if (contentLength > maxBytes) {
+                response.body().close();
+                return markFailed(sourceUrl, "원본이 너무 큼: " + contentLength + " bytes");
+            }
+
+            // Content-Length가 없거나 틀린 응답도 상한 + 1바이트까지만 읽는다
+            byte[] bytes;
+            try (InputStream body = response.body()) {
+                bytes = body.readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE - 8));
+            }
+            if (bytes.length > maxBytes) {
+                return markFailed(sourceUrl, "원본이 " + maxBytes + " bytes를 넘음");
+            }
+            BufferedImage source = decode(bytes);
+            if (source == null) {
+                return markFailed(sourceUrl, "지원하지 않는 이미지 형식");
+            }
+
+            Path temp = Files.createTempFile(cacheDir, "thumb", ".tmp");
+            ImageIO.write(resize(source), "jpg", temp.toFile());
+            Path target = cacheDir.resolve(fileName);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            register(fileName, Files.size(target));
+            return Optional.of(target);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (Exception e) {
+            return markFailed(sourceUrl, e.getMessage());
+        }
+    }
+
+    // 헤더에서 크기를 먼저 읽어 너무 큰 이미지는 디코딩하지 않고, 카드 크기의 몇 배 이상이면 서브샘플링해 읽는다
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > properties.getMaxSourcePixels()) {
+                    throw new IOException("이미지가 너무 큼: " + width + "x" + height);
+                }
+                // 줄인 뒤에도 카드 영역(가로, 세로 모두)을 채울 수 있는 만큼만 건너뛴다
+                int step = Math.max(1, Math.min(width / properties.getWidth(), height / properties.getHeight()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Optional<Path> markFailed(String sourceUrl, String reason) {
+        log.debug("썸네일 수집 실패: {} - {}", sourceUrl, reason);
+        failedUntil.put(sourceUrl, System.currentTimeMillis() + properties.getFailureTtlMs());
+        return Optional.empty();
+    }
+
+    // 카드 영역(object-fit: cover)을 채우는 크기로 축소 후 가운데를 잘라낸다
+    private BufferedImage resize(BufferedImage source) {
+        int width = properties.getWidth();
+        int height = properties.getHeight();
+        double scale = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        scale = Math.min(scale, 1.0);
+        int scaledWidth = (int) Math.round(source.getWidth() * scale);
+        int scaledHeight = (int) Math.round(source.getHeight() * scale);
+        int targetWidth = Math.min(width, scaledWidth);
+        int targetHeight = Math.min(height, scaledHeight);
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source,
+                    (targetWidth - scaledWidth) / 2, (targetHeight - scaledHeight) / 2,
+                    scaledWidth, scaledHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void register(String fileName, long size) {
+        entriesLock.lock();
+        try {
+            Long previous = entries.put(fileName, size);
+            cachedBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (cachedBytes > properties.getMaxCacheBytes() && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(fileName)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+                } catch (IOException e) {
+                    log.warn("썸네일 캐시 삭제 실패: {}", e.getMessage());
+                }
+                cachedBytes -= eldest.getValue();
+                iterator.remove();
+            }
+        } finally {
+            entriesLock.unlock();
+        }
+    }
+
+    private String fileName(String sourceUrl) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(sourceUrl.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16) + SUFFIX;
+        } catch (Exception e) {
+            return Integer.toHexString(sourceUrl.hashCode()) + SUFFIX;
+        }
+    }
+}
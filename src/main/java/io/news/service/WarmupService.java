@@ -0,0 +1,154 @@
+package io.news.service;
+
+import io.news.config.BlockingExecutors;
+import io.news.config.RssProperties;
+import io.news.config.WarmupProperties;
+import io.news.dto.FetchResult;
+import io.news.dto.NewsItem;
+import io.news.dto.Page;
+import io.news.repository.NewsRepository;
+import io.news.view.NewsCardRenderer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 기동 직후 초기 수집을 백그라운드로 돌리고, 실제 데이터가 준비될 때까지 readiness를 REFUSING_TRAFFIC으로 유지한다
+@Slf4j
+@Service
+public class WarmupService {
+
+    private final FetchJobService fetchJobService;
+    private final NewsRepository newsRepository;
+    private final NewsService newsService;
+    private final NewsCardRenderer newsCardRenderer;
+    private final RssProperties rssProperties;
+    private final WarmupProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+
+    private final AtomicInteger savedFeeds = new AtomicInteger();
+    private final AtomicBoolean completing = new AtomicBoolean(false);
+    private boolean ready = false;
+    private long startedAt;
+
+    public WarmupService(FetchJobService fetchJobService, NewsRepository newsRepository, NewsService newsService,
+                         NewsCardRenderer newsCardRenderer, RssProperties rssProperties,
+                         WarmupProperties properties, ApplicationEventPublisher eventPublisher,
+                         BlockingExecutors blockingExecutors) {
+        this.fetchJobService = fetchJobService;
+        this.newsRepository = newsRepository;
+        this.newsService = newsService;
+        this.newsCardRenderer = newsCardRenderer;
+        this.rssProperties = rssProperties;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.executor = blockingExecutors.newExecutor("warmup", 2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        startedAt = System.currentTimeMillis();
+        int requiredFeeds = Math.min(properties.getMinFeeds(), rssProperties.getFeeds().size());
+
+        // 세그먼트 로그/Lucene/ES에 이전 데이터가 있으면 수집을 기다리지 않는다
+        int persisted = newsRepository.count();
+        if (persisted > 0 || requiredFeeds == 0) {
+            log.info("웜업: 저장된 뉴스 {}건 - 캐시 예열 후 트래픽 수신", persisted);
+            executor.execute(() -> completeWarmup("저장된 데이터"));
+        }
+
+        executor.execute(() -> {
+            log.info("애플리케이션 시작 - 초기 RSS 수집 실행 (백그라운드)");
+            try {
+                FetchJob job = fetchJobService.submit("warmup", Set.of()).job();
+                job.subscribe(feedResult -> {
+                    if (feedResult.isSuccess() && savedFeeds.incrementAndGet() == requiredFeeds) {
+                        completeWarmup("피드 " + requiredFeeds + "개 수집");
+                    }
+                });
+                FetchResult result = job.getCompletion().join();
+                if (result.hasFailures()) {
+                    log.warn("초기 RSS 수집 부분 완료: {}", result.getSummary());
+                } else {
+                    log.info("초기 RSS 수집 완료: {}", result.getSummary());
+                    // 클러스터 모드에서는 맡은 피드가 minFeeds보다 적을 수 있다
+                    completeWarmup("할당된 피드 " + result.getSuccessCount() + "개 수집");
+                }
+            } catch (Exception e) {
+                log.error("초기 RSS 수집 중 예외 발생 - {}", e.getMessage(), e);
+            }
+        });
+
+        CompletableFuture.delayedExecutor(properties.getTimeoutMs(), TimeUnit.MILLISECONDS, executor)
+                .execute(() -> {
+                    if (!isReady()) {
+                        log.warn("웜업 시간 초과 ({}ms, 저장된 피드 {}/{}) - 트래픽 수신 시작",
+                                properties.getTimeoutMs(), savedFeeds.get(), requiredFeeds);
+                        markReady();
+                    }
+                });
+    }
+
+    // Spring Boot는 ApplicationReadyEvent 직후 ACCEPTING_TRAFFIC을 발행하므로 웜업 전이면 되돌린다.
+    // ApplicationAvailabilityBean이 먼저 상태를 기록한 뒤 호출되므로 REFUSING_TRAFFIC이 마지막 상태가 된다.
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        synchronized (this) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !ready) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }
+    }
+
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    private void completeWarmup(String reason) {
+        if (isReady() || !completing.compareAndSet(false, true)) {
+            return;
+        }
+        warmCaches();
+        markReady();
+        log.info("웜업 완료 ({}) - {}ms, 뉴스 {}건", reason, System.currentTimeMillis() - startedAt, newsRepository.count());
+    }
+
+    // 첫 페이지를 미리 조회/렌더링해 저장소 경로(헤징 지연 통계, Lucene searcher)와 카드 프래그먼트 캐시를 채운다
+    private void warmCaches() {
+        try {
+            Page<NewsItem> firstPage = newsService.getLatestNews(0);
+            if (newsCardRenderer.isEnabled()) {
+                newsCardRenderer.renderCards(firstPage.getContent());
+            }
+        } catch (Exception e) {
+            log.warn("웜업 캐시 예열 실패: {}", e.getMessage());
+        }
+    }
+
+    private void markReady() {
+        synchronized (this) {
+            if (ready) {
+                return;
+            }
+            ready = true;
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+}
@@ -0,0 +1,886 @@
+package io.news.storage;
+
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 열 단위 배치: 기사 하나 = int 슬롯 번호. ID/발행 시각/매체 코드는 원시 배열에, 제목/요약/URL/썸네일은
+// UTF-8 바이트로 TextArena에 둔다. 매체명은 사전 인코딩하고, ID/URL 색인은 원시 키 해시맵이다.
+// NewsItem은 응답에 나가는 행만 그때그때 만든다.
+// 최신순 정렬 배열은 쓰기 때 새 슬롯만 모아 두었다가 다음 조회에서 정렬해 기존 배열과 병합한다.
+// 슬롯과 텍스트 청크는 발행 시각 bucket별로 묶여 있어 만료는 가장 오래된 bucket을 통째로 버린다.
+// 근접 중복 접기가 켜져 있으면 클러스터 ID가 있는 슬롯은 정렬 배열과 facet에 넣지 않는다 (저장과 ID/URL 조회는 그대로).
+public class CompactNewsStore implements NewsStore {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long DEAD = -1;
+    private static final int TITLE = 0;
+    private static final int SUMMARY = 1;
+    private static final int URL = 2;
+    private static final int THUMBNAIL = 3;
+    private static final int CLUSTER = 4;
+    private static final int FIELDS = 5;
+    // 레코드 플래그 바이트에서 근접 중복으로 묶인 기사 표시
+    private static final int DUPLICATE_FLAG = 0x80;
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024;
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    private final long bucketSeconds;
+    private final int chunkSizeBytes;
+    private final boolean offHeap;
+    private final boolean collapseDuplicates;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TextArena arena;
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+    private long textBytes;
+
+    // 슬롯별 열
+    private long[] ids;
+    private long[] epochSeconds;
+    private int[] nanos;
+    private int[] publisherCodes;
+    private long[] addresses;
+    // bucket의 슬롯 목록 안 위치 (지울 때 맨 끝 슬롯과 바꿔 O(1)로 뺀다)
+    private int[] bucketPositions;
+    private int slotCount;
+    private int live;
+    // 살아 있는 슬롯 중 목록에서 접힌 수
+    private int hidden;
+
+    private final LongIntHashMap slotsById = new LongIntHashMap();
+    private final LongIntHashMap slotsByUrlHash = new LongIntHashMap();
+    private final List<String> publishers = new ArrayList<>();
+    private final Map<String, Integer> publisherCodeByName = new HashMap<>();
+    private final FacetCounter facets = new FacetCounter();
+
+    // 최신순 정렬된 살아 있는 슬롯 + 아직 병합하지 않은 새 슬롯
+    private int[] order = new int[0];
+    private final IntList pending = new IntList();
+    private volatile boolean dirty;
+    // 죽은 슬롯은 정렬 배열에서 빠진 뒤(다음 병합 이후)에야 재사용한다
+    private final IntList released = new IntList();
+    private final IntList free = new IntList();
+
+    private static final class Bucket {
+        final long key;
+        final IntList slots = new IntList();
+        TextArena.Region region = new TextArena.Region();
+        long garbageBytes;
+
+        Bucket(long key) {
+            this.key = key;
+        }
+    }
+
+    public CompactNewsStore(long bucketSeconds, int chunkSizeBytes, boolean offHeap, boolean collapseDuplicates) {
+        this.bucketSeconds = bucketSeconds;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.offHeap = offHeap;
+        this.collapseDuplicates = collapseDuplicates;
+        reset();
+    }
+
+    @Override
+    public void put(NewsItem newsItem) {
+        byte[] url = bytes(newsItem.getUrl());
+        byte[] record = encode(newsItem, url);
+        LocalDateTime publishedAt = newsItem.getPublishedAt();
+        long seconds = publishedAt != null ? publishedAt.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+        int nano = publishedAt != null ? publishedAt.getNano() : 0;
+        lock.writeLock().lock();
+        try {
+            int publisherCode = publisherCode(newsItem.getPublisher());
+            int previous = slotsById.get(newsItem.getId());
+            if (previous != LongIntHashMap.MISSING) {
+                // 재수집으로 같은 내용이 다시 들어오면 아무것도 바꾸지 않는다 (아레나에 쓰레기를 만들지 않도록)
+                if (epochSeconds[previous] == seconds && nanos[previous] == nano
+                        && publisherCodes[previous] == publisherCode && sameRecord(previous, record)) {
+                    return;
+                }
+                kill(previous);
+            }
+            long urlHash = 0;
+            if (url != null) {
+                urlHash = hash(url);
+                int sameUrl = findSlotByUrl(url, urlHash);
+                if (sameUrl != LongIntHashMap.MISSING) {
+                    kill(sameUrl);
+                }
+            }
+
+            int slot = allocateSlot();
+            ids[slot] = newsItem.getId();
+            epochSeconds[slot] = seconds;
+            nanos[slot] = nano;
+            publisherCodes[slot] = publisherCode;
+            Bucket bucket = buckets.computeIfAbsent(bucketKey(seconds), Bucket::new);
+            addresses[slot] = arena.append(bucket.region, record);
+            bucketPositions[slot] = bucket.slots.size;
+            bucket.slots.add(slot);
+            textBytes += record.length;
+            slotsById.put(newsItem.getId(), slot);
+            if (url != null) {
+                slotsByUrlHash.put(urlHash, slot);
+            }
+            live++;
+            if (hidden(slot)) {
+                hidden++;
+            } else {
+                facets.add(newsItem.getPublisher(), seconds);
+                pending.add(slot);
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public LocalDateTime oldestBucketEnd() {
+        lock.readLock().lock();
+        try {
+            if (buckets.isEmpty()) {
+                return null;
+            }
+            long key = buckets.firstKey();
+            return key == bucketKey(NO_TIME)
+                    ? LocalDateTime.MIN
+                    : LocalDateTime.ofEpochSecond((key + 1) * bucketSeconds, 0, ZoneOffset.UTC);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int bucketCount() {
+        lock.readLock().lock();
+        try {
+            return buckets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 가장 오래된 bucket: 슬롯들을 색인에서 빼고 텍스트 청크는 통째로 놓는다 (기사별 레코드는 건드리지 않음)
+    @Override
+    public long[] dropOldestBucket() {
+        lock.writeLock().lock();
+        try {
+            Map.Entry<Long, Bucket> oldest = buckets.pollFirstEntry();
+            if (oldest == null) {
+                return new long[0];
+            }
+            Bucket bucket = oldest.getValue();
+            long[] dropped = new long[bucket.slots.size];
+            for (int i = 0; i < bucket.slots.size; i++) {
+                int slot = bucket.slots.values[i];
+                dropped[i] = ids[slot];
+                if (hidden(slot)) {
+                    hidden--;
+                }
+                unindex(slot);
+                addresses[slot] = DEAD;
+                released.add(slot);
+            }
+            live -= bucket.slots.size;
+            textBytes -= bucket.region.getUsedBytes() - bucket.garbageBytes;
+            arena.release(bucket.region);
+            dirty = true;
+            return dropped;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.getAllocatedBytes() + indexBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Long findIdByUrl(String url) {
+        byte[] bytes = bytes(url);
+        lock.readLock().lock();
+        try {
+            int slot = findSlotByUrl(bytes, hash(bytes));
+            return slot != LongIntHashMap.MISSING ? ids[slot] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NewsItem get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot != LongIntHashMap.MISSING ? materialize(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return false;
+            }
+            kill(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<NewsItem> page(long offset, int limit) {
+        return readSorted(() -> {
+            List<NewsItem> items = new ArrayList<>();
+            long end = Math.min(order.length, offset + limit);
+            for (long i = offset; i < end; i++) {
+                items.add(materialize(order[(int) i]));
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public List<NewsItem> pageBefore(LocalDateTime publishedAt, long id, int limit) {
+        long seconds = publishedAt != null ? publishedAt.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+        int nano = publishedAt != null ? publishedAt.getNano() : 0;
+        return readSorted(() -> {
+            // 커서보다 뒤(더 오래된)인 첫 위치
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isAfter(order[mid], seconds, nano, id)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            List<NewsItem> items = new ArrayList<>();
+            for (int i = low; i < order.length && items.size() < limit; i++) {
+                items.add(materialize(order[i]));
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public List<NewsItem> search(String keyword, long offset, int limit) {
+        byte[] needle = keyword.getBytes(StandardCharsets.UTF_8);
+        return readSorted(() -> {
+            List<NewsItem> items = new ArrayList<>();
+            long skipped = 0;
+            for (int i = 0; i < order.length && items.size() < limit; i++) {
+                if (matches(order[i], keyword, needle)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        items.add(materialize(order[i]));
+                    }
+                }
+            }
+            return items;
+        });
+    }
+
+    @Override
+    public int countMatches(String keyword) {
+        byte[] needle = keyword.getBytes(StandardCharsets.UTF_8);
+        return readSorted(() -> {
+            int count = 0;
+            for (int slot : order) {
+                if (matches(slot, keyword, needle)) count++;
+            }
+            return count;
+        });
+    }
+
+    // 검색 facet은 훑는 김에 열 배열(매체 코드, 발행 시각)에서 센다 (일치한 행도 페이지 밖이면 NewsItem을 만들지 않음)
+    @Override
+    public FacetedHits pageWithFacets(String keyword, long offset, int limit, Facets.Query query) {
+        if (keyword == null) {
+            return new FacetedHits(page(offset, limit), visibleSize(), query != null ? facets.read(query) : Facets.EMPTY);
+        }
+        byte[] needle = keyword.getBytes(StandardCharsets.UTF_8);
+        return readSorted(() -> {
+            List<NewsItem> items = new ArrayList<>();
+            long[] publisherCounts = new long[publishers.size()];
+            Map<Long, Long> hourCounts = new HashMap<>();
+            int total = 0;
+            for (int slot : order) {
+                if (!matches(slot, keyword, needle)) {
+                    continue;
+                }
+                if (total >= offset && items.size() < limit) {
+                    items.add(materialize(slot));
+                }
+                total++;
+                if (query != null) {
+                    if (publisherCodes[slot] >= 0) {
+                        publisherCounts[publisherCodes[slot]]++;
+                    }
+                    if (epochSeconds[slot] != NO_TIME) {
+                        hourCounts.merge(Math.floorDiv(epochSeconds[slot], 3600), 1L, Long::sum);
+                    }
+                }
+            }
+            if (query == null) {
+                return new FacetedHits(items, total, Facets.EMPTY);
+            }
+            Map<String, Long> byPublisher = new HashMap<>();
+            for (int code = 0; code < publisherCounts.length; code++) {
+                if (publisherCounts[code] > 0) {
+                    byPublisher.put(publishers.get(code), publisherCounts[code]);
+                }
+            }
+            Map<LocalDateTime, Long> byHour = new HashMap<>();
+            hourCounts.forEach((hour, count) -> byHour.put(Facets.hourOf(hour * 3600), count));
+            return new FacetedHits(items, total, Facets.of(byPublisher, byHour, query));
+        });
+    }
+
+    @Override
+    public List<NewsItem> snapshot() {
+        lock.readLock().lock();
+        try {
+            List<NewsItem> items = new ArrayList<>(live);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (addresses[slot] != DEAD) {
+                    items.add(materialize(slot));
+                }
+            }
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("layout", "compact");
+            status.put("offHeap", offHeap);
+            status.put("items", live);
+            status.put("collapsed", hidden);
+            status.put("buckets", buckets.size());
+            status.put("publishers", publishers.size());
+            status.put("textBytes", textBytes);
+            status.put("arenaBytes", arena.getAllocatedBytes());
+            status.put("indexBytes", indexBytes());
+            return status;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 정렬 배열이 최신이 아니면 쓰기 락으로 병합한 뒤 읽기 락으로 내려와 조회한다
+    private <T> T readSorted(Supplier<T> query) {
+        lock.readLock().lock();
+        if (dirty) {
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            try {
+                if (dirty) {
+                    mergePending();
+                }
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void mergePending() {
+        int[] fresh = new int[pending.size];
+        int freshCount = 0;
+        for (int i = 0; i < pending.size; i++) {
+            int slot = pending.values[i];
+            if (addresses[slot] != DEAD) {
+                fresh[freshCount++] = slot;
+            }
+        }
+        sort(fresh, freshCount);
+
+        int[] merged = new int[live - hidden];
+        int m = 0;
+        int i = 0;
+        int j = 0;
+        while (i < order.length || j < freshCount) {
+            if (i < order.length && addresses[order[i]] == DEAD) {
+                i++;
+            } else if (j >= freshCount || (i < order.length && compare(order[i], fresh[j]) <= 0)) {
+                merged[m++] = order[i++];
+            } else {
+                merged[m++] = fresh[j++];
+            }
+        }
+        order = merged;
+        pending.size = 0;
+        for (int k = 0; k < released.size; k++) {
+            free.add(released.values[k]);
+        }
+        released.size = 0;
+        dirty = false;
+    }
+
+    // 최신순 비교: a가 앞이면 음수
+    private int compare(int a, int b) {
+        int c = Long.compare(epochSeconds[b], epochSeconds[a]);
+        if (c != 0) return c;
+        c = Integer.compare(nanos[b], nanos[a]);
+        if (c != 0) return c;
+        return Long.compare(ids[b], ids[a]);
+    }
+
+    private boolean isAfter(int slot, long seconds, int nano, long id) {
+        if (epochSeconds[slot] != seconds) return epochSeconds[slot] < seconds;
+        if (nanos[slot] != nano) return nanos[slot] < nano;
+        return ids[slot] < id;
+    }
+
+    // 박싱 없는 병합 정렬 (복원 시 수백만 건을 한 번에 정렬할 수 있다)
+    private void sort(int[] slots, int length) {
+        int[] buffer = new int[length];
+        int[] from = slots;
+        int[] to = buffer;
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int mid = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int i = low;
+                int j = mid;
+                int k = low;
+                while (i < mid && j < high) {
+                    to[k++] = compare(from[i], from[j]) <= 0 ? from[i++] : from[j++];
+                }
+                while (i < mid) to[k++] = from[i++];
+                while (j < high) to[k++] = from[j++];
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != slots) {
+            System.arraycopy(from, 0, slots, 0, length);
+        }
+    }
+
+    private void kill(int slot) {
+        if (hidden(slot)) {
+            hidden--;
+        }
+        unindex(slot);
+        Bucket bucket = buckets.get(bucketKey(epochSeconds[slot]));
+        int position = bucketPositions[slot];
+        int last = bucket.slots.values[--bucket.slots.size];
+        if (last != slot) {
+            bucket.slots.values[position] = last;
+            bucketPositions[last] = position;
+        }
+        int length = recordLength(slot);
+        bucket.garbageBytes += length;
+        textBytes -= length;
+        addresses[slot] = DEAD;
+        live--;
+        released.add(slot);
+        dirty = true;
+
+        if (bucket.slots.size == 0) {
+            arena.release(bucket.region);
+            buckets.remove(bucket.key);
+        } else if (bucket.garbageBytes > bucket.region.getUsedBytes() / 2 && bucket.garbageBytes > MIN_COMPACTION_BYTES) {
+            // 대체된 레코드가 bucket 텍스트의 절반을 넘으면 살아 있는 레코드만 새 청크로 옮긴다
+            compact(bucket);
+        }
+    }
+
+    private void unindex(int slot) {
+        int code = publisherCodes[slot];
+        if (!hidden(slot)) {
+            facets.remove(code >= 0 ? publishers.get(code) : null, epochSeconds[slot]);
+        }
+        int urlField = locate(slot, URL);
+        if (urlField != 0) {
+            long urlHash = hash(arena.chunk(addresses[slot]), fieldStart(slot, URL), urlField - 1);
+            if (slotsByUrlHash.get(urlHash) == slot) {
+                slotsByUrlHash.remove(urlHash);
+            }
+        }
+        if (slotsById.get(ids[slot]) == slot) {
+            slotsById.remove(ids[slot]);
+        }
+    }
+
+    private void compact(Bucket bucket) {
+        TextArena.Region region = new TextArena.Region();
+        for (int i = 0; i < bucket.slots.size; i++) {
+            int slot = bucket.slots.values[i];
+            byte[] record = new byte[recordLength(slot)];
+            arena.chunk(addresses[slot]).get(TextArena.offset(addresses[slot]), record);
+            addresses[slot] = arena.append(region, record);
+        }
+        arena.release(bucket.region);
+        bucket.region = region;
+        bucket.garbageBytes = 0;
+    }
+
+    private long bucketKey(long seconds) {
+        return Math.floorDiv(seconds, bucketSeconds);
+    }
+
+    private long indexBytes() {
+        return (long) ids.length * (8 + 8 + 4 + 4 + 8 + 4) + (long) order.length * 4
+                + slotsById.memoryBytes() + slotsByUrlHash.memoryBytes();
+    }
+
+    private boolean sameRecord(int slot, byte[] record) {
+        if (recordLength(slot) != record.length) {
+            return false;
+        }
+        ByteBuffer chunk = arena.chunk(addresses[slot]);
+        int start = TextArena.offset(addresses[slot]);
+        for (int i = 0; i < record.length; i++) {
+            if (chunk.get(start + i) != record[i]) return false;
+        }
+        return true;
+    }
+
+    private int allocateSlot() {
+        if (free.size > 0) {
+            return free.values[--free.size];
+        }
+        if (slotCount == ids.length) {
+            int capacity = Math.max(16, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            nanos = Arrays.copyOf(nanos, capacity);
+            publisherCodes = Arrays.copyOf(publisherCodes, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            bucketPositions = Arrays.copyOf(bucketPositions, capacity);
+        }
+        return slotCount++;
+    }
+
+    private int publisherCode(String publisher) {
+        if (publisher == null) {
+            return -1;
+        }
+        return publisherCodeByName.computeIfAbsent(publisher, name -> {
+            publishers.add(name);
+            return publishers.size() - 1;
+        });
+    }
+
+    private void reset() {
+        arena = new TextArena(chunkSizeBytes, offHeap);
+        buckets.clear();
+        textBytes = 0;
+        ids = new long[0];
+        epochSeconds = new long[0];
+        nanos = new int[0];
+        publisherCodes = new int[0];
+        addresses = new long[0];
+        bucketPositions = new int[0];
+        slotCount = 0;
+        live = 0;
+        hidden = 0;
+        slotsById.clear();
+        slotsByUrlHash.clear();
+        publishers.clear();
+        publisherCodeByName.clear();
+        facets.clear();
+        order = new int[0];
+        pending.size = 0;
+        released.size = 0;
+        free.size = 0;
+        dirty = false;
+    }
+
+    private int findSlotByUrl(byte[] url, long urlHash) {
+        int slot = slotsByUrlHash.get(urlHash);
+        if (slot == LongIntHashMap.MISSING) {
+            return slot;
+        }
+        // 64비트 해시 충돌 대비로 실제 바이트를 비교한다
+        int header = locate(slot, URL);
+        if (header - 1 != url.length) {
+            return LongIntHashMap.MISSING;
+        }
+        ByteBuffer chunk = arena.chunk(addresses[slot]);
+        int start = fieldStart(slot, URL);
+        for (int i = 0; i < url.length; i++) {
+            if (chunk.get(start + i) != url[i]) return LongIntHashMap.MISSING;
+        }
+        return slot;
+    }
+
+    // 레코드: [플래그 1바이트] + 필드마다 [varint(길이 + 1, null이면 0)][UTF-8 바이트]
+    // 플래그는 제목/요약에 ASCII 밖의 대소문자 글자가 있는지 (검색 시 바이트 비교 대신 문자열로 비교)와 근접 중복 여부
+    private static byte[] encode(NewsItem item, byte[] url) {
+        byte[][] fields = {bytes(item.getTitle()), bytes(item.getSummary()), url, bytes(item.getThumbnailUrl()),
+                bytes(item.getClusterId())};
+        int size = 1;
+        for (byte[] field : fields) {
+            size += varintSize(field == null ? 0 : field.length + 1) + (field == null ? 0 : field.length);
+        }
+        byte[] record = new byte[size];
+        record[0] = (byte) ((hasNonAsciiCase(item.getTitle()) ? 1 << TITLE : 0)
+                | (hasNonAsciiCase(item.getSummary()) ? 1 << SUMMARY : 0)
+                | (item.getClusterId() != null ? DUPLICATE_FLAG : 0));
+        int position = 1;
+        for (byte[] field : fields) {
+            int header = field == null ? 0 : field.length + 1;
+            while ((header & ~0x7F) != 0) {
+                record[position++] = (byte) ((header & 0x7F) | 0x80);
+                header >>>= 7;
+            }
+            record[position++] = (byte) header;
+            if (field != null) {
+                System.arraycopy(field, 0, record, position, field.length);
+                position += field.length;
+            }
+        }
+        return record;
+    }
+
+    private static boolean hasNonAsciiCase(String s) {
+        if (s == null) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80 && (Character.toLowerCase(c) != c || Character.isSurrogate(c))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    // 필드 헤더(길이 + 1, null이면 0). 시작 위치는 fieldStart
+    private int locate(int slot, int field) {
+        return (int) (walk(slot, field) >>> 32);
+    }
+
+    private int fieldStart(int slot, int field) {
+        return (int) walk(slot, field);
+    }
+
+    // (헤더 << 32 | 바이트 시작 위치)
+    private long walk(int slot, int field) {
+        ByteBuffer chunk = arena.chunk(addresses[slot]);
+        int position = TextArena.offset(addresses[slot]) + 1;
+        for (int f = 0; ; f++) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = chunk.get(position++);
+                header |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (f == field) {
+                return ((long) header << 32) | position;
+            }
+            if (header != 0) {
+                position += header - 1;
+            }
+        }
+    }
+
+    private int recordLength(int slot) {
+        long last = walk(slot, FIELDS - 1);
+        int header = (int) (last >>> 32);
+        int end = (int) last + (header == 0 ? 0 : header - 1);
+        return end - TextArena.offset(addresses[slot]);
+    }
+
+    private String string(int slot, int field) {
+        long located = walk(slot, field);
+        int header = (int) (located >>> 32);
+        if (header == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[header - 1];
+        arena.chunk(addresses[slot]).get((int) located, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private NewsItem materialize(int slot) {
+        int code = publisherCodes[slot];
+        return new NewsItem(
+                ids[slot],
+                string(slot, TITLE),
+                string(slot, SUMMARY),
+                code >= 0 ? publishers.get(code) : null,
+                epochSeconds[slot] != NO_TIME
+                        ? LocalDateTime.ofEpochSecond(epochSeconds[slot], nanos[slot], ZoneOffset.UTC)
+                        : null,
+                string(slot, URL),
+                string(slot, THUMBNAIL),
+                string(slot, CLUSTER)
+        );
+    }
+
+    private int visibleSize() {
+        lock.readLock().lock();
+        try {
+            return live - hidden;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean hidden(int slot) {
+        return collapseDuplicates
+                && (arena.chunk(addresses[slot]).get(TextArena.offset(addresses[slot])) & DUPLICATE_FLAG) != 0;
+    }
+
+    // 제목/요약 바이트에서 바로 찾는다 (행마다 String을 만들지 않음). 바이트 비교에서는 ASCII 대소문자만 접으므로
+    // ASCII 밖 대소문자 글자가 있는 필드(플래그)만 문자열로 풀어 toLowerCase로 비교한다
+    private boolean matches(int slot, String keyword, byte[] needle) {
+        return contains(slot, TITLE, keyword, needle) || contains(slot, SUMMARY, keyword, needle);
+    }
+
+    private boolean contains(int slot, int field, String keyword, byte[] needle) {
+        byte flags = arena.chunk(addresses[slot]).get(TextArena.offset(addresses[slot]));
+        if ((flags & (1 << field)) != 0) {
+            return string(slot, field).toLowerCase().contains(keyword);
+        }
+        long located = walk(slot, field);
+        int header = (int) (located >>> 32);
+        if (header == 0) {
+            return false;
+        }
+        ByteBuffer chunk = arena.chunk(addresses[slot]);
+        int start = (int) located;
+        int length = header - 1;
+        if (chunk.hasArray()) {
+            return indexOf(chunk.array(), chunk.arrayOffset() + start, length, needle);
+        }
+        // direct 청크는 스레드별 버퍼로 한 번에 복사해 비교한다
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            SCRATCH.set(scratch);
+        }
+        chunk.get(start, scratch, 0, length);
+        return indexOf(scratch, 0, length, needle);
+    }
+
+    private static boolean indexOf(byte[] haystack, int from, int length, byte[] needle) {
+        if (needle.length == 0) {
+            return true;
+        }
+        int last = from + length - needle.length;
+        byte first = needle[0];
+        for (int i = from; i <= last; i++) {
+            if (lower(haystack[i]) != first) continue;
+            int j = 1;
+            while (j < needle.length && lower(haystack[i + j]) == needle[j]) j++;
+            if (j == needle.length) return true;
+        }
+        return false;
+    }
+
+    private static byte lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] bytes(String s) {
+        return s != null ? s.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    // FNV-1a 64
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long hash(ByteBuffer chunk, int start, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < start + length; i++) {
+            h ^= chunk.get(i) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
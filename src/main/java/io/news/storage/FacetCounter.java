@@ -0,0 +1,79 @@
+package io.news.storage;
+
+import io.news.dto.Facets;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 매체별/시간대별 기사 수를 저장·대체·만료 때마다 고쳐 둔다. 조회는 전체 기사 수가 아니라 매체 수와 시간대 수에 비례한다
+final class FacetCounter {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final Map<String, Long> byPublisher = new HashMap<>();
+    // 시간대(epoch 초 / 3600) → 기사 수
+    private final TreeMap<Long, Long> byHour = new TreeMap<>();
+    // object 배치는 조회에 락을 쓰지 않으므로 카운터만 따로 잠근다
+    private final ReentrantLock lock = new ReentrantLock();
+
+    void add(String publisher, long epochSecond) {
+        update(publisher, epochSecond, 1);
+    }
+
+    void remove(String publisher, long epochSecond) {
+        update(publisher, epochSecond, -1);
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            byPublisher.clear();
+            byHour.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Facets read(Facets.Query query) {
+        long sinceHour = Math.floorDiv(query.since().toEpochSecond(ZoneOffset.UTC), 3600);
+        Map<String, Long> publishers;
+        Map<LocalDateTime, Long> hours = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            publishers = new HashMap<>(byPublisher);
+            byHour.tailMap(sinceHour, true).forEach((hour, count) -> hours.put(Facets.hourOf(hour * 3600), count));
+        } finally {
+            lock.unlock();
+        }
+        return Facets.of(publishers, hours, query);
+    }
+
+    static long epochSecond(LocalDateTime publishedAt) {
+        return publishedAt != null ? publishedAt.toEpochSecond(ZoneOffset.UTC) : NO_TIME;
+    }
+
+    private void update(String publisher, long epochSecond, long delta) {
+        lock.lock();
+        try {
+            if (publisher != null) {
+                byPublisher.merge(publisher, delta, FacetCounter::sumOrRemove);
+            }
+            if (epochSecond != NO_TIME) {
+                byHour.merge(Math.floorDiv(epochSecond, 3600), delta, FacetCounter::sumOrRemove);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 0이 된 항목은 지워 맵이 만료된 매체/시간대로 커지지 않게 한다
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum > 0 ? sum : null;
+    }
+}
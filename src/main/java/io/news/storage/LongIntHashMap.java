@@ -0,0 +1,106 @@
+package io.news.storage;
+
+import java.util.Arrays;
+
+// long 키 -> int 값(0 이상) 오픈 어드레싱 해시맵. 박싱과 엔트리 객체 없이 항목당 12바이트 x 2 정도만 쓴다.
+// 스레드 안전하지 않다 (CompactNewsStore가 락으로 감싼다).
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    int get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (values[i] == MISSING) return MISSING;
+            if (keys[i] == key) return values[i];
+        }
+    }
+
+    void put(long key, int value) {
+        if ((size + 1) * 2 > values.length) {
+            grow();
+        }
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (values[i] == MISSING) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    void remove(long key) {
+        int gap = index(key);
+        while (true) {
+            if (values[gap] == MISSING) return;
+            if (keys[gap] == key) break;
+            gap = (gap + 1) & mask;
+        }
+        // 뒤따르는 항목을 당겨 빈칸을 메운다 (삭제 표시 없이 탐색 사슬 유지)
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == MISSING) break;
+            int home = index(keys[i]);
+            boolean reachable = gap <= i ? (home > gap && home <= i) : (home > gap || home <= i);
+            if (!reachable) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = MISSING;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    long memoryBytes() {
+        return (long) values.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(values.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int index(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33)) & mask;
+    }
+}
@@ -0,0 +1,57 @@
+package io.news.storage;
+
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// InMemory 저장소의 메모리 배치. 정렬은 모두 최신순 (publishedAt DESC, id DESC)
+public interface NewsStore {
+
+    // 같은 ID 또는 같은 URL의 기존 항목을 대체한다 (ID는 채워져 있어야 함)
+    void put(NewsItem newsItem);
+
+    Long findIdByUrl(String url);
+
+    NewsItem get(long id);
+
+    // 없는 ID면 false
+    boolean remove(long id);
+
+    List<NewsItem> page(long offset, int limit);
+
+    // 주어진 기사 다음부터 limit건 (커서 페이징)
+    List<NewsItem> pageBefore(LocalDateTime publishedAt, long id, int limit);
+
+    // keyword는 소문자. 제목 또는 요약에 포함된 기사
+    List<NewsItem> search(String keyword, long offset, int limit);
+
+    int countMatches(String keyword);
+
+    // 한 페이지 + 전체 일치 건수 + facet (query가 null이면 facet 없음). keyword(소문자)가 null이면 최신순 전체 목록이고
+    // facet은 쓰기/만료 때 갱신해 둔 카운터에서 읽는다. 검색은 일치 건수를 세는 한 번의 훑기에서 함께 센다
+    FacetedHits pageWithFacets(String keyword, long offset, int limit, Facets.Query query);
+
+    // 순서 없는 전체 항목 (세그먼트 로그 컴팩션용)
+    List<NewsItem> snapshot();
+
+    int size();
+
+    void clear();
+
+    // 발행 시각 bucket 단위 만료. 가장 오래된 bucket의 끝 시각 (비어 있으면 null)
+    LocalDateTime oldestBucketEnd();
+
+    int bucketCount();
+
+    // 가장 오래된 bucket의 기사를 한꺼번에 버리고 버린 기사의 ID를 돌려준다
+    long[] dropOldestBucket();
+
+    // 보존 한도 비교용 메모리 사용량 (object 배치는 추정치)
+    long memoryBytes();
+
+    Map<String, Object> getStatus();
+}
@@ -0,0 +1,312 @@
+package io.news.storage;
+
+import io.news.dto.FacetedHits;
+import io.news.dto.Facets;
+import io.news.dto.NewsItem;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// NewsItem 객체를 그대로 들고 있는 기본 배치. 조회마다 전체를 정렬한다
+// 기사 ID를 발행 시각 bucket별로도 묶어 두어 만료 시 가장 오래된 bucket만 꺼내 지운다
+// 근접 중복 접기가 켜져 있으면 클러스터 ID가 있는 기사는 저장만 하고 목록/검색/facet에서는 뺀다
+public class ObjectNewsStore implements NewsStore {
+
+    private static final Comparator<NewsItem> LATEST_FIRST = Comparator
+            .comparing(NewsItem::getPublishedAt)
+            .thenComparing(NewsItem::getId)
+            .reversed();
+    // NewsItem, Long, LocalDateTime과 맵 노드들의 대략적인 고정 비용 (문자열은 글자당 2바이트로 따로 센다)
+    private static final int ITEM_OVERHEAD_BYTES = 400;
+
+    private final long bucketSeconds;
+    private final boolean collapseDuplicates;
+    private final Map<Long, NewsItem> storage = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByUrl = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<Long>> idsByBucket = new ConcurrentSkipListMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    // 목록에서 접힌 기사 수 (전체 건수 = 저장 건수 - 접힌 수)
+    private final AtomicInteger hidden = new AtomicInteger();
+    private final FacetCounter facets = new FacetCounter();
+    // 조회는 락 없이, 세 맵을 함께 고치는 쓰기와 만료만 직렬화
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ObjectNewsStore(long bucketSeconds, boolean collapseDuplicates) {
+        this.bucketSeconds = bucketSeconds;
+        this.collapseDuplicates = collapseDuplicates;
+    }
+
+    @Override
+    public void put(NewsItem newsItem) {
+        Long id = newsItem.getId();
+        String url = newsItem.getUrl();
+        writeLock.lock();
+        try {
+            if (url != null) {
+                // 같은 기사가 다른 ID로 다시 들어오면 이전 항목을 대체
+                Long previousId = idsByUrl.put(url, id);
+                if (previousId != null && !previousId.equals(id)) {
+                    removeReplaced(previousId);
+                }
+            }
+            NewsItem previous = storage.put(id, newsItem);
+            if (previous != null) {
+                unbucket(previous);
+                if (previous.getUrl() != null && !previous.getUrl().equals(url)) {
+                    idsByUrl.remove(previous.getUrl(), id);
+                }
+            }
+            idsByBucket.computeIfAbsent(bucketKey(newsItem), key -> ConcurrentHashMap.newKeySet()).add(id);
+            estimatedBytes.addAndGet(estimate(newsItem));
+            count(newsItem);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Long findIdByUrl(String url) {
+        return idsByUrl.get(url);
+    }
+
+    @Override
+    public NewsItem get(long id) {
+        return storage.get(id);
+    }
+
+    @Override
+    public boolean remove(long id) {
+        writeLock.lock();
+        try {
+            NewsItem removed = storage.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            if (removed.getUrl() != null) {
+                idsByUrl.remove(removed.getUrl(), id);
+            }
+            unbucket(removed);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<NewsItem> page(long offset, int limit) {
+        return sorted().stream()
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<NewsItem> pageBefore(LocalDateTime publishedAt, long id, int limit) {
+        NewsItem cursor = new NewsItem(id, null, null, null, publishedAt, null, null);
+        return sorted().stream()
+                .filter(news -> LATEST_FIRST.compare(news, cursor) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<NewsItem> search(String keyword, long offset, int limit) {
+        return sorted().stream()
+                .filter(news -> matches(news, keyword))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public int countMatches(String keyword) {
+        return (int) storage.values().stream()
+                .filter(news -> visible(news) && matches(news, keyword))
+                .count();
+    }
+
+    @Override
+    public FacetedHits pageWithFacets(String keyword, long offset, int limit, Facets.Query query) {
+        if (keyword == null) {
+            return new FacetedHits(page(offset, limit), storage.size() - hidden.get(),
+                    query != null ? facets.read(query) : Facets.EMPTY);
+        }
+        FacetCounter matched = new FacetCounter();
+        List<NewsItem> items = new ArrayList<>();
+        int total = 0;
+        for (NewsItem news : sorted()) {
+            if (!matches(news, keyword)) {
+                continue;
+            }
+            if (total >= offset && items.size() < limit) {
+                items.add(news);
+            }
+            total++;
+            if (query != null) {
+                matched.add(news.getPublisher(), FacetCounter.epochSecond(news.getPublishedAt()));
+            }
+        }
+        return new FacetedHits(items, total, query != null ? matched.read(query) : Facets.EMPTY);
+    }
+
+    @Override
+    public List<NewsItem> snapshot() {
+        return new ArrayList<>(storage.values());
+    }
+
+    @Override
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            storage.clear();
+            idsByUrl.clear();
+            idsByBucket.clear();
+            estimatedBytes.set(0);
+            hidden.set(0);
+            facets.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public LocalDateTime oldestBucketEnd() {
+        Map.Entry<Long, Set<Long>> oldest = idsByBucket.firstEntry();
+        if (oldest == null) {
+            return null;
+        }
+        return oldest.getKey() == Long.MIN_VALUE
+                ? LocalDateTime.MIN
+                : LocalDateTime.ofEpochSecond((oldest.getKey() + 1) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public int bucketCount() {
+        return idsByBucket.size();
+    }
+
+    @Override
+    public long[] dropOldestBucket() {
+        writeLock.lock();
+        try {
+            Map.Entry<Long, Set<Long>> oldest = idsByBucket.pollFirstEntry();
+            if (oldest == null) {
+                return new long[0];
+            }
+            for (Long id : oldest.getValue()) {
+                NewsItem removed = storage.remove(id);
+                if (removed != null) {
+                    if (removed.getUrl() != null) {
+                        idsByUrl.remove(removed.getUrl(), id);
+                    }
+                    estimatedBytes.addAndGet(-estimate(removed));
+                    uncount(removed);
+                }
+            }
+            return oldest.getValue().stream().mapToLong(Long::longValue).toArray();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        return estimatedBytes.get();
+    }
+
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("layout", "object");
+        status.put("items", storage.size());
+        status.put("collapsed", hidden.get());
+        status.put("buckets", idsByBucket.size());
+        status.put("estimatedBytes", estimatedBytes.get());
+        return status;
+    }
+
+    // put에서 같은 URL의 이전 ID를 지울 때. URL 색인은 put이 이미 새 ID로 바꿔 두었다
+    private void removeReplaced(Long id) {
+        NewsItem removed = storage.remove(id);
+        if (removed != null) {
+            unbucket(removed);
+        }
+    }
+
+    private void unbucket(NewsItem item) {
+        long key = bucketKey(item);
+        Set<Long> ids = idsByBucket.get(key);
+        if (ids != null) {
+            ids.remove(item.getId());
+            if (ids.isEmpty()) {
+                idsByBucket.remove(key);
+            }
+        }
+        estimatedBytes.addAndGet(-estimate(item));
+        uncount(item);
+    }
+
+    private boolean visible(NewsItem item) {
+        return !collapseDuplicates || item.getClusterId() == null;
+    }
+
+    private void count(NewsItem item) {
+        if (visible(item)) {
+            facets.add(item.getPublisher(), FacetCounter.epochSecond(item.getPublishedAt()));
+        } else {
+            hidden.incrementAndGet();
+        }
+    }
+
+    private void uncount(NewsItem item) {
+        if (visible(item)) {
+            facets.remove(item.getPublisher(), FacetCounter.epochSecond(item.getPublishedAt()));
+        } else {
+            hidden.decrementAndGet();
+        }
+    }
+
+    private long bucketKey(NewsItem item) {
+        LocalDateTime publishedAt = item.getPublishedAt();
+        return publishedAt != null
+                ? Math.floorDiv(publishedAt.toEpochSecond(ZoneOffset.UTC), bucketSeconds)
+                : Long.MIN_VALUE;
+    }
+
+    private static long estimate(NewsItem item) {
+        return ITEM_OVERHEAD_BYTES + 2L * (length(item.getTitle()) + length(item.getSummary())
+                + length(item.getPublisher()) + length(item.getUrl()) + length(item.getThumbnailUrl()));
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    private List<NewsItem> sorted() {
+        return storage.values().stream()
+                .filter(this::visible)
+                .sorted(LATEST_FIRST)
+                .toList();
+    }
+
+    private static boolean matches(NewsItem news, String keyword) {
+        return news.getTitle().toLowerCase().contains(keyword)
+                || news.getSummary().toLowerCase().contains(keyword);
+    }
+}
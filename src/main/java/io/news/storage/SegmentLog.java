@@ -0,0 +1,328 @@
+package io.news.storage;
+
+import io.news.dto.NewsItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 뉴스 저장소용 append-only 세그먼트 로그.
+ * <p>
+ * 레코드 형식: [payload 길이 int][CRC32 int][payload]. payload는 타입 바이트 뒤에 필드가 이어진다.
+ * PUT 끝의 복제 출처(origin)와 근접 중복 클러스터 ID는 나중에 붙은 필드라 예전 레코드에는 없고, 그때는 null로 읽는다.
+ * 기동 시 세그먼트를 번호 순서로 메모리 매핑해 재생하고, CRC가 맞지 않는 꼬리 레코드는 버린다.
+ * 컴팩션은 새 세그먼트로 전환한 뒤 살아 있는 항목을 그 앞 번호의 스냅샷 세그먼트로 쓰고 이전 세그먼트를 지운다.
+ * 락을 쥔 채 파일 I/O를 하므로 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 ReentrantLock을 쓴다.
+ */
+@Slf4j
+public class SegmentLog implements Closeable {
+
+    private static final String SUFFIX = ".seg";
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_CLEAR = 2;
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel active;
+    private long activeSequence;
+    private long recordCount;
+
+    public SegmentLog(Path directory, long segmentSizeBytes) {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public interface Visitor {
+        void put(NewsItem newsItem, String origin);
+
+        void clear();
+    }
+
+    // 기존 세그먼트를 재생한 뒤 새 활성 세그먼트를 연다. 이전 세그먼트에는 더 이상 쓰지 않는다.
+    public void open(Visitor visitor) throws IOException {
+        lock.lock();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path stale : files.filter(path -> path.toString().endsWith(".tmp")).toList()) {
+                    Files.deleteIfExists(stale);
+                }
+            }
+            List<Long> sequences = listSequences();
+            for (long sequence : sequences) {
+                recordCount += replay(segmentPath(sequence), visitor);
+            }
+            long next = sequences.isEmpty() ? 1 : sequences.get(sequences.size() - 1) + 1;
+            openActive(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void appendPut(NewsItem newsItem, String origin) {
+        appendAll(List.of(newsItem), origin);
+    }
+
+    public void appendAll(Collection<NewsItem> newsItems, String origin) {
+        if (newsItems.isEmpty()) return;
+        // 인코딩은 락 밖에서 끝내고 쓰기만 직렬화한다
+        List<byte[]> payloads = new ArrayList<>(newsItems.size());
+        int total = 0;
+        for (NewsItem item : newsItems) {
+            byte[] payload = encodePut(item, origin);
+            payloads.add(payload);
+            total += HEADER_SIZE + payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        payloads.forEach(payload -> writeRecord(buffer, payload));
+        lock.lock();
+        try {
+            write(buffer);
+            recordCount += payloads.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void appendClear() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 1);
+        writeRecord(buffer, new byte[]{TYPE_CLEAR});
+        lock.lock();
+        try {
+            write(buffer);
+            recordCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRecordCount() {
+        lock.lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 컴팩션 1단계: 활성 세그먼트를 한 번호 건너뛰어 전환하고, 비워 둔 번호를 반환한다.
+    // 호출자는 이 시점 이후에 스냅샷을 떠야 전환 전 쓰기가 스냅샷에 포함된다.
+    public long beginCompaction() throws IOException {
+        lock.lock();
+        try {
+            long snapshotSequence = activeSequence + 1;
+            active.force(false);
+            active.close();
+            openActive(snapshotSequence + 1);
+            return snapshotSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 컴팩션 2단계: 스냅샷 세그먼트를 임시 파일로 쓰고 원자적으로 이름을 바꾼 뒤 이전 세그먼트를 지운다.
+    public void completeCompaction(long snapshotSequence, Collection<NewsItem> liveItems,
+                                   Function<NewsItem, String> originOf) throws IOException {
+        Path temp = directory.resolve(snapshotSequence + SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            for (NewsItem item : liveItems) {
+                byte[] payload = encodePut(item, originOf.apply(item));
+                if (buffer.remaining() < HEADER_SIZE + payload.length) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) channel.write(buffer);
+                    buffer.clear();
+                    if (buffer.capacity() < HEADER_SIZE + payload.length) {
+                        buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+                    }
+                }
+                writeRecord(buffer, payload);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, segmentPath(snapshotSequence), StandardCopyOption.ATOMIC_MOVE);
+
+        lock.lock();
+        try {
+            long remaining = 0;
+            for (long sequence : listSequences()) {
+                if (sequence < snapshotSequence) {
+                    Files.deleteIfExists(segmentPath(sequence));
+                } else if (sequence > snapshotSequence) {
+                    remaining += replay(segmentPath(sequence), null);
+                }
+            }
+            recordCount = liveItems.size() + remaining;
+        } finally {
+            lock.unlock();
+        }
+        log.info("세그먼트 로그 컴팩션 완료: 스냅샷 {}건", liveItems.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (active != null && active.isOpen()) {
+                active.force(false);
+                active.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openActive(long sequence) throws IOException {
+        activeSequence = sequence;
+        active = FileChannel.open(segmentPath(sequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void write(ByteBuffer buffer) {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+            if (active.size() >= segmentSizeBytes) {
+                active.force(false);
+                active.close();
+                openActive(activeSequence + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 로그 쓰기 실패", e);
+        }
+    }
+
+    private long replay(Path path, Visitor visitor) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    log.warn("세그먼트 {} 꼬리 레코드 손상 - 이후 무시", path.getFileName());
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("세그먼트 {} CRC 불일치 - 이후 무시", path.getFileName());
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+                if (visitor != null) {
+                    decode(payload, visitor);
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private List<Long> listSequences() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%016d", sequence) + SUFFIX);
+    }
+
+    private static void writeRecord(ByteBuffer buffer, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+    }
+
+    private static byte[] encodePut(NewsItem item, String origin) {
+        byte[][] strings = {
+                bytes(item.getTitle()), bytes(item.getSummary()), bytes(item.getPublisher()),
+                bytes(item.getUrl()), bytes(item.getThumbnailUrl()), bytes(origin),
+                bytes(item.getClusterId())
+        };
+        int size = 1 + 8 + 8 + 4;
+        for (byte[] s : strings) size += 4 + (s == null ? 0 : s.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(TYPE_PUT);
+        buffer.putLong(item.getId());
+        LocalDateTime publishedAt = item.getPublishedAt();
+        buffer.putLong(publishedAt != null ? publishedAt.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE);
+        buffer.putInt(publishedAt != null ? publishedAt.getNano() : 0);
+        for (byte[] s : strings) {
+            buffer.putInt(s == null ? -1 : s.length);
+            if (s != null) buffer.put(s);
+        }
+        return buffer.array();
+    }
+
+    private static void decode(ByteBuffer payload, Visitor visitor) {
+        byte type = payload.get();
+        if (type == TYPE_CLEAR) {
+            visitor.clear();
+            return;
+        }
+        long id = payload.getLong();
+        long epochSecond = payload.getLong();
+        int nano = payload.getInt();
+        LocalDateTime publishedAt = epochSecond == Long.MIN_VALUE
+                ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        NewsItem item = new NewsItem(id, string(payload), string(payload), string(payload), publishedAt,
+                string(payload), string(payload));
+        String origin = payload.hasRemaining() ? string(payload) : null;
+        if (payload.hasRemaining()) {
+            item = item.withClusterId(string(payload));
+        }
+        visitor.put(item, origin);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package io.news.storage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// 가변 길이 바이트 레코드를 청크(힙 또는 direct ByteBuffer)에 이어 붙여 둔다.
+// 청크는 Region(시간 bucket 하나)에 속하고, Region을 놓으면 그 청크들이 통째로 풀린다.
+// 레코드 주소는 (청크 번호 << 32 | 청크 안 오프셋). 개별 레코드 지우기는 없다.
+final class TextArena {
+
+    // bucket마다 작은 청크로 시작해 두 배씩 키운다 (한산한 시간대 bucket이 큰 청크를 잡지 않도록)
+    private static final int MIN_CHUNK_BYTES = 4 * 1024;
+
+    private final int maxChunkBytes;
+    private final boolean offHeap;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final ArrayDeque<Integer> freeChunkIds = new ArrayDeque<>();
+    private long allocatedBytes;
+
+    static final class Region {
+        private final List<Integer> chunkIds = new ArrayList<>();
+        private ByteBuffer current;
+        private int nextChunkBytes = MIN_CHUNK_BYTES;
+        private long usedBytes;
+
+        long getUsedBytes() {
+            return usedBytes;
+        }
+    }
+
+    TextArena(int maxChunkBytes, boolean offHeap) {
+        this.maxChunkBytes = Math.max(MIN_CHUNK_BYTES, maxChunkBytes);
+        this.offHeap = offHeap;
+    }
+
+    long append(Region region, byte[] record) {
+        if (region.current == null || region.current.remaining() < record.length) {
+            // 청크보다 큰 레코드는 전용 청크에 둔다
+            int size = Math.max(region.nextChunkBytes, record.length);
+            region.nextChunkBytes = Math.min(maxChunkBytes, region.nextChunkBytes * 2);
+            region.current = offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+            region.chunkIds.add(register(region.current));
+            allocatedBytes += size;
+        }
+        int offset = region.current.position();
+        region.current.put(record);
+        region.usedBytes += record.length;
+        return ((long) region.chunkIds.get(region.chunkIds.size() - 1) << 32) | offset;
+    }
+
+    void release(Region region) {
+        for (int chunkId : region.chunkIds) {
+            allocatedBytes -= chunks.get(chunkId).capacity();
+            chunks.set(chunkId, null);
+            freeChunkIds.push(chunkId);
+        }
+        region.chunkIds.clear();
+        region.current = null;
+        region.usedBytes = 0;
+    }
+
+    ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    private int register(ByteBuffer chunk) {
+        Integer chunkId = freeChunkIds.poll();
+        if (chunkId != null) {
+            chunks.set(chunkId, chunk);
+            return chunkId;
+        }
+        chunks.add(chunk);
+        return chunks.size() - 1;
+    }
+}
@@ -0,0 +1,84 @@
+package io.news.trace;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// 서비스/저장소 구간을 Observation(span)으로 감싼다.
+// 요청 스레드에서 열린 span이 부모가 되고, 소요 시간은 같은 이름의 Timer(operation 태그)로도 남는다
+@Component
+public class RequestTracer {
+
+    private final ObservationRegistry registry;
+
+    public RequestTracer(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T span(String name, String operation, Supplier<T> work) {
+        return Observation.createNotStarted(name, registry)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(work);
+    }
+
+    // 작업을 시작하는 동안만 span을 현재 구간으로 두고, 끝나는 시점(다른 스레드일 수 있음)에 닫는다
+    public <T> CompletableFuture<T> spanAsync(String name, String operation, Supplier<CompletableFuture<T>> work) {
+        Observation observation = Observation.createNotStarted(name, registry)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        CompletableFuture<T> future;
+        try (Observation.Scope ignored = observation.openScope()) {
+            future = work.get();
+        } catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        return future.whenComplete((value, error) -> {
+            if (error != null) {
+                observation.error(error);
+            }
+            observation.stop();
+        });
+    }
+
+    // 다른 스레드에서 실행되는 작업을 호출 스레드의 span 아래에 둔다
+    public <T> T inScope(Observation observation, Supplier<T> work) {
+        if (observation == null) {
+            return work.get();
+        }
+        try (Observation.Scope ignored = observation.openScope()) {
+            return work.get();
+        }
+    }
+
+    // 지금 열려 있는 span. 비동기 콜백에서 태그를 달려면 호출 스레드에서 미리 잡아 둔다
+    public Observation current() {
+        return registry.getCurrentObservation();
+    }
+
+    public void tag(String key, Object value) {
+        tag(current(), key, value);
+    }
+
+    // 요청마다 달라지는 값 (로그에만 남고 지표 태그로는 쓰지 않음)
+    public static void tag(Observation observation, String key, Object value) {
+        if (observation != null && value != null) {
+            observation.highCardinalityKeyValue(key, String.valueOf(value));
+        }
+    }
+
+    // 지표 태그로도 쓰는 값 (저장소 종류처럼 종류가 적은 값만)
+    public void tagLow(String key, String value) {
+        tagLow(current(), key, value);
+    }
+
+    public static void tagLow(Observation observation, String key, String value) {
+        if (observation != null && value != null) {
+            observation.lowCardinalityKeyValue(key, value);
+        }
+    }
+}
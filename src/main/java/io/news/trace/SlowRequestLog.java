@@ -0,0 +1,175 @@
+package io.news.trace;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import io.news.config.TraceProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// HTTP 요청 하나에 속한 span들을 모았다가, 요청이 끝날 때 느리거나 샘플에 걸리면 구간별 소요 시간을 한 번에 남긴다.
+// 요청마다 로그를 찍지 않고 필요한 요청만 전체 흐름(서비스 → 라우터 → 저장소, ES took, 결과 수, fallback/헤징)을 보여준다
+@Slf4j
+@Component
+public class SlowRequestLog implements ObservationHandler<Observation.Context> {
+
+    private final TraceProperties properties;
+    private final Counter slowRequests;
+    private final Counter suppressed;
+    private final AtomicLong windowMinute = new AtomicLong();
+    private final AtomicInteger windowLogs = new AtomicInteger();
+
+    // 요청(루트 span) 하나의 기록
+    private static final class Trace {
+        private final long startNanos = System.nanoTime();
+        private final List<Span> spans = new ArrayList<>();
+
+        private synchronized void add(Span span) {
+            spans.add(span);
+        }
+
+        private synchronized boolean isEmpty() {
+            return spans.isEmpty();
+        }
+
+        private synchronized List<Span> sorted() {
+            List<Span> copy = new ArrayList<>(spans);
+            copy.sort(Comparator.comparingLong(Span::offsetNanos));
+            return copy;
+        }
+    }
+
+    private record Span(int depth, long offsetNanos, long durationNanos, String name, String detail) {
+    }
+
+    private record Start(long nanos, Trace trace) {
+    }
+
+    public SlowRequestLog(TraceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slowRequests = Counter.builder("news.trace.slow.requests").register(meterRegistry);
+        this.suppressed = Counter.builder("news.trace.logs.suppressed").register(meterRegistry);
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (context instanceof ServerRequestObservationContext) {
+            Trace trace = new Trace();
+            context.put(Start.class, new Start(trace.startNanos, trace));
+            return;
+        }
+        Start parent = parentStart(context);
+        if (parent != null) {
+            context.put(Start.class, new Start(System.nanoTime(), parent.trace()));
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Start start = context.get(Start.class);
+        if (start == null) {
+            return;
+        }
+        long duration = System.nanoTime() - start.nanos();
+        if (context instanceof ServerRequestObservationContext request) {
+            report(request, start.trace(), duration);
+            return;
+        }
+        KeyValue operation = context.getLowCardinalityKeyValue("operation");
+        start.trace().add(new Span(depth(context), start.nanos() - start.trace().startNanos, duration,
+                operation != null ? context.getName() + " " + operation.getValue() : context.getName(),
+                detail(context)));
+    }
+
+    private void report(ServerRequestObservationContext request, Trace trace, long durationNanos) {
+        boolean slow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+        if (slow) {
+            slowRequests.increment();
+        }
+        double rate = slow ? properties.getSlowSampleRate() : properties.getSampleRate();
+        if (rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate || (!slow && trace.isEmpty())) {
+            return;
+        }
+        if (!acquireLogSlot()) {
+            suppressed.increment();
+            return;
+        }
+
+        HttpServletRequest carrier = request.getCarrier();
+        String uri = carrier.getRequestURI() + (carrier.getQueryString() != null ? "?" + carrier.getQueryString() : "");
+        int status = request.getResponse() != null ? request.getResponse().getStatus() : 0;
+        StringBuilder message = new StringBuilder();
+        for (Span span : trace.sorted()) {
+            message.append('\n')
+                    .append("  ".repeat(span.depth()))
+                    .append(String.format("+%dms %s %dms", TimeUnit.NANOSECONDS.toMillis(span.offsetNanos()),
+                            span.name(), TimeUnit.NANOSECONDS.toMillis(span.durationNanos())))
+                    .append(span.detail());
+        }
+        if (slow) {
+            log.warn("느린 요청 {}ms - {} {} ({}){}", TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    carrier.getMethod(), uri, status, message);
+        } else {
+            log.info("요청 샘플 {}ms - {} {} ({}){}", TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    carrier.getMethod(), uri, status, message);
+        }
+    }
+
+    private boolean acquireLogSlot() {
+        long minute = System.currentTimeMillis() / 60000;
+        long current = windowMinute.get();
+        if (current != minute && windowMinute.compareAndSet(current, minute)) {
+            windowLogs.set(0);
+        }
+        return windowLogs.incrementAndGet() <= properties.getMaxLogsPerMinute();
+    }
+
+    private static Start parentStart(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        return parent != null ? parent.getContextView().get(Start.class) : null;
+    }
+
+    private static int depth(Observation.Context context) {
+        int depth = 0;
+        ObservationView parent = context.getParentObservation();
+        while (parent != null && !(parent.getContextView() instanceof ServerRequestObservationContext)) {
+            depth++;
+            parent = parent.getContextView().getParentObservation();
+        }
+        return depth;
+    }
+
+    private static String detail(Observation.Context context) {
+        StringBuilder detail = new StringBuilder();
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            if (!"operation".equals(keyValue.getKey())) {
+                detail.append(' ').append(keyValue.getKey()).append('=').append(keyValue.getValue());
+            }
+        }
+        for (KeyValue keyValue : context.getHighCardinalityKeyValues()) {
+            detail.append(' ').append(keyValue.getKey()).append('=').append(keyValue.getValue());
+        }
+        if (context.getError() != null) {
+            detail.append(" error=").append(context.getError().getClass().getSimpleName());
+        }
+        return detail.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package io.news.view;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.news.config.RenderProperties;
+import io.news.dto.NewsItem;
+import io.news.dto.SearchResult;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// 뉴스 카드 HTML을 기사 ID + 내용 버전 단위로 미리 렌더링해 두고 페이지 렌더링 시 문자열만 이어 붙인다
+@Component
+public class NewsCardRenderer {
+
+    private static final String TEMPLATE = "fragments/news-card";
+    private static final Set<String> SELECTOR = Set.of("card");
+
+    private final TemplateEngine templateEngine;
+    private final RenderProperties properties;
+    private final Map<String, String> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NewsCardRenderer(TemplateEngine templateEngine, RenderProperties properties, MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.properties = properties;
+        int maxEntries = properties.getFragmentCacheMaxEntries();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.hits = Counter.builder("news.render.fragment.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("news.render.fragment.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isFragmentCacheEnabled();
+    }
+
+    public List<String> renderCards(List<NewsItem> newsItems) {
+        return newsItems.stream()
+                .map(news -> render(cacheKey(news, null), news, null, null))
+                .toList();
+    }
+
+    public List<String> renderSearchCards(List<SearchResult> results, String keyword) {
+        return results.stream()
+                .map(result -> render(cacheKey(result.getNews(), keyword), result.getNews(),
+                        result.getHighlightedTitle(), result.getHighlightedSummary()))
+                .toList();
+    }
+
+    private String render(String key, NewsItem news, String highlightedTitle, String highlightedSummary) {
+        String html = cache.get(key);
+        if (html != null) {
+            hits.increment();
+            return html;
+        }
+        misses.increment();
+
+        Context context = new Context();
+        context.setVariable("news", news);
+        context.setVariable("highlightedTitle", highlightedTitle);
+        context.setVariable("highlightedSummary", highlightedSummary);
+        html = templateEngine.process(TEMPLATE, SELECTOR, context);
+        cache.put(key, html);
+        return html;
+    }
+
+    // 내용이 바뀐 기사는 버전이 달라져 새로 렌더링되고, 이전 항목은 LRU로 밀려난다
+    private String cacheKey(NewsItem news, String keyword) {
+        int contentVersion = Objects.hash(news.getTitle(), news.getSummary(), news.getPublisher(),
+                news.getPublishedAt(), news.getUrl(), news.getThumbnailUrl());
+        String key = news.getId() + ":" + Integer.toHexString(contentVersion);
+        return keyword == null ? key : key + ":" + keyword.toLowerCase();
+    }
+}
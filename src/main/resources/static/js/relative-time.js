@@ -0,0 +1,23 @@
+// 캐시된 뉴스 카드의 게시 시각을 "N분 전" 형태로 바꾼다 (NewsItem.getRelativeTime과 같은 규칙)
+(function () {
+    function relativeTime(date) {
+        var minutes = Math.floor((Date.now() - date.getTime()) / 60000);
+        if (minutes < 1) return '방금 전';
+        if (minutes < 60) return minutes + '분 전';
+        var hours = Math.floor(minutes / 60);
+        if (hours < 24) return hours + '시간 전';
+        return Math.floor(hours / 24) + '일 전';
+    }
+
+    function update() {
+        document.querySelectorAll('time.news-time[datetime]').forEach(function (el) {
+            var date = new Date(el.getAttribute('datetime'));
+            if (!isNaN(date.getTime())) {
+                el.textContent = relativeTime(date);
+            }
+        });
+    }
+
+    document.addEventListener('DOMContentLoaded', update);
+    setInterval(update, 60000);
+})();
@@ -0,0 +1,94 @@
+package io.news.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 서명을 직접 만들어 4개 band(band당 2행) 버킷 동작을 확인한다
+class LshIndexTest {
+
+    private static final int BANDS = 4;
+    private static final int ROWS = 2;
+
+    private final LshIndex index = new LshIndex(BANDS, ROWS, 3);
+
+    @Test
+    void findsCandidateSharingBand() {
+        index.add(entry("a", "cluster-a", new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0));
+
+        // 마지막 band만 다르다 → 추정 유사도 7/8
+        LshIndex.Entry found = index.findSimilar(new int[]{1, 2, 3, 4, 5, 6, 7, 99}, 0, 0.8);
+
+        assertThat(found).isNotNull();
+        assertThat(found.clusterId()).isEqualTo("cluster-a");
+    }
+
+    @Test
+    void ignoresCandidateBelowThreshold() {
+        index.add(entry("a", null, new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0));
+
+        // 첫 band만 같다 → 같은 버킷이지만 유사도 2/8
+        assertThat(index.findSimilar(new int[]{1, 2, 30, 40, 50, 60, 70, 80}, 0, 0.8)).isNull();
+        // 공유하는 band가 없으면 후보도 아니다
+        assertThat(index.findSimilar(new int[]{1, 20, 3, 40, 5, 60, 7, 80}, 0, 0.4)).isNull();
+    }
+
+    @Test
+    void requiresSameNumberFingerprint() {
+        int[] signature = {1, 2, 3, 4, 5, 6, 7, 8};
+        index.add(entry("a", null, signature, 42));
+
+        assertThat(index.findSimilar(signature, 43, 0.5)).isNull();
+        assertThat(index.findSimilar(signature, 42, 0.5)).isNotNull();
+    }
+
+    @Test
+    void picksMostSimilarCandidate() {
+        index.add(entry("far", null, new int[]{1, 2, 3, 4, 50, 60, 70, 80}, 0));
+        index.add(entry("near", null, new int[]{1, 2, 3, 4, 5, 6, 70, 80}, 0));
+
+        assertThat(index.findSimilar(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0, 0.5).url()).isEqualTo("near");
+    }
+
+    @Test
+    void replacesEntryWithSameUrl() {
+        index.add(entry("a", null, new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0));
+        index.add(entry("a", null, new int[]{11, 12, 13, 14, 15, 16, 17, 18}, 0));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findSimilar(new int[]{1, 2, 3, 4, 5, 6, 7, 8}, 0, 0.5)).isNull();
+        assertThat(index.findSimilar(new int[]{11, 12, 13, 14, 15, 16, 17, 18}, 0, 0.5).url()).isEqualTo("a");
+    }
+
+    @Test
+    void evictsOldestBeyondCapacity() {
+        index.add(entry("1", null, new int[]{1, 1, 1, 1, 1, 1, 1, 1}, 0));
+        index.add(entry("2", null, new int[]{2, 2, 2, 2, 2, 2, 2, 2}, 0));
+        index.add(entry("3", null, new int[]{3, 3, 3, 3, 3, 3, 3, 3}, 0));
+
+        assertThat(index.add(entry("4", null, new int[]{4, 4, 4, 4, 4, 4, 4, 4}, 0)))
+                .extracting(LshIndex.Entry::url).containsExactly("1");
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.get("1")).isNull();
+        assertThat(index.findSimilar(new int[]{1, 1, 1, 1, 1, 1, 1, 1}, 0, 0.5)).isNull();
+        assertThat(index.get("4")).isNotNull();
+    }
+
+    @Test
+    void matchesNearDuplicateHeadlinesWithMinHash() {
+        MinHasher hasher = new MinHasher(3, 64);
+        LshIndex headlines = new LshIndex(16, 4, 100);
+        String title = "한국은행 기준금리 3.5% 동결…물가 둔화 지켜본다";
+        headlines.add(new LshIndex.Entry("a", null, hasher.signature(title), MinHasher.numbers(title)));
+
+        String reworded = "한국은행, 기준금리 3.5% 동결… 물가 둔화 지켜본다";
+        String otherRate = "한국은행 기준금리 3.25% 인하…물가 둔화 지켜본다";
+
+        assertThat(headlines.findSimilar(hasher.signature(reworded), MinHasher.numbers(reworded), 0.5)).isNotNull();
+        assertThat(headlines.findSimilar(hasher.signature(otherRate), MinHasher.numbers(otherRate), 0.5)).isNull();
+    }
+
+    private static LshIndex.Entry entry(String url, String clusterId, int[] signature, long numbers) {
+        return new LshIndex.Entry(url, clusterId, signature, numbers);
+    }
+}
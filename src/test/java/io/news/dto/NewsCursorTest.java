@@ -0,0 +1,77 @@
+package io.news.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NewsCursorTest {
+
+    @Test
+    void latestCursorRoundTrips() {
+        NewsItem last = new NewsItem(42L, "title", null, null, LocalDateTime.of(2024, 3, 1, 12, 30, 5, 250_000_000),
+                "https://news.example/42", null);
+
+        NewsCursor.Latest decoded = NewsCursor.decodeLatest(NewsCursor.ofLatest(last));
+
+        assertThat(decoded.publishedAt()).isEqualTo(last.getPublishedAt());
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void searchCursorRoundTrips() {
+        NewsCursor.Search decoded = NewsCursor.decodeSearch(NewsCursor.ofSearch(3, 20));
+
+        assertThat(decoded).isEqualTo(new NewsCursor.Search(3, 20));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        assertThat(NewsCursor.ofSearch(12345, 100)).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> NewsCursor.decodeSearch("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:a:b"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCursorOfOtherType() {
+        String latest = NewsCursor.ofLatest(new NewsItem(1L, "t", null, null, LocalDateTime.of(2024, 1, 1, 0, 0),
+                "https://news.example/1", null));
+
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(latest)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeLatest(NewsCursor.ofSearch(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 클라이언트가 직접 만든 커서로 페이지 크기나 검색 범위 제한을 넘지 못한다
+    @Test
+    void rejectsSearchCursorOutsideLimits() {
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:-1:10"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:0:0"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:0:" + (NewsCursor.MAX_SIZE + 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:100:100"))).isInstanceOf(IllegalArgumentException.class);
+        // page * size 가 int 범위를 넘어도 거절된다
+        assertThatThrownBy(() -> NewsCursor.decodeSearch(raw("s:" + Integer.MAX_VALUE + ":100")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(NewsCursor.decodeSearch(raw("s:99:100"))).isEqualTo(new NewsCursor.Search(99, 100));
+    }
+
+    @Test
+    void noNextSearchCursorPastResultWindow() {
+        assertThat(NewsCursor.hasNextSearch(new NewsCursor.Search(98, 100))).isTrue();
+        assertThat(NewsCursor.hasNextSearch(new NewsCursor.Search(99, 100))).isFalse();
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
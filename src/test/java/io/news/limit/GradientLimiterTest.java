@@ -0,0 +1,103 @@
+package io.news.limit;
+
+import io.news.config.LimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 구간 길이 0, 반영 비율 1로 두어 한 구간마다 한도가 바로 바뀌게 한다
+class GradientLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void rejectsRequestsOverLimit() {
+        GradientLimiter limiter = new GradientLimiter(properties(4, 20));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+
+        limiter.release(BASE_RTT);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsLimitWhileLatencyStaysAtBaseline() {
+        GradientLimiter limiter = new GradientLimiter(properties(20, 20));
+
+        window(limiter, 20, BASE_RTT);
+
+        // 20 * 1.0 + sqrt(20)
+        assertThat(limiter.getLimit()).isEqualTo(24);
+        assertThat(limiter.getBaselineRttMillis()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksLimitWhenLatencyRises() {
+        GradientLimiter limiter = new GradientLimiter(properties(20, 20));
+        window(limiter, 20, BASE_RTT);
+        int grown = limiter.getLimit();
+
+        window(limiter, grown, 4 * BASE_RTT);
+
+        // 기울기는 0.5에서 멈춘다: 24.47 * 0.5 + sqrt(24.47)
+        assertThat(limiter.getLimit()).isEqualTo(17);
+        // 느려진 지연을 기준 지연으로 바로 받아들이지 않는다
+        assertThat(limiter.getBaselineRttMillis()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsLimitWhenMostlyIdle() {
+        GradientLimiter limiter = new GradientLimiter(properties(20, 20));
+
+        // 한 번에 하나씩만 처리 → 한도의 절반도 안 찬다
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(4 * BASE_RTT);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getBaselineRttMillis()).isEqualTo(40);
+    }
+
+    @Test
+    void staysWithinBounds() {
+        LimitProperties.Read properties = properties(20, 20);
+        properties.setMinLimit(15);
+        properties.setMaxLimit(22);
+        GradientLimiter limiter = new GradientLimiter(properties);
+
+        window(limiter, 20, BASE_RTT);
+        assertThat(limiter.getLimit()).isEqualTo(22);
+
+        window(limiter, 22, 10 * BASE_RTT);
+        window(limiter, limiter.getLimit(), 10 * BASE_RTT);
+        assertThat(limiter.getLimit()).isEqualTo(15);
+    }
+
+    // 동시에 count개를 잡았다가 모두 같은 지연으로 놓는다
+    private static void window(GradientLimiter limiter, int count, long rttNanos) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < count; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+
+    private static LimitProperties.Read properties(int initialLimit, int windowSamples) {
+        LimitProperties.Read properties = new LimitProperties.Read();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(1);
+        properties.setTolerance(1.0);
+        properties.setSmoothing(1.0);
+        properties.setWindowMs(0);
+        properties.setMinWindowSamples(windowSamples);
+        return properties;
+    }
+}
@@ -0,0 +1,87 @@
+package io.news.popular;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyWithinCapacity() {
+        SpaceSaving counters = new SpaceSaving(3);
+        offer(counters, "a", "b", "a", "c", "a", "b");
+
+        assertThat(counters.top(3)).containsExactly(
+                new SpaceSaving.Counter("a", 3, 0),
+                new SpaceSaving.Counter("b", 2, 0),
+                new SpaceSaving.Counter("c", 1, 0));
+        assertThat(counters.top(1)).extracting(SpaceSaving.Counter::key).containsExactly("a");
+        assertThat(counters.getTotal()).isEqualTo(6);
+    }
+
+    @Test
+    void newKeyTakesOverSmallestCounter() {
+        SpaceSaving counters = new SpaceSaving(2);
+        offer(counters, "a", "a", "b", "c");
+
+        // b(1)가 밀려나고 c는 b의 count를 이어받는다
+        assertThat(byKey(counters)).containsOnlyKeys("a", "c");
+        assertThat(byKey(counters).get("c")).isEqualTo(new SpaceSaving.Counter("c", 2, 1));
+        assertThat(counters.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOlderOfEqualCounters() {
+        SpaceSaving counters = new SpaceSaving(2);
+        offer(counters, "a", "b", "c");
+
+        assertThat(byKey(counters)).containsOnlyKeys("b", "c");
+    }
+
+    @Test
+    void keepsFrequentKeyUnderChurn() {
+        SpaceSaving counters = new SpaceSaving(4);
+        for (int i = 0; i < 1000; i++) {
+            counters.offer("hot");
+            counters.offer("cold-" + i);
+            counters.offer("cold-" + (i + 7919));
+        }
+
+        // 전체의 1/3이 capacity 비율(1/4)보다 크므로 반드시 남고, 실제 빈도는 [count - error, count] 안에 있다
+        SpaceSaving.Counter hot = byKey(counters).get("hot");
+        assertThat(hot).isNotNull();
+        assertThat(hot.count() - hot.error()).isLessThanOrEqualTo(1000);
+        assertThat(hot.count()).isGreaterThanOrEqualTo(1000);
+        assertThat(counters.top(1)).extracting(SpaceSaving.Counter::key).containsExactly("hot");
+    }
+
+    @Test
+    void halvingDecaysCountsAndDropsZeros() {
+        SpaceSaving counters = new SpaceSaving(3);
+        offer(counters, "a", "a", "a", "a", "b", "b", "b", "c");
+
+        counters.halve();
+
+        assertThat(counters.top(3)).containsExactly(
+                new SpaceSaving.Counter("a", 2, 0),
+                new SpaceSaving.Counter("b", 1, 0));
+        assertThat(counters.getTotal()).isEqualTo(4);
+        // 빈 자리는 밀어내지 않고 새로 채운다
+        counters.offer("d");
+        assertThat(byKey(counters).get("d")).isEqualTo(new SpaceSaving.Counter("d", 1, 0));
+    }
+
+    private static void offer(SpaceSaving counters, String... keys) {
+        for (String key : keys) {
+            counters.offer(key);
+        }
+    }
+
+    private static Map<String, SpaceSaving.Counter> byKey(SpaceSaving counters) {
+        return counters.top(counters.getCapacity()).stream()
+                .collect(Collectors.toMap(SpaceSaving.Counter::key, counter -> counter));
+    }
+}
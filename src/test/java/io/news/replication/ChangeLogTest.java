@@ -0,0 +1,130 @@
+package io.news.replication;
+
+import io.news.cluster.FeedCoordinator;
+import io.news.config.ReplicationProperties;
+import io.news.dto.NewsItem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 원형 버퍼 크기 4로 변경 읽기와 한 바퀴 넘게 밀려난 위치의 스냅샷 요구를 확인한다
+class ChangeLogTest {
+
+    private static final int CAPACITY = 4;
+
+    private final ChangeLog changeLog = changeLog(true);
+
+    @Test
+    void readsChangesAfterPosition() throws InterruptedException {
+        changeLog.appendPuts(List.of(item(1), item(2)));
+        changeLog.appendDeletes(new long[]{1});
+
+        ChangeBatch batch = changeLog.read(changeLog.getEpoch(), 0, 10, 0);
+
+        assertThat(batch.snapshotRequired()).isFalse();
+        assertThat(batch.head()).isEqualTo(3);
+        assertThat(batch.origin()).isEqualTo("node-a");
+        assertThat(batch.entries()).extracting(ChangeEntry::seq).containsExactly(1L, 2L, 3L);
+        assertThat(batch.entries()).extracting(ChangeEntry::op)
+                .containsExactly(ChangeEntry.Op.PUT, ChangeEntry.Op.PUT, ChangeEntry.Op.DELETE);
+        assertThat(batch.entries().get(1).document().getUrl()).isEqualTo(url(2));
+        assertThat(batch.entries().get(2).newsId()).isEqualTo(1L);
+    }
+
+    @Test
+    void readsAtMostLimitEntries() throws InterruptedException {
+        changeLog.appendPuts(List.of(item(1), item(2), item(3)));
+
+        ChangeBatch batch = changeLog.read(changeLog.getEpoch(), 1, 1, 0);
+
+        assertThat(batch.entries()).extracting(ChangeEntry::seq).containsExactly(2L);
+        assertThat(batch.head()).isEqualTo(3);
+    }
+
+    @Test
+    void readsLatestEntriesAfterRingWrapsAround() throws InterruptedException {
+        changeLog.appendPuts(List.of(item(1), item(2), item(3), item(4), item(5), item(6)));
+        changeLog.appendClear();
+
+        ChangeBatch batch = changeLog.read(changeLog.getEpoch(), 3, 10, 0);
+
+        assertThat(batch.snapshotRequired()).isFalse();
+        assertThat(batch.entries()).extracting(ChangeEntry::seq).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(batch.entries().subList(0, 3)).extracting(entry -> entry.document().getUrl())
+                .containsExactly(url(4), url(5), url(6));
+        assertThat(batch.entries().get(3).op()).isEqualTo(ChangeEntry.Op.CLEAR);
+    }
+
+    @Test
+    void requiresSnapshotWhenPositionWasOverwritten() throws InterruptedException {
+        changeLog.appendPuts(List.of(item(1), item(2), item(3), item(4), item(5), item(6)));
+
+        // seq 3부터 필요한데 버퍼에는 3..6만 남아 있다 → 아직 읽을 수 있음, 2부터는 이미 밀려남
+        assertThat(changeLog.read(changeLog.getEpoch(), 2, 10, 0).snapshotRequired()).isFalse();
+        ChangeBatch batch = changeLog.read(changeLog.getEpoch(), 1, 10, 0);
+        assertThat(batch.snapshotRequired()).isTrue();
+        assertThat(batch.entries()).isEmpty();
+        assertThat(batch.head()).isEqualTo(6);
+    }
+
+    @Test
+    void requiresSnapshotForOtherEpochOrPositionAheadOfHead() throws InterruptedException {
+        changeLog.appendPuts(List.of(item(1)));
+
+        assertThat(changeLog.read("previous-epoch", 0, 10, 0).snapshotRequired()).isTrue();
+        assertThat(changeLog.read(changeLog.getEpoch(), 5, 10, 0).snapshotRequired()).isTrue();
+        // 처음 붙는 피어는 epoch 없이 요청한다
+        assertThat(changeLog.read(null, 0, 10, 0).snapshotRequired()).isFalse();
+    }
+
+    @Test
+    void waitingReadWakesUpOnAppend() throws Exception {
+        changeLog.appendPuts(List.of(item(1)));
+
+        CompletableFuture<ChangeBatch> read = CompletableFuture.supplyAsync(() -> {
+            try {
+                return changeLog.read(changeLog.getEpoch(), 1, 10, 10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        changeLog.appendPuts(List.of(item(2)));
+
+        assertThat(read.get(5, TimeUnit.SECONDS).entries()).extracting(ChangeEntry::seq).containsExactly(2L);
+    }
+
+    @Test
+    void ignoresChangesWhenDisabled() throws InterruptedException {
+        ChangeLog disabled = changeLog(false);
+        disabled.appendPuts(List.of(item(1)));
+        disabled.appendDeletes(new long[]{1});
+        disabled.appendClear();
+
+        assertThat(disabled.head()).isZero();
+    }
+
+    private static ChangeLog changeLog(boolean enabled) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setEnabled(enabled);
+        properties.setLogCapacity(CAPACITY);
+        FeedCoordinator feedCoordinator = mock(FeedCoordinator.class);
+        when(feedCoordinator.getNodeId()).thenReturn("node-a");
+        return new ChangeLog(properties, feedCoordinator);
+    }
+
+    private static NewsItem item(long id) {
+        return new NewsItem(id, "title " + id, "summary", "publisher", LocalDateTime.of(2024, 1, 1, 0, 0), url(id), null);
+    }
+
+    private static String url(long id) {
+        return "https://news.example/" + id;
+    }
+}
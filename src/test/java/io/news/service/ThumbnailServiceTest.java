@@ -0,0 +1,169 @@
+package io.news.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.news.config.ThumbnailProperties;
+import io.news.repository.NewsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// 로컬 HTTP 서버를 원본 이미지 서버로 두고 캐시/리사이즈/축출/크기 제한을 확인한다
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpServer server;
+    private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private ThumbnailProperties properties;
+    private ThumbnailService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            byte[] body = images.get(path);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                // /chunked/ 아래는 Content-Length 없이 보낸다
+                exchange.sendResponseHeaders(200, path.startsWith("/chunked/") ? 0 : body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+
+        properties = new ThumbnailProperties();
+        properties.setCacheDir(cacheDir.toString());
+        properties.setPrefetchOnIngest(false);
+        service = new ThumbnailService(properties, mock(NewsRepository.class));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void servesSecondRequestFromCache() throws IOException {
+        images.put("/a.png", png(800, 400, Color.RED));
+
+        Optional<Path> first = service.getThumbnail(url("/a.png"));
+        Optional<Path> second = service.getThumbnail(url("/a.png"));
+
+        assertThat(first).isPresent();
+        assertThat(second).contains(first.get());
+        assertThat(hits.get("/a.png").get()).isEqualTo(1);
+    }
+
+    @Test
+    void resizesToCardSize() throws IOException {
+        images.put("/wide.png", png(1920, 1080, Color.BLUE));
+        images.put("/small.png", png(200, 100, Color.GREEN));
+
+        BufferedImage wide = ImageIO.read(service.getThumbnail(url("/wide.png")).orElseThrow().toFile());
+        BufferedImage small = ImageIO.read(service.getThumbnail(url("/small.png")).orElseThrow().toFile());
+
+        assertThat(wide.getWidth()).isEqualTo(properties.getWidth());
+        assertThat(wide.getHeight()).isEqualTo(properties.getHeight());
+        // 카드보다 작은 원본은 키우지 않는다
+        assertThat(small.getWidth()).isEqualTo(200);
+        assertThat(small.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverCapacity() throws IOException {
+        images.put("/1.png", png(800, 400, Color.RED));
+        images.put("/2.png", png(800, 400, Color.GREEN));
+        images.put("/3.png", png(800, 400, Color.BLUE));
+
+        Path first = service.getThumbnail(url("/1.png")).orElseThrow();
+        long size = Files.size(first);
+        properties.setMaxCacheBytes(size * 5 / 2);
+        Path second = service.getThumbnail(url("/2.png")).orElseThrow();
+        // 1을 다시 써서 2가 가장 오래 안 쓰인 항목이 된다
+        service.getThumbnail(url("/1.png"));
+        Path third = service.getThumbnail(url("/3.png")).orElseThrow();
+
+        assertThat(first).exists();
+        assertThat(second).doesNotExist();
+        assertThat(third).exists();
+        service.getThumbnail(url("/2.png"));
+        assertThat(hits.get("/2.png").get()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsResponsesOverByteLimit() throws IOException {
+        byte[] image = png(800, 400, Color.RED);
+        images.put("/big.png", image);
+        images.put("/chunked/big.png", image);
+        properties.setMaxSourceBytes(image.length - 1);
+
+        assertThat(service.getThumbnail(url("/big.png"))).isEmpty();
+        assertThat(service.getThumbnail(url("/chunked/big.png"))).isEmpty();
+    }
+
+    @Test
+    void rejectsImagesOverPixelLimitBeforeDecoding() throws IOException {
+        images.put("/huge.png", png(2000, 2000, Color.RED));
+        properties.setMaxSourcePixels(1_000_000);
+
+        assertThat(service.getThumbnail(url("/huge.png"))).isEmpty();
+    }
+
+    @Test
+    void remembersFailuresUntilTtl() throws IOException {
+        assertThat(service.getThumbnail(url("/missing.png"))).isEmpty();
+        images.put("/missing.png", png(800, 400, Color.RED));
+
+        assertThat(service.getThumbnail(url("/missing.png"))).isEmpty();
+        assertThat(hits.get("/missing.png").get()).isEqualTo(1);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static byte[] png(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.WHITE);
+            graphics.drawLine(0, 0, width - 1, height - 1);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
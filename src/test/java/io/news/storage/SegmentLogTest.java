@@ -0,0 +1,195 @@
+package io.news.storage;
+
+import io.news.dto.NewsItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 레코드 재생 순서, 손상된 꼬리 처리, 2단계 컴팩션을 실제 파일로 확인한다
+class SegmentLogTest {
+
+    private static final long SEGMENT_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordsInOrder() throws IOException {
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendAll(List.of(item(1, "a"), item(2, "b")), null);
+        segmentLog.appendClear();
+        segmentLog.appendPut(item(3, "c").withClusterId("cluster-1"), "peer");
+        segmentLog.close();
+
+        List<String> events = new ArrayList<>();
+        SegmentLog reopened = open(events);
+
+        assertThat(events).containsExactly("put a null null", "put b null null", "clear", "put c peer cluster-1");
+        assertThat(reopened.getRecordCount()).isEqualTo(4);
+        reopened.close();
+    }
+
+    @Test
+    void restoresAllFieldsOfPut() throws IOException {
+        NewsItem original = new NewsItem(7L, "제목", "요약", "매체",
+                LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_000_000), "https://news.example/7", null);
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendPut(original, null);
+        segmentLog.close();
+
+        List<NewsItem> restored = new ArrayList<>();
+        new SegmentLog(directory, SEGMENT_SIZE).open(new SegmentLog.Visitor() {
+            @Override
+            public void put(NewsItem newsItem, String origin) {
+                restored.add(newsItem);
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+
+        assertThat(restored).singleElement().satisfies(item -> {
+            assertThat(item.getId()).isEqualTo(7L);
+            assertThat(item.getTitle()).isEqualTo("제목");
+            assertThat(item.getSummary()).isEqualTo("요약");
+            assertThat(item.getPublisher()).isEqualTo("매체");
+            assertThat(item.getPublishedAt()).isEqualTo(original.getPublishedAt());
+            assertThat(item.getUrl()).isEqualTo("https://news.example/7");
+            assertThat(item.getThumbnailUrl()).isNull();
+            assertThat(item.getClusterId()).isNull();
+        });
+    }
+
+    @Test
+    void dropsTornTailRecord() throws IOException {
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendAll(List.of(item(1, "a"), item(2, "b"), item(3, "c")), null);
+        segmentLog.close();
+        // 마지막 레코드를 쓰다가 죽은 것처럼 파일 끝을 잘라낸다
+        Path last = lastSegment();
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        List<String> events = new ArrayList<>();
+        SegmentLog reopened = open(events);
+        reopened.appendPut(item(4, "d"), null);
+        reopened.close();
+
+        assertThat(events).containsExactly("put a null null", "put b null null");
+        // 손상된 세그먼트 뒤에 새로 쓴 레코드는 다음 기동에 그대로 재생된다
+        events.clear();
+        open(events).close();
+        assertThat(events).containsExactly("put a null null", "put b null null", "put d null null");
+    }
+
+    @Test
+    void stopsAtRecordWithBadChecksum() throws IOException {
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendAll(List.of(item(1, "a"), item(2, "b"), item(3, "c")), null);
+        segmentLog.close();
+        Path last = lastSegment();
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size() - 1;
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.read(lastByte, position);
+            lastByte.put(0, (byte) (lastByte.get(0) ^ 0x7F)).rewind();
+            channel.write(lastByte, position);
+        }
+
+        List<String> events = new ArrayList<>();
+        open(events).close();
+
+        assertThat(events).containsExactly("put a null null", "put b null null");
+    }
+
+    @Test
+    void compactionKeepsSnapshotAndWritesAfterSwitch() throws IOException {
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendAll(List.of(item(1, "a"), item(2, "b")), null);
+        segmentLog.appendPut(item(1, "a2"), null);
+
+        long snapshotSequence = segmentLog.beginCompaction();
+        // 전환 뒤의 쓰기는 스냅샷과 별개로 새 활성 세그먼트에 남는다
+        segmentLog.appendPut(item(3, "c"), null);
+        segmentLog.completeCompaction(snapshotSequence, List.of(item(1, "a2"), item(2, "b")), item -> null);
+
+        assertThat(segmentLog.getRecordCount()).isEqualTo(3);
+        assertThat(sequences()).allMatch(sequence -> sequence >= snapshotSequence);
+        segmentLog.close();
+
+        List<String> events = new ArrayList<>();
+        open(events).close();
+        assertThat(events).containsExactly("put a2 null null", "put b null null", "put c null null");
+    }
+
+    @Test
+    void interruptedCompactionLeavesOriginalSegments() throws IOException {
+        SegmentLog segmentLog = open(new ArrayList<>());
+        segmentLog.appendAll(List.of(item(1, "a"), item(2, "b")), null);
+        long snapshotSequence = segmentLog.beginCompaction();
+        segmentLog.close();
+        // 스냅샷 임시 파일을 다 쓰기 전에 죽은 경우
+        Files.writeString(directory.resolve(snapshotSequence + ".seg.tmp"), "partial");
+
+        List<String> events = new ArrayList<>();
+        open(events).close();
+
+        assertThat(events).containsExactly("put a null null", "put b null null");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).noneMatch(path -> path.toString().endsWith(".tmp"));
+        }
+    }
+
+    private SegmentLog open(List<String> events) throws IOException {
+        SegmentLog segmentLog = new SegmentLog(directory, SEGMENT_SIZE);
+        segmentLog.open(new SegmentLog.Visitor() {
+            @Override
+            public void put(NewsItem newsItem, String origin) {
+                events.add("put " + newsItem.getTitle() + " " + origin + " " + newsItem.getClusterId());
+            }
+
+            @Override
+            public void clear() {
+                events.add("clear");
+            }
+        });
+        return segmentLog;
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg"))
+                    .filter(path -> path.toFile().length() > 0)
+                    .max(Path::compareTo)
+                    .orElseThrow();
+        }
+    }
+
+    private List<Long> sequences() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".seg"))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - ".seg".length())))
+                    .toList();
+        }
+    }
+
+    private static NewsItem item(long id, String title) {
+        return new NewsItem(id, title, "summary", "publisher", LocalDateTime.of(2024, 1, 1, 0, 0),
+                "https://news.example/" + id, null);
+    }
+}